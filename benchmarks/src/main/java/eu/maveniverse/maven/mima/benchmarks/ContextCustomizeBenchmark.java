@@ -0,0 +1,65 @@
+package eu.maveniverse.maven.mima.benchmarks;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.RepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures derived context creation using {@link Context#customize(ContextOverrides)}: the light operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ContextCustomizeBenchmark {
+    @Param({"standalone-static", "standalone-sisu"})
+    public String runtime;
+
+    private Path mavenUserHome;
+
+    private Context root;
+
+    private ContextOverrides offline;
+
+    @Setup
+    public void setup() throws IOException {
+        mavenUserHome = Files.createTempDirectory("mima-bench-home");
+        ContextOverrides overrides = ContextOverrides.create()
+                .withUserSettings(true)
+                .withMavenUserHomeOverride(mavenUserHome)
+                .build();
+        root = RuntimeCreateBenchmark.runtime(runtime).create(overrides);
+        offline = root.contextOverrides().toBuilder().offline(true).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        root.close();
+        SyntheticRepository.delete(mavenUserHome);
+    }
+
+    @Benchmark
+    public RepositorySystemSession customize() {
+        try (Context context = root.customize(offline)) {
+            return context.repositorySystemSession();
+        }
+    }
+}
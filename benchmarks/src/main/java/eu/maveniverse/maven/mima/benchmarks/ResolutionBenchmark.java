@@ -0,0 +1,103 @@
+package eu.maveniverse.maven.mima.benchmarks;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures dependency collection and resolution against a synthetic {@code file://} repository generated at setup.
+ * The local repository is kept for the whole trial, hence after warmup these benchmarks measure the in-process cost
+ * of collection and resolution (model building, graph transformation, local repository lookups). Every invocation
+ * uses a fresh session cache, so results are not simply served from cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResolutionBenchmark {
+    @Param({"standalone-static", "standalone-sisu"})
+    public String runtime;
+
+    @Param({"4"})
+    public int levels;
+
+    @Param({"25"})
+    public int width;
+
+    @Param({"5"})
+    public int fanOut;
+
+    private Path workdir;
+
+    private SyntheticRepository repository;
+
+    private Context context;
+
+    @Setup
+    public void setup() throws IOException {
+        workdir = Files.createTempDirectory("mima-bench");
+        repository = SyntheticRepository.generate(workdir.resolve("remote"), levels, width, fanOut);
+        ContextOverrides overrides = ContextOverrides.create()
+                .withMavenUserHomeOverride(workdir.resolve("home"))
+                .withLocalRepositoryOverride(workdir.resolve("local"))
+                .repositories(Collections.singletonList(repository.remoteRepository()))
+                .addRepositoriesOp(ContextOverrides.AddRepositoriesOp.REPLACE)
+                .checksumPolicy(ContextOverrides.ChecksumPolicy.IGNORE)
+                .build();
+        context = RuntimeCreateBenchmark.runtime(runtime).create(overrides);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        SyntheticRepository.delete(workdir);
+    }
+
+    @Benchmark
+    public CollectResult collect() throws DependencyCollectionException {
+        return context.repositorySystem().collectDependencies(newSession(), collectRequest());
+    }
+
+    @Benchmark
+    public DependencyResult resolve() throws DependencyResolutionException {
+        return context.repositorySystem()
+                .resolveDependencies(newSession(), new DependencyRequest(collectRequest(), null));
+    }
+
+    private DefaultRepositorySystemSession newSession() {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(context.repositorySystemSession());
+        session.setCache(new DefaultRepositoryCache());
+        return session;
+    }
+
+    private CollectRequest collectRequest() {
+        return new CollectRequest(new Dependency(repository.root(), "compile"), context.remoteRepositories());
+    }
+}
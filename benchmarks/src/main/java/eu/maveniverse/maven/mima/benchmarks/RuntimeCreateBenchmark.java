@@ -0,0 +1,108 @@
+package eu.maveniverse.maven.mima.benchmarks;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.Runtime;
+import eu.maveniverse.maven.mima.runtime.standalonesisu.StandaloneSisuRuntime;
+import eu.maveniverse.maven.mima.runtime.standalonestatic.StandaloneStaticRuntime;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.RepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures root context creation (and closing) using {@link Runtime#create(ContextOverrides)}: the heavy operation.
+ * Maven User Home points to an empty directory, to make results independent of the environment. The
+ * {@code standalone-sisu-shared} runtime is Sisu runtime reusing one container across creates, while
+ * {@code standalone-static-shared} is static runtime sharing one repository system across (overlapping) contexts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RuntimeCreateBenchmark {
+    @Param({"standalone-static", "standalone-static-shared", "standalone-sisu", "standalone-sisu-shared"})
+    public String runtime;
+
+    private Path mavenUserHome;
+
+    private Runtime mimaRuntime;
+
+    private ContextOverrides overrides;
+
+    private Context anchor;
+
+    @Setup
+    public void setup() throws IOException {
+        mavenUserHome = Files.createTempDirectory("mima-bench-home");
+        mimaRuntime = runtime(runtime);
+        overrides = ContextOverrides.create()
+                .withUserSettings(true)
+                .withMavenUserHomeOverride(mavenUserHome)
+                .configProperties(configProperties(runtime))
+                .build();
+        if ("standalone-static-shared".equals(runtime)) {
+            // keeps shared repository system referenced, as a long-lived context in a service would
+            anchor = mimaRuntime.create(overrides);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (anchor != null) {
+            anchor.close();
+        }
+        if (mimaRuntime instanceof StandaloneSisuRuntime) {
+            ((StandaloneSisuRuntime) mimaRuntime).shutdown();
+        }
+        SyntheticRepository.delete(mavenUserHome);
+    }
+
+    @Benchmark
+    public RepositorySystemSession create() {
+        try (Context context = mimaRuntime.create(overrides)) {
+            return context.repositorySystemSession();
+        }
+    }
+
+    private static Map<String, Object> configProperties(String name) {
+        Map<String, Object> configProperties = new HashMap<>();
+        configProperties.put(
+                StandaloneStaticRuntime.CONFIG_PROP_SHARED_REPOSITORY_SYSTEM,
+                Boolean.toString("standalone-static-shared".equals(name)));
+        configProperties.put(
+                StandaloneSisuRuntime.CONFIG_PROP_SHARED_CONTAINER,
+                Boolean.toString("standalone-sisu-shared".equals(name)));
+        return configProperties;
+    }
+
+    static Runtime runtime(String name) {
+        switch (name) {
+            case "standalone-static":
+            case "standalone-static-shared":
+                return new StandaloneStaticRuntime();
+            case "standalone-sisu":
+            case "standalone-sisu-shared":
+                return new StandaloneSisuRuntime();
+            default:
+                throw new IllegalArgumentException("Unknown runtime: " + name);
+        }
+    }
+}
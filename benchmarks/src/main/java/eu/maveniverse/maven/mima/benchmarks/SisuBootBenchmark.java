@@ -0,0 +1,65 @@
+package eu.maveniverse.maven.mima.benchmarks;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.runtime.standalonesisu.StandaloneSisuRuntime;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.RepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures cold start of {@link StandaloneSisuRuntime}: first context creation in a fresh JVM, as short-lived
+ * processes do, using pre-generated bean index versus (cached) classpath scanning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class SisuBootBenchmark {
+    @Param({"index", "cache"})
+    public String beanScanning;
+
+    private Path mavenUserHome;
+
+    private ContextOverrides overrides;
+
+    @Setup
+    public void setup() throws IOException {
+        mavenUserHome = Files.createTempDirectory("mima-bench-home");
+        overrides = ContextOverrides.create()
+                .withUserSettings(true)
+                .withMavenUserHomeOverride(mavenUserHome)
+                .configProperties(Collections.<String, Object>singletonMap(
+                        StandaloneSisuRuntime.CONFIG_PROP_BEAN_SCANNING, beanScanning))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticRepository.delete(mavenUserHome);
+    }
+
+    @Benchmark
+    public RepositorySystemSession boot() {
+        try (Context context = new StandaloneSisuRuntime().create(overrides)) {
+            return context.repositorySystemSession();
+        }
+    }
+}
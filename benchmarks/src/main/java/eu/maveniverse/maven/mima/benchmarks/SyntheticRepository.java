@@ -0,0 +1,152 @@
+package eu.maveniverse.maven.mima.benchmarks;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Generates a synthetic Maven 2 layout repository on disk, to be used with {@code file://} transport. The generated
+ * graph has a root artifact depending on all artifacts of first level, while artifacts of each level depend on
+ * {@code fanOut} artifacts of next level (the last level having no dependencies). Hence, the graph contains a lot of
+ * conflicting and duplicate nodes, as real-life graphs do.
+ */
+public final class SyntheticRepository {
+    public static final String GROUP_ID = "bench.synthetic";
+
+    public static final String VERSION = "1.0";
+
+    private final Path basedir;
+
+    private final int levels;
+
+    private final int width;
+
+    private final int fanOut;
+
+    private SyntheticRepository(Path basedir, int levels, int width, int fanOut) {
+        this.basedir = requireNonNull(basedir);
+        this.levels = levels;
+        this.width = width;
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Generates repository into given directory.
+     */
+    public static SyntheticRepository generate(Path basedir, int levels, int width, int fanOut) throws IOException {
+        if (levels < 1 || width < 1 || fanOut < 0 || fanOut > width) {
+            throw new IllegalArgumentException("invalid graph shape");
+        }
+        SyntheticRepository repository = new SyntheticRepository(basedir, levels, width, fanOut);
+        repository.write("root", -1, 0);
+        for (int level = 0; level < levels; level++) {
+            for (int index = 0; index < width; index++) {
+                repository.write(artifactId(level, index), level, index);
+            }
+        }
+        return repository;
+    }
+
+    public Path basedir() {
+        return basedir;
+    }
+
+    /**
+     * The count of artifacts in this repository (including the root).
+     */
+    public int artifactCount() {
+        return levels * width + 1;
+    }
+
+    /**
+     * The root artifact (JAR) of the graph.
+     */
+    public Artifact root() {
+        return new DefaultArtifact(GROUP_ID, "root", "jar", VERSION);
+    }
+
+    /**
+     * This repository as {@link RemoteRepository}.
+     */
+    public RemoteRepository remoteRepository() {
+        return new RemoteRepository.Builder(
+                        "synthetic", "default", basedir.toUri().toString())
+                .build();
+    }
+
+    private static String artifactId(int level, int index) {
+        return "l" + level + "-a" + index;
+    }
+
+    private void write(String artifactId, int level, int index) throws IOException {
+        StringBuilder pom = new StringBuilder();
+        pom.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>")
+                .append(GROUP_ID)
+                .append("</groupId>\n")
+                .append("  <artifactId>")
+                .append(artifactId)
+                .append("</artifactId>\n")
+                .append("  <version>")
+                .append(VERSION)
+                .append("</version>\n")
+                .append("  <dependencies>\n");
+        int nextLevel = level + 1;
+        if (nextLevel < levels) {
+            int count = level < 0 ? width : fanOut;
+            for (int i = 0; i < count; i++) {
+                pom.append("    <dependency>\n")
+                        .append("      <groupId>")
+                        .append(GROUP_ID)
+                        .append("</groupId>\n")
+                        .append("      <artifactId>")
+                        .append(artifactId(nextLevel, (index + i) % width))
+                        .append("</artifactId>\n")
+                        .append("      <version>")
+                        .append(VERSION)
+                        .append("</version>\n")
+                        .append("    </dependency>\n");
+            }
+        }
+        pom.append("  </dependencies>\n").append("</project>\n");
+
+        Path dir =
+                basedir.resolve(GROUP_ID.replace('.', '/')).resolve(artifactId).resolve(VERSION);
+        Files.createDirectories(dir);
+        String base = artifactId + "-" + VERSION;
+        Files.write(dir.resolve(base + ".pom"), pom.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve(base + ".jar"), base.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deletes a directory recursively, if exists.
+     */
+    public static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
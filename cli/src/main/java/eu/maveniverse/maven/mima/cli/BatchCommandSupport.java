@@ -0,0 +1,158 @@
+package eu.maveniverse.maven.mima.cli;
+
+import eu.maveniverse.maven.mima.context.CollectResultCache;
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.Runtime;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.aether.RepositorySystemSession;
+import picocli.CommandLine;
+
+/**
+ * Support for commands processing a single GAV, or many of them in batch mode.
+ * <p>
+ * In batch mode, GAVs are read from file (or standard input), one per line (empty lines and lines starting with
+ * {@code #} are skipped), and are processed concurrently using one shared context, while results are printed in
+ * input order, as one JSON object per line. Failure of an entry does not affect other entries.
+ */
+public abstract class BatchCommandSupport extends ResolverCommandSupport {
+    @CommandLine.Option(
+            names = {"--batch"},
+            description = "Read GAVs (one per line) from file, or '-' for standard input, and print results as JSON"
+                    + " lines")
+    protected String batch;
+
+    @CommandLine.Option(
+            names = {"--batch-threads"},
+            description = "Count of GAVs processed concurrently in batch mode")
+    protected Integer batchThreads;
+
+    /**
+     * The GAV passed as parameter, may be {@code null} in batch mode.
+     */
+    protected abstract String gav();
+
+    /**
+     * Processes single GAV, non-batch mode.
+     */
+    protected abstract Integer doSingle(Context context, String gav) throws Exception;
+
+    /**
+     * Processes one GAV of batch, adding outcome members to result. Invoked concurrently, hence must not touch
+     * execution context: session and collect result cache (if enabled) are obtained once, before processing entries.
+     */
+    protected abstract void doBatchEntry(
+            Context context,
+            RepositorySystemSession session,
+            CollectResultCache collectResultCache,
+            String gav,
+            JsonLine result)
+            throws Exception;
+
+    @Override
+    protected void writeVersionOnce(Runtime runtime) {
+        // batch output is pure JSON lines
+        if (batch == null) {
+            super.writeVersionOnce(runtime);
+        }
+    }
+
+    @Override
+    protected Integer doCall(Context context) throws Exception {
+        String gav = gav();
+        if (batch == null) {
+            if (gav == null) {
+                throw new IllegalArgumentException("Either GAV or --batch must be specified");
+            }
+            return doSingle(context, gav);
+        }
+        if (gav != null) {
+            throw new IllegalArgumentException("GAV and --batch are mutually exclusive");
+        }
+        int threads = batchThreads != null ? batchThreads : ContextOverrides.DEFAULT_THREADS;
+        if (threads < 1) {
+            throw new IllegalArgumentException("Batch threads must be positive");
+        }
+        return doBatch(context, threads);
+    }
+
+    private Integer doBatch(Context context, int threads) throws Exception {
+        // execution context is not thread safe: resolve everything entries need on this thread
+        RepositorySystemSession session = getRepositorySystemSession();
+        CollectResultCache collectResultCache = getCollectResultCache(context);
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "mima-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int failures = 0;
+        try (BufferedReader reader = "-".equals(batch)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(batch), StandardCharsets.UTF_8)) {
+            // bounded window of in-flight entries; results are printed in input order
+            ArrayDeque<Future<Boolean>> inFlight = new ArrayDeque<>();
+            ArrayDeque<JsonLine> results = new ArrayDeque<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String gav = line.trim();
+                if (gav.isEmpty() || gav.startsWith("#")) {
+                    continue;
+                }
+                JsonLine result = new JsonLine().put("gav", gav);
+                results.add(result);
+                inFlight.add(executor.submit(() -> entry(context, session, collectResultCache, gav, result)));
+                if (inFlight.size() >= threads * 2) {
+                    failures += print(inFlight.poll(), results.poll());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                failures += print(inFlight.poll(), results.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures == 0 ? 0 : 1;
+    }
+
+    private boolean entry(
+            Context context,
+            RepositorySystemSession session,
+            CollectResultCache collectResultCache,
+            String gav,
+            JsonLine result) {
+        long start = System.nanoTime();
+        try {
+            JsonLine outcome = new JsonLine();
+            doBatchEntry(context, session, collectResultCache, gav, outcome);
+            result.put("ok", true);
+            result.put("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            result.putAll(outcome);
+            return true;
+        } catch (Exception e) {
+            result.put("ok", false);
+            result.put("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            result.put(
+                    "error",
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            return false;
+        }
+    }
+
+    private int print(Future<Boolean> future, JsonLine result) throws InterruptedException, ExecutionException {
+        boolean ok = future.get();
+        info(result.toString());
+        return ok ? 0 : 1;
+    }
+}
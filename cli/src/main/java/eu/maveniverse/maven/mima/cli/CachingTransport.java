@@ -0,0 +1,295 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.search.api.transport.Transport;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Caching {@link Transport} decorator, that stores successful GET responses on disk. Entries younger than TTL are
+ * served without touching network, stale entries are revalidated using {@code ETag} and {@code Last-Modified}
+ * conditional requests. Total size of cache is capped, least recently used entries are evicted first.
+ * <p>
+ * Each entry is a pair of files named by SHA-1 of URL and request headers: {@code .meta} (properties) and
+ * {@code .body}. The modification time of {@code .meta} file is the last access time of entry.
+ */
+final class CachingTransport implements Transport {
+    private static final String URL = "url";
+
+    private static final String CODE = "code";
+
+    private static final String STORED = "stored";
+
+    private static final String HEADER_PREFIX = "header.";
+
+    private static final String META = ".meta";
+
+    private static final String BODY = ".body";
+
+    private final Transport delegate;
+
+    private final Path directory;
+
+    private final Duration ttl;
+
+    private final long maxSize;
+
+    CachingTransport(Transport delegate, Path directory, Duration ttl, long maxSize) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.directory = requireNonNull(directory, "directory");
+        this.ttl = requireNonNull(ttl, "ttl");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the default cache directory within given Maven user home.
+     */
+    static Path defaultDirectory(Path mavenUserHome) {
+        return mavenUserHome.resolve(".mima").resolve("http-cache");
+    }
+
+    @Override
+    public Response get(String serviceUri, Map<String, String> headers) throws IOException {
+        String key = key(serviceUri, headers);
+        Path meta = directory.resolve(key + META);
+        Path body = directory.resolve(key + BODY);
+        Properties cached = readMeta(meta);
+        if (cached != null && Files.isRegularFile(body)) {
+            long stored = Long.parseLong(cached.getProperty(STORED, "0"));
+            if (System.currentTimeMillis() - stored < ttl.toMillis()) {
+                return cachedResponse(meta, body, cached);
+            }
+            HashMap<String, String> conditional = new HashMap<>(headers);
+            String etag = cached.getProperty(HEADER_PREFIX + "etag");
+            if (etag != null) {
+                conditional.put("If-None-Match", etag);
+            }
+            String lastModified = cached.getProperty(HEADER_PREFIX + "last-modified");
+            if (lastModified != null) {
+                conditional.put("If-Modified-Since", lastModified);
+            }
+            if (etag != null || lastModified != null) {
+                try (Response response = delegate.get(serviceUri, conditional)) {
+                    if (response.getCode() == 304) {
+                        cached.setProperty(STORED, Long.toString(System.currentTimeMillis()));
+                        writeMeta(meta, cached);
+                        return cachedResponse(meta, body, cached);
+                    }
+                    return store(serviceUri, meta, body, response);
+                }
+            }
+        }
+        try (Response response = delegate.get(serviceUri, headers)) {
+            return store(serviceUri, meta, body, response);
+        }
+    }
+
+    @Override
+    public Response head(String serviceUri, Map<String, String> headers) throws IOException {
+        return delegate.head(serviceUri, headers);
+    }
+
+    private Response store(String serviceUri, Path meta, Path body, Response response) throws IOException {
+        byte[] bytes;
+        try (InputStream in = response.getBody()) {
+            bytes = in != null ? in.readAllBytes() : new byte[0];
+        }
+        Map<String, String> responseHeaders = lowerCase(response.getHeaders());
+        if (response.getCode() == 200) {
+            Properties properties = new Properties();
+            properties.setProperty(URL, serviceUri);
+            properties.setProperty(CODE, Integer.toString(response.getCode()));
+            properties.setProperty(STORED, Long.toString(System.currentTimeMillis()));
+            responseHeaders.forEach((k, v) -> properties.setProperty(HEADER_PREFIX + k, v));
+            Files.createDirectories(directory);
+            writeAtomically(body, out -> out.write(bytes));
+            writeMeta(meta, properties);
+            evict();
+        }
+        return new CachedResponse(response.getCode(), responseHeaders, bytes);
+    }
+
+    private Response cachedResponse(Path meta, Path body, Properties properties) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(body);
+        } catch (IOException e) {
+            // evicted concurrently
+            Files.deleteIfExists(meta);
+            throw e;
+        }
+        Files.setLastModifiedTime(meta, FileTime.fromMillis(System.currentTimeMillis()));
+        TreeMap<String, String> headers = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(HEADER_PREFIX)) {
+                headers.put(name.substring(HEADER_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+        return new CachedResponse(Integer.parseInt(properties.getProperty(CODE, "200")), headers, bytes);
+    }
+
+    /**
+     * Evicts least recently used entries until cache fits into size cap.
+     */
+    private void evict() throws IOException {
+        ArrayList<Path> metas;
+        long total = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            metas = files.filter(p -> p.getFileName().toString().endsWith(META))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        HashMap<Path, Long> sizes = new HashMap<>();
+        HashMap<Path, Long> accessed = new HashMap<>();
+        for (Path meta : metas) {
+            try {
+                long size = Files.size(meta) + Files.size(body(meta));
+                sizes.put(meta, size);
+                accessed.put(meta, Files.getLastModifiedTime(meta).toMillis());
+                total += size;
+            } catch (IOException e) {
+                // incomplete or concurrently evicted entry
+                sizes.put(meta, 0L);
+                accessed.put(meta, 0L);
+            }
+        }
+        if (total <= maxSize) {
+            return;
+        }
+        metas.sort(Comparator.comparing(accessed::get));
+        for (Path meta : metas) {
+            if (total <= maxSize) {
+                break;
+            }
+            Files.deleteIfExists(meta);
+            Files.deleteIfExists(body(meta));
+            total -= sizes.get(meta);
+        }
+    }
+
+    private static Path body(Path meta) {
+        String name = meta.getFileName().toString();
+        return meta.resolveSibling(name.substring(0, name.length() - META.length()) + BODY);
+    }
+
+    private static Properties readMeta(Path meta) {
+        if (!Files.isRegularFile(meta)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+            return properties;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeMeta(Path meta, Properties properties) throws IOException {
+        writeAtomically(meta, out -> properties.store(out, null));
+    }
+
+    private static void writeAtomically(Path target, IOConsumer<OutputStream> writer) throws IOException {
+        Path temp =
+                Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.accept(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String key(String serviceUri, Map<String, String> headers) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(serviceUri.getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, String> header : new TreeMap<>(headers).entrySet()) {
+                digest.update((byte) 0);
+                digest.update((header.getKey() + ":" + header.getValue()).getBytes(StandardCharsets.UTF_8));
+            }
+            return ChecksumUtils.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, String> lowerCase(Map<String, String> headers) {
+        if (headers == null) {
+            return Collections.emptyMap();
+        }
+        TreeMap<String, String> result = new TreeMap<>();
+        headers.forEach((k, v) -> {
+            // skip HTTP/2 pseudo headers like ":status"
+            if (k != null && v != null && !k.startsWith(":")) {
+                result.put(k.toLowerCase(Locale.ROOT), v);
+            }
+        });
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface IOConsumer<T> {
+        void accept(T t) throws IOException;
+    }
+
+    private static final class CachedResponse implements Response {
+        private final int code;
+
+        private final Map<String, String> headers;
+
+        private final byte[] body;
+
+        private CachedResponse(int code, Map<String, String> headers, byte[] body) {
+            this.code = code;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -1,9 +1,16 @@
 package eu.maveniverse.maven.mima.cli;
 
+import eu.maveniverse.maven.mima.context.CollectResultCache;
 import eu.maveniverse.maven.mima.context.Context;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
@@ -17,30 +24,78 @@ import picocli.CommandLine;
  * Classpath.
  */
 @CommandLine.Command(name = "classpath", description = "Resolves Maven Artifact and prints out the classpath")
-public final class Classpath extends ResolverCommandSupport {
+public final class Classpath extends BatchCommandSupport {
 
-    @CommandLine.Parameters(index = "0", description = "The GAV to print classpath for")
+    @CommandLine.Parameters(index = "0", arity = "0..1", description = "The GAV to print classpath for")
     private String gav;
 
+    @CommandLine.Mixin
+    private LockfileSupport lockfileSupport;
+
+    @Override
+    protected String gav() {
+        return gav;
+    }
+
+    @Override
+    protected Integer doCall(Context context) throws Exception {
+        lockfileSupport.validate(batch != null);
+        if (lockfileSupport.isReplay()) {
+            return lockfileSupport.replay(context, getRepositorySystemSession(), gav, this::doReplay);
+        }
+        return super.doCall(context);
+    }
+
     @Override
-    protected Integer doCall(Context context) throws DependencyResolutionException {
+    protected Integer doSingle(Context context, String gav)
+            throws DependencyCollectionException, DependencyResolutionException, IOException {
         info("Classpath {}", gav);
+        String classpath = classpath(context, getRepositorySystemSession(), getCollectResultCache(context), gav);
+        info("");
+        info("{}", classpath);
+        return 0;
+    }
 
+    private Integer doReplay(String root, List<Artifact> artifacts) {
+        info("Classpath {}", root);
+        info("");
+        info(
+                "{}",
+                artifacts.stream()
+                        .map(a -> a.getFile().getAbsolutePath())
+                        .collect(Collectors.joining(File.pathSeparator)));
+        return 0;
+    }
+
+    @Override
+    protected void doBatchEntry(
+            Context context,
+            RepositorySystemSession session,
+            CollectResultCache collectResultCache,
+            String gav,
+            JsonLine result)
+            throws DependencyCollectionException, DependencyResolutionException, IOException {
+        result.put("classpath", classpath(context, session, collectResultCache, gav));
+    }
+
+    private String classpath(
+            Context context, RepositorySystemSession session, CollectResultCache collectResultCache, String gav)
+            throws DependencyCollectionException, DependencyResolutionException, IOException {
         Artifact artifact = new DefaultArtifact(gav);
 
         CollectRequest collectRequest = new CollectRequest();
         collectRequest.setRoot(new Dependency(artifact, JavaScopes.COMPILE));
         collectRequest.setRepositories(context.remoteRepositories());
-        DependencyRequest dependencyRequest =
-                new DependencyRequest(collectRequest, DependencyFilterUtils.classpathFilter(JavaScopes.COMPILE));
+        DependencyRequest dependencyRequest = new DependencyRequest(
+                collectDependencies(context, collectResultCache, session, collectRequest)
+                        .getRoot(),
+                DependencyFilterUtils.classpathFilter(JavaScopes.COMPILE));
 
-        DependencyResult dependencyResult =
-                context.repositorySystem().resolveDependencies(getRepositorySystemSession(), dependencyRequest);
+        DependencyResult dependencyResult = context.repositorySystem().resolveDependencies(session, dependencyRequest);
+        lockfileSupport.mayWrite(dependencyResult);
 
         PreorderNodeListGenerator nlg = new PreorderNodeListGenerator();
         dependencyResult.getRoot().accept(nlg);
-        info("");
-        info("{}", nlg.getClassPath());
-        return 0;
+        return nlg.getClassPath();
     }
 }
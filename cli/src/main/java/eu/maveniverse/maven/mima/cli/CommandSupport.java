@@ -3,20 +3,24 @@ package eu.maveniverse.maven.mima.cli;
 import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.ContextOverrides;
 import eu.maveniverse.maven.mima.context.HTTPProxy;
+import eu.maveniverse.maven.mima.context.LocalRepositoryAccessJournal;
 import eu.maveniverse.maven.mima.context.MavenSystemHome;
 import eu.maveniverse.maven.mima.context.MavenUserHome;
 import eu.maveniverse.maven.mima.context.Runtime;
 import eu.maveniverse.maven.mima.context.Runtimes;
+import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
 import java.io.PrintStream;
 import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.maven.settings.Proxy;
 import org.apache.maven.settings.Settings;
@@ -64,10 +68,71 @@ public abstract class CommandSupport implements Callable<Integer> {
             description = "Define a HTTP proxy (host:port)")
     protected String proxy;
 
+    @CommandLine.Option(
+            names = {"--parallel"},
+            description = "Use breadth-first collector and thread counts based on available processors")
+    protected boolean parallel;
+
+    @CommandLine.Option(
+            names = {"--collector"},
+            description = "Dependency collector to use (df, bf)")
+    protected String collector;
+
+    @CommandLine.Option(
+            names = {"--collector-threads"},
+            description = "Thread count of breadth-first collector")
+    protected Integer collectorThreads;
+
+    @CommandLine.Option(
+            names = {"--download-threads"},
+            description = "Thread count for artifact downloads")
+    protected Integer downloadThreads;
+
+    @CommandLine.Option(
+            names = {"--metadata-threads"},
+            description = "Thread count for metadata resolution")
+    protected Integer metadataThreads;
+
+    @CommandLine.Option(
+            names = {"--track-access"},
+            description = "Record artifact accesses into local repository access journal (used by prune)")
+    protected boolean trackAccess;
+
+    /**
+     * The single journal instance, so contexts pooled by {@link Daemon} are shared across commands tracking access.
+     */
+    private static final LocalRepositoryAccessJournal ACCESS_JOURNAL = new LocalRepositoryAccessJournal();
+
     private static final ConcurrentHashMap<String, ArrayDeque<Object>> EXECUTION_CONTEXT = new ConcurrentHashMap<>();
 
     private static final AtomicBoolean VWO = new AtomicBoolean(false);
 
+    private static volatile Function<ContextOverrides, Context> contextSource;
+
+    /**
+     * Sets the source of root contexts, used by {@link Daemon} to hand out pooled contexts; {@code null} means that
+     * root contexts are created using runtime.
+     */
+    static void setContextSource(Function<ContextOverrides, Context> source) {
+        contextSource = source;
+    }
+
+    /**
+     * Forgets all state of previous execution, used by {@link Daemon} between served commands. Contexts left open by
+     * commands are closed, so leases of pooled contexts are returned (closing contexts is idempotent).
+     */
+    static void resetExecutionContext() {
+        for (ArrayDeque<Object> deque : EXECUTION_CONTEXT.values()) {
+            for (Object object : deque) {
+                if (object instanceof Context) {
+                    ((Context) object).close();
+                }
+            }
+        }
+        EXECUTION_CONTEXT.clear();
+        VWO.set(false);
+    }
+
     protected void writeVersionOnce(Runtime runtime) {
         if (VWO.compareAndSet(false, true)) {
             info("MIMA (Runtime '{}' version {})", runtime.name(), runtime.version());
@@ -235,12 +300,51 @@ public abstract class CommandSupport implements Callable<Integer> {
                 proxyMixin.addProxy(proxySettings);
                 builder.withEffectiveSettingsMixin(proxyMixin);
             }
+            if (parallel) {
+                builder.dependencyCollector(ContextOverrides.DependencyCollectorImpl.BF)
+                        .collectorThreads(ContextOverrides.DEFAULT_THREADS)
+                        .downloadThreads(ContextOverrides.DEFAULT_THREADS)
+                        .metadataThreads(ContextOverrides.DEFAULT_THREADS);
+            }
+            if (collector != null) {
+                try {
+                    builder.dependencyCollector(
+                            ContextOverrides.DependencyCollectorImpl.valueOf(collector.toUpperCase(Locale.ENGLISH)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown dependency collector: " + collector);
+                }
+            }
+            if (collectorThreads != null) {
+                builder.collectorThreads(collectorThreads);
+            }
+            if (downloadThreads != null) {
+                builder.downloadThreads(downloadThreads);
+            }
+            if (metadataThreads != null) {
+                builder.metadataThreads(metadataThreads);
+            }
+            if (trackAccess) {
+                builder.repositoryListener(ACCESS_JOURNAL.repositoryListener());
+            }
             return builder.build();
         });
     }
 
+    /**
+     * Returns the Maven user home contexts use, without creating a context.
+     */
+    protected Path getMavenUserHome() {
+        Path mavenUserHome = getContextOverrides().getMavenUserHomeOverride();
+        return mavenUserHome != null ? mavenUserHome : RuntimeSupport.DEFAULT_MAVEN_USER_HOME;
+    }
+
     protected Context getContext() {
-        return (Context) getOrCreate(Context.class.getName(), () -> getRuntime().create(getContextOverrides()));
+        return (Context) getOrCreate(Context.class.getName(), () -> {
+            Function<ContextOverrides, Context> source = contextSource;
+            return source != null
+                    ? source.apply(getContextOverrides())
+                    : getRuntime().create(getContextOverrides());
+        });
     }
 
     protected void info(String message) {
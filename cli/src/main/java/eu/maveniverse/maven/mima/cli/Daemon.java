@@ -0,0 +1,229 @@
+package eu.maveniverse.maven.mima.cli;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.ContextPool;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.util.ChecksumUtils;
+import picocli.CommandLine;
+
+/**
+ * Daemon: keeps root contexts warm and serves commands of {@link DaemonClient} over loopback, until idle. Only command
+ * arguments are received from clients, see {@link DaemonClient} about what is not carried over.
+ */
+@CommandLine.Command(
+        name = "daemon",
+        description = "Runs daemon serving commands to thin clients (use '--daemon' as first argument of mima, or set"
+                + " MIMA_DAEMON=true)")
+public final class Daemon extends CommandSupport {
+    @CommandLine.Option(
+            names = {"--idle-timeout"},
+            defaultValue = "30",
+            description = "Minutes of inactivity after which daemon exits (default ${DEFAULT-VALUE})")
+    private int idleTimeout;
+
+    private final HashMap<Path, String> watchedFiles = new HashMap<>();
+
+    private ContextPool contextPool;
+
+    @Override
+    public Integer call() {
+        if (idleTimeout < 1) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        Path cwd = Paths.get("").toAbsolutePath();
+        Path stateFile = DaemonState.stateFile(DaemonState.key(cwd));
+        byte[] tokenBytes = new byte[32];
+        new SecureRandom().nextBytes(tokenBytes);
+        DaemonState state = new DaemonState(
+                0,
+                ChecksumUtils.toHexString(tokenBytes),
+                ProcessHandle.current().pid());
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) TimeUnit.MINUTES.toMillis(idleTimeout));
+            state = new DaemonState(server.getLocalPort(), state.getToken(), state.getPid());
+            state.write(stateFile);
+            DaemonState written = state;
+            Thread cleanup = new Thread(() -> cleanup(stateFile, written), "mima-daemon-cleanup");
+            java.lang.Runtime.getRuntime().addShutdownHook(cleanup);
+            contextPool = new ContextPool(getRuntime(), Duration.ofMinutes(idleTimeout));
+            setContextSource(this::acquire);
+            info("MIMA daemon {} serving {} on port {}", state.getPid(), cwd, server.getLocalPort());
+            while (true) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    info("Idle for {} minutes, exiting", idleTimeout);
+                    return 0;
+                }
+                try (Socket s = socket) {
+                    serve(s, state.getToken());
+                } catch (IOException e) {
+                    error("Failed to serve client", e);
+                }
+            }
+        } catch (IOException e) {
+            error("Daemon failure", e);
+            return 1;
+        } finally {
+            setContextSource(null);
+            cleanup(stateFile, state);
+        }
+    }
+
+    private synchronized void cleanup(Path stateFile, DaemonState state) {
+        if (contextPool != null) {
+            contextPool.close();
+        }
+        DaemonState current = DaemonState.read(stateFile);
+        if (current != null && current.getToken().equals(state.getToken())) {
+            try {
+                Files.deleteIfExists(stateFile);
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private void serve(Socket socket, String token) throws IOException {
+        socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(10));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        if (!MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+            return;
+        }
+        String[] args = new String[in.readInt()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = in.readUTF();
+        }
+        socket.setSoTimeout(0);
+
+        if (settingsChanged()) {
+            info("Settings changed, dropping warm contexts");
+            contextPool.close();
+            contextPool = new ContextPool(getRuntime(), Duration.ofMinutes(idleTimeout));
+            watchedFiles.clear();
+        }
+
+        PrintStream stdout = new PrintStream(new FrameOutputStream(out, DaemonState.STDOUT), true);
+        PrintStream stderr = new PrintStream(new FrameOutputStream(out, DaemonState.STDERR), true);
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        int exitCode;
+        System.setOut(stdout);
+        System.setErr(stderr);
+        try {
+            resetExecutionContext();
+            if (!DaemonClient.supported(args)) {
+                stderr.println("Command not supported by daemon");
+                exitCode = 2;
+            } else {
+                exitCode = new CommandLine(new Main()).execute(args);
+            }
+        } finally {
+            stdout.flush();
+            stderr.flush();
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            resetExecutionContext();
+        }
+        synchronized (out) {
+            out.writeByte(DaemonState.EXIT);
+            out.writeInt(exitCode);
+            out.flush();
+        }
+    }
+
+    private Context acquire(ContextOverrides overrides) {
+        Context context = contextPool.acquire(overrides);
+        watch(context.mavenUserHome().settingsXml());
+        watch(context.mavenUserHome().settingsSecurityXml());
+        watch(overrides.getUserSettingsXmlOverride());
+        watch(overrides.getGlobalSettingsXmlOverride());
+        if (context.mavenSystemHome() != null) {
+            watch(context.mavenSystemHome().settingsXml());
+        }
+        return context;
+    }
+
+    private void watch(Path file) {
+        if (file != null) {
+            watchedFiles.computeIfAbsent(file.toAbsolutePath(), Daemon::stamp);
+        }
+    }
+
+    private boolean settingsChanged() {
+        for (Map.Entry<Path, String> entry : watchedFiles.entrySet()) {
+            if (!Objects.equals(entry.getValue(), stamp(entry.getKey()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stamp(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file);
+        } catch (IOException e) {
+            return "missing";
+        }
+    }
+
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+
+        private final byte type;
+
+        private FrameOutputStream(DataOutputStream out, byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (out) {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package eu.maveniverse.maven.mima.cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thin client of {@link Daemon}: connects to the daemon of current working directory (starting it if needed), sends
+ * command arguments and relays daemon output. Does not boot MIMA at all.
+ * <p>
+ * Only command arguments are carried over to daemon: client standard input, environment variables and JVM system
+ * properties are not (daemon uses its own, inherited from the client that started it). Hence, commands reading
+ * standard input (like {@code --batch -}) are executed locally.
+ */
+final class DaemonClient {
+    private static final List<String> UNSUPPORTED = Arrays.asList("daemon", "repl");
+
+    private static final long START_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private DaemonClient() {}
+
+    /**
+     * Returns {@code true} if command may be executed by daemon: interactive ones and ones reading standard input may
+     * not.
+     */
+    static boolean supported(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (UNSUPPORTED.contains(args[i])
+                    || "--batch=-".equals(args[i])
+                    || ("--batch".equals(args[i]) && i + 1 < args.length && "-".equals(args[i + 1]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Executes command using daemon, returns exit code, or {@code null} if command should be executed locally, as
+     * daemon is not usable for it.
+     */
+    static Integer execute(String[] args) {
+        if (!supported(args)) {
+            return null;
+        }
+        Path cwd = Paths.get("").toAbsolutePath();
+        String key = DaemonState.key(cwd);
+        try {
+            Socket socket = connect(key);
+            if (socket == null) {
+                System.err.println("MIMA daemon not available, executing locally");
+                return null;
+            }
+            try (Socket s = socket) {
+                return relay(s, args);
+            }
+        } catch (IOException e) {
+            System.err.println("MIMA daemon failure: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static Socket connect(String key) throws IOException {
+        Socket socket = tryConnect(key);
+        if (socket != null) {
+            return socket;
+        }
+        Files.createDirectories(DaemonState.directory());
+        try (FileChannel channel = FileChannel.open(
+                        DaemonState.lockFile(key), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            // someone else may have started it while we waited for lock
+            socket = tryConnect(key);
+            if (socket != null) {
+                return socket;
+            }
+            Process process = start(key);
+            long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+            while (System.currentTimeMillis() < deadline && process.isAlive()) {
+                socket = tryConnect(key);
+                if (socket != null) {
+                    return socket;
+                }
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static Socket tryConnect(String key) {
+        DaemonState state = DaemonState.read(DaemonState.stateFile(key));
+        if (state == null) {
+            return null;
+        }
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), state.getPort()), 1000);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeUTF(state.getToken());
+            out.flush();
+            return socket;
+        } catch (IOException e) {
+            try {
+                socket.close();
+            } catch (IOException ignore) {
+                // ignore
+            }
+            return null;
+        }
+    }
+
+    private static Process start(String key) throws IOException {
+        ArrayList<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Main.class.getName());
+        command.add("daemon");
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.environment().remove("MIMA_DAEMON");
+        processBuilder.redirectErrorStream(true);
+        processBuilder.redirectOutput(
+                ProcessBuilder.Redirect.appendTo(DaemonState.logFile(key).toFile()));
+        Process process = processBuilder.start();
+        process.getOutputStream().close();
+        return process;
+    }
+
+    private static int relay(Socket socket, String[] args) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        out.writeInt(args.length);
+        for (String arg : args) {
+            out.writeUTF(arg);
+        }
+        out.flush();
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        byte[] buffer = new byte[8192];
+        try {
+            while (true) {
+                byte type = in.readByte();
+                if (type == DaemonState.EXIT) {
+                    return in.readInt();
+                }
+                PrintStream target = type == DaemonState.STDERR ? System.err : System.out;
+                int len = in.readInt();
+                while (len > 0) {
+                    int read = in.read(buffer, 0, Math.min(len, buffer.length));
+                    if (read < 0) {
+                        throw new EOFException();
+                    }
+                    target.write(buffer, 0, read);
+                    len -= read;
+                }
+                target.flush();
+            }
+        } catch (EOFException e) {
+            throw new IOException("connection closed by daemon", e);
+        }
+    }
+}
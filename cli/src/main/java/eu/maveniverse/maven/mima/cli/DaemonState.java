@@ -0,0 +1,130 @@
+package eu.maveniverse.maven.mima.cli;
+
+import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * State of a running {@link Daemon}, shared with {@link DaemonClient} using a state file only readable by owner.
+ * There is one daemon per working directory and CLI classpath, as working directory is basedir of contexts.
+ */
+final class DaemonState {
+    static final byte STDOUT = 1;
+
+    static final byte STDERR = 2;
+
+    static final byte EXIT = 3;
+
+    private static final String PORT = "port";
+
+    private static final String TOKEN = "token";
+
+    private static final String PID = "pid";
+
+    private final int port;
+
+    private final String token;
+
+    private final long pid;
+
+    DaemonState(int port, String token, long pid) {
+        this.port = port;
+        this.token = token;
+        this.pid = pid;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    long getPid() {
+        return pid;
+    }
+
+    /**
+     * The state directory, within the default Maven user home of MIMA (the one contexts of CLI use). It cannot be
+     * taken from a context, as {@link DaemonClient} does not boot MIMA.
+     */
+    static Path directory() {
+        return RuntimeSupport.DEFAULT_MAVEN_USER_HOME.resolve(".mima").resolve("daemon");
+    }
+
+    static String key(Path cwd) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(cwd.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(System.getProperty("java.class.path", "").getBytes(StandardCharsets.UTF_8));
+            return ChecksumUtils.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Path stateFile(String key) {
+        return directory().resolve(key + ".properties");
+    }
+
+    static Path lockFile(String key) {
+        return directory().resolve(key + ".lock");
+    }
+
+    static Path logFile(String key) {
+        return directory().resolve(key + ".log");
+    }
+
+    /**
+     * Reads state file, returns {@code null} if it does not exist or is not readable.
+     */
+    static DaemonState read(Path stateFile) {
+        if (!Files.isRegularFile(stateFile)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(stateFile)) {
+            Properties properties = new Properties();
+            properties.load(in);
+            return new DaemonState(
+                    Integer.parseInt(properties.getProperty(PORT)),
+                    properties.getProperty(TOKEN),
+                    Long.parseLong(properties.getProperty(PID)));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes state file atomically, making it readable only by owner where file system supports it.
+     */
+    void write(Path stateFile) throws IOException {
+        Files.createDirectories(stateFile.getParent());
+        Path tmp = stateFile.resolveSibling(stateFile.getFileName() + "." + pid + ".tmp");
+        Files.deleteIfExists(tmp);
+        if (stateFile.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tmp, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(tmp);
+        }
+        Properties properties = new Properties();
+        properties.setProperty(PORT, Integer.toString(port));
+        properties.setProperty(TOKEN, token);
+        properties.setProperty(PID, Long.toString(pid));
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            properties.store(out, "MIMA daemon");
+        }
+        Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -1,8 +1,15 @@
 package eu.maveniverse.maven.mima.cli;
 
+import eu.maveniverse.maven.mima.context.ContextOverrides;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.search.api.SearchBackend;
 import org.apache.maven.search.api.SearchRequest;
 import org.apache.maven.search.api.SearchResponse;
@@ -42,53 +49,72 @@ public final class Exists extends SearchCommandSupport {
                     "If set, any missing derived artifact will be reported as failure as well (otherwise just the specified GAVs presence is required)")
     private boolean allRequired;
 
+    @CommandLine.Option(
+            names = {"--search-backend"},
+            description = "Use remote repository search backend (parsing directory listings) instead of plain HTTP"
+                    + " requests")
+    private boolean searchBackend;
+
+    @CommandLine.Option(
+            names = {"--parallelism"},
+            description = "Count of existence checks performed concurrently")
+    private Integer parallelism;
+
     @Override
-    protected Integer doCall() throws IOException {
+    protected Integer doCall() throws Exception {
+        int threads = parallelism != null ? parallelism : ContextOverrides.DEFAULT_THREADS;
+        if (threads < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
         info("Exists {}", gavs);
         info("");
 
         ArrayList<Artifact> missingOnes = new ArrayList<>();
         ArrayList<Artifact> existingOnes = new ArrayList<>();
-        try (SearchBackend backend = getRemoteRepositoryBackend(repositoryId, repositoryBaseUri, repositoryVendor)) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "mima-exists-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        SearchBackend backend = searchBackend
+                ? getRemoteRepositoryBackend(repositoryId, repositoryBaseUri, repositoryVendor, false)
+                : null;
+        Checker checker = backend != null
+                ? a -> exists(backend, a)
+                : getHttpExistenceBackend(repositoryId, repositoryBaseUri)::exists;
+        try {
+            // bounded window of in-flight checks over shared transport; results are reported in input order
+            ArrayDeque<List<Check>> inFlight = new ArrayDeque<>();
+            int inFlightChecks = 0;
             for (String gav : gavs) {
                 Artifact artifact = new DefaultArtifact(gav);
-                boolean exists = exists(backend, artifact);
-                if (!exists) {
-                    missingOnes.add(artifact);
-                } else {
-                    existingOnes.add(artifact);
-                }
-                info("Artifact {} {}", artifact, exists ? "EXISTS" : "NOT EXISTS");
+                ArrayList<Check> checks = new ArrayList<>();
+                checks.add(new Check(executor, checker, artifact));
                 if (pom && !"pom".equals(artifact.getExtension())) {
-                    Artifact pom = new SubArtifact(artifact, null, "pom");
-                    exists = exists(backend, pom);
-                    if (!exists && allRequired) {
-                        missingOnes.add(pom);
-                    } else if (allRequired) {
-                        existingOnes.add(pom);
-                    }
-                    info("    {} {}", pom, exists ? "EXISTS" : "NOT EXISTS");
+                    checks.add(new Check(executor, checker, new SubArtifact(artifact, null, "pom")));
                 }
                 if (sources) {
-                    Artifact sources = new SubArtifact(artifact, "sources", "jar");
-                    exists = exists(backend, sources);
-                    if (!exists && allRequired) {
-                        missingOnes.add(sources);
-                    } else if (allRequired) {
-                        existingOnes.add(sources);
-                    }
-                    info("    {} {}", sources, exists ? "EXISTS" : "NOT EXISTS");
+                    checks.add(new Check(executor, checker, new SubArtifact(artifact, "sources", "jar")));
                 }
                 if (javadoc) {
-                    Artifact javadoc = new SubArtifact(artifact, "javadoc", "jar");
-                    exists = exists(backend, javadoc);
-                    if (!exists && allRequired) {
-                        missingOnes.add(javadoc);
-                    } else if (allRequired) {
-                        existingOnes.add(javadoc);
-                    }
-                    info("    {} {}", javadoc, exists ? "EXISTS" : "NOT EXISTS");
+                    checks.add(new Check(executor, checker, new SubArtifact(artifact, "javadoc", "jar")));
                 }
+                inFlight.add(checks);
+                inFlightChecks += checks.size();
+                while (inFlightChecks >= threads * 2) {
+                    List<Check> done = inFlight.poll();
+                    report(done, existingOnes, missingOnes);
+                    inFlightChecks -= done.size();
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                report(inFlight.poll(), existingOnes, missingOnes);
+            }
+        } finally {
+            executor.shutdownNow();
+            if (backend != null) {
+                backend.close();
             }
         }
         info("");
@@ -100,6 +126,58 @@ public final class Exists extends SearchCommandSupport {
         return missingOnes.isEmpty() ? 0 : 1;
     }
 
+    private void report(List<Check> checks, List<Artifact> existingOnes, List<Artifact> missingOnes)
+            throws IOException, InterruptedException {
+        for (int i = 0; i < checks.size(); i++) {
+            Check check = checks.get(i);
+            boolean exists = check.exists();
+            if (i == 0) {
+                if (!exists) {
+                    missingOnes.add(check.artifact);
+                } else {
+                    existingOnes.add(check.artifact);
+                }
+                info("Artifact {} {}", check.artifact, exists ? "EXISTS" : "NOT EXISTS");
+            } else {
+                if (!exists && allRequired) {
+                    missingOnes.add(check.artifact);
+                } else if (allRequired) {
+                    existingOnes.add(check.artifact);
+                }
+                info("    {} {}", check.artifact, exists ? "EXISTS" : "NOT EXISTS");
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Checker {
+        boolean exists(Artifact artifact) throws IOException;
+    }
+
+    private static final class Check {
+        private final Artifact artifact;
+
+        private final Future<Boolean> exists;
+
+        private Check(ExecutorService executor, Checker checker, Artifact artifact) {
+            this.artifact = artifact;
+            this.exists = executor.submit(() -> checker.exists(artifact));
+        }
+
+        private boolean exists() throws IOException, InterruptedException {
+            try {
+                return exists.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                } else if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
     private boolean exists(SearchBackend backend, Artifact artifact) throws IOException {
         Query query = toRrQuery(artifact);
         SearchRequest searchRequest = new SearchRequest(query);
@@ -0,0 +1,53 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.jline.reader.Candidate;
+import org.jline.reader.Completer;
+import org.jline.reader.LineReader;
+import org.jline.reader.ParsedLine;
+
+/**
+ * JLine completer of GAVs (level by level: groupId, artifactId and then version) present in local repository, using
+ * {@link LocalCoordinateIndex}. Completes command arguments only (not the command itself, nor options).
+ */
+final class GavCompleter implements Completer {
+    private final Supplier<LocalCoordinateIndex> index;
+
+    /**
+     * @param index supplier of index, may supply {@code null} while index is not (yet) available.
+     */
+    GavCompleter(Supplier<LocalCoordinateIndex> index) {
+        this.index = requireNonNull(index, "index");
+    }
+
+    @Override
+    public void complete(LineReader reader, ParsedLine line, List<Candidate> candidates) {
+        String word = line.word().substring(0, line.wordCursor());
+        if (line.wordIndex() == 0 || word.startsWith("-")) {
+            return;
+        }
+        LocalCoordinateIndex coordinates = index.get();
+        if (coordinates == null) {
+            return;
+        }
+        String[] parts = word.split(":", -1);
+        if (parts.length == 1) {
+            for (String groupId : coordinates.groupIds(parts[0])) {
+                candidates.add(new Candidate(groupId + ":", groupId, "groupId", null, null, null, false));
+            }
+        } else if (parts.length == 2) {
+            for (String artifactId : coordinates.artifactIds(parts[0], parts[1])) {
+                candidates.add(new Candidate(
+                        parts[0] + ":" + artifactId + ":", artifactId, "artifactId", null, null, null, false));
+            }
+        } else if (parts.length == 3) {
+            for (String version : coordinates.versions(parts[0], parts[1], parts[2])) {
+                candidates.add(new Candidate(
+                        parts[0] + ":" + parts[1] + ":" + version, version, "version", null, null, null, true));
+            }
+        }
+    }
+}
@@ -80,10 +80,7 @@ public final class Graph extends ResolverCommandSupport {
         collectRequest.setRepositories(context.remoteRepositories());
 
         info("");
-        context.repositorySystem()
-                .collectDependencies(session, collectRequest)
-                .getRoot()
-                .accept(new DependencyGraphDumper(this::info));
+        collectDependencies(context, session, collectRequest).getRoot().accept(new DependencyGraphDumper(this::info));
         return 0;
     }
 
@@ -0,0 +1,87 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.maven.search.api.transport.Transport;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Lightweight existence "backend": answers yes/no questions about artifacts by issuing HTTP HEAD requests against
+ * artifact paths in remote repository (and fetching only the {@code .sha1} sidecar for checksum verification),
+ * instead of fetching and parsing directory listings as remote repository search backend does.
+ */
+final class HttpExistenceBackend {
+    private final String baseUri;
+
+    private final Transport transport;
+
+    private final Map<String, String> headers;
+
+    HttpExistenceBackend(String baseUri, Transport transport, Map<String, String> headers) {
+        requireNonNull(baseUri, "baseUri");
+        this.baseUri = baseUri.endsWith("/") ? baseUri : baseUri + "/";
+        this.transport = requireNonNull(transport, "transport");
+        this.headers = requireNonNull(headers, "headers");
+    }
+
+    /**
+     * Returns {@code true} if artifact exists in remote repository.
+     */
+    boolean exists(Artifact artifact) throws IOException {
+        try (Transport.Response response = transport.head(baseUri + path(artifact), headers)) {
+            return present(response.getCode(), artifact);
+        }
+    }
+
+    /**
+     * Returns the published SHA-1 of artifact, or {@code null} if artifact (or its checksum) does not exist.
+     */
+    String sha1(Artifact artifact) throws IOException {
+        try (Transport.Response response = transport.get(baseUri + path(artifact) + ".sha1", headers)) {
+            if (!present(response.getCode(), artifact)) {
+                return null;
+            }
+            try (BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(response.getBody(), StandardCharsets.US_ASCII))) {
+                String line = reader.readLine();
+                if (line == null || line.trim().isEmpty()) {
+                    return null;
+                }
+                // some checksum files carry file name after checksum
+                return line.trim().split("\\s+")[0];
+            }
+        }
+    }
+
+    private static boolean present(int code, Artifact artifact) throws IOException {
+        if (code == 404) {
+            return false;
+        } else if (code >= 200 && code < 300) {
+            return true;
+        }
+        throw new IOException("Unexpected response code " + code + " for " + artifact);
+    }
+
+    /**
+     * Default (Maven2) layout path of artifact.
+     */
+    static String path(Artifact artifact) {
+        StringBuilder path = new StringBuilder(128);
+        path.append(artifact.getGroupId().replace('.', '/')).append('/');
+        path.append(artifact.getArtifactId()).append('/');
+        path.append(artifact.getBaseVersion()).append('/');
+        path.append(artifact.getArtifactId()).append('-').append(artifact.getVersion());
+        if (!artifact.getClassifier().isEmpty()) {
+            path.append('-').append(artifact.getClassifier());
+        }
+        if (!artifact.getExtension().isEmpty()) {
+            path.append('.').append(artifact.getExtension());
+        }
+        return path.toString();
+    }
+}
@@ -3,38 +3,109 @@ package eu.maveniverse.maven.mima.cli;
 import static org.apache.maven.search.api.request.FieldQuery.fieldQuery;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Locale;
 import org.apache.maven.search.api.MAVEN;
 import org.apache.maven.search.api.SearchBackend;
 import org.apache.maven.search.api.SearchRequest;
-import org.apache.maven.search.api.SearchResponse;
+import org.eclipse.aether.artifact.Artifact;
 import picocli.CommandLine;
 
 /**
  * Identify.
  */
 @CommandLine.Command(name = "identify", description = "Identifies Maven Artifacts")
-public final class Identify extends SearchCommandSupport {
+public final class Identify extends PagedSearchCommandSupport {
 
     @CommandLine.Parameters(index = "0", description = "The sha1 checksum to identify artifact with")
     private String sha1;
 
+    @CommandLine.Option(
+            names = {"--no-local-index"},
+            description = "Do not consult local repository content index (query remote service only)")
+    private boolean noLocalIndex;
+
+    @CommandLine.Option(
+            names = {"--update-local-index"},
+            description = "Bring local repository content index up to date before lookup (hashes new and changed"
+                    + " files of local repository)")
+    private boolean updateLocalIndex;
+
     @Override
-    protected Integer doCall() throws IOException {
-        info("Identify {}", sha1);
+    protected Integer doCall() throws IOException, InterruptedException {
+        header("Identify {}", sha1);
+
+        if (!noLocalIndex) {
+            java.util.List<Artifact> artifacts = identifyLocally();
+            if (!artifacts.isEmpty()) {
+                header("");
+                int counter = 0;
+                for (Artifact artifact : artifacts) {
+                    if (ndjson) {
+                        info(new JsonLine()
+                                .put(MAVEN.GROUP_ID.getFieldName(), artifact.getGroupId())
+                                .put(MAVEN.ARTIFACT_ID.getFieldName(), artifact.getArtifactId())
+                                .put(MAVEN.VERSION.getFieldName(), artifact.getVersion())
+                                .put(MAVEN.CLASSIFIER.getFieldName(), artifact.getClassifier())
+                                .put(MAVEN.FILE_EXTENSION.getFieldName(), artifact.getExtension())
+                                .put("file", artifact.getFile().getAbsolutePath())
+                                .toString());
+                    } else {
+                        info(++counter + ". " + artifact);
+                        info("   [file=" + artifact.getFile() + "]");
+                    }
+                }
+                return 0;
+            }
+            if (getContextOverrides().isOffline()) {
+                header("");
+                header("No artifact with SHA-1 {} in local repository", sha1);
+                return 0;
+            }
+        }
 
         try (SearchBackend backend = getSmoBackend(repositoryId)) {
             SearchRequest searchRequest = new SearchRequest(fieldQuery(MAVEN.SHA1, sha1));
-            SearchResponse searchResponse = backend.search(searchRequest);
-            info("");
-            AtomicInteger counter = new AtomicInteger();
-            renderPage(counter, searchResponse.getPage()).forEach(this::info);
-            while (searchResponse.getCurrentHits() > 0) {
-                searchResponse =
-                        backend.search(searchResponse.getSearchRequest().nextPage());
-                renderPage(counter, searchResponse.getPage()).forEach(this::info);
-            }
+            streamPages(backend, searchRequest);
         }
         return 0;
     }
+
+    /**
+     * Looks up existing index only, unless asked to update it, or working offline (when it is updated on a miss, as
+     * there is no remote service to fall back to). Updating walks the whole local repository, and hashes new and
+     * changed files.
+     */
+    private java.util.List<Artifact> identifyLocally() throws IOException {
+        boolean offline = getContextOverrides().isOffline();
+        if (!updateLocalIndex && !offline && !LocalContentIndex.anyIndex(getMavenUserHome())) {
+            // nothing to look up, do not create context
+            return Collections.emptyList();
+        }
+        Path localRepository = getContext()
+                .repositorySystemSession()
+                .getLocalRepository()
+                .getBasedir()
+                .toPath();
+        LocalContentIndex index = new LocalContentIndex(
+                localRepository, LocalContentIndex.defaultIndexFile(getMavenUserHome(), localRepository));
+        String key = sha1.toLowerCase(Locale.ROOT);
+        if (updateLocalIndex) {
+            update(index);
+        }
+        java.util.List<Artifact> artifacts = index.lookup(key);
+        if (artifacts.isEmpty() && offline && !updateLocalIndex && update(index) > 0) {
+            artifacts = index.lookup(key);
+        }
+        return artifacts;
+    }
+
+    private int update(LocalContentIndex index) throws IOException {
+        int hashed = index.update();
+        if (hashed > 0) {
+            header("Local content index updated ({} files hashed)", hashed);
+        }
+        return hashed;
+    }
 }
@@ -0,0 +1,82 @@
+package eu.maveniverse.maven.mima.cli;
+
+import java.util.Collection;
+
+/**
+ * Minimal builder of one line of JSON object, for line-delimited JSON output. Members are written in order of
+ * invocation.
+ */
+final class JsonLine {
+    private final StringBuilder sb = new StringBuilder("{");
+
+    JsonLine put(String name, String value) {
+        name(name);
+        if (value == null) {
+            sb.append("null");
+        } else {
+            quote(value);
+        }
+        return this;
+    }
+
+    JsonLine put(String name, long value) {
+        name(name).append(value);
+        return this;
+    }
+
+    JsonLine put(String name, boolean value) {
+        name(name).append(value);
+        return this;
+    }
+
+    JsonLine put(String name, Collection<JsonLine> values) {
+        name(name).append('[');
+        boolean first = true;
+        for (JsonLine value : values) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append(value);
+        }
+        sb.append(']');
+        return this;
+    }
+
+    JsonLine putAll(JsonLine other) {
+        if (other.sb.length() > 1) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(other.sb, 1, other.sb.length());
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return sb + "}";
+    }
+
+    private StringBuilder name(String name) {
+        if (sb.length() > 1) {
+            sb.append(',');
+        }
+        return quote(name).append(':');
+    }
+
+    private StringBuilder quote(String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"');
+    }
+}
@@ -21,11 +21,19 @@ public final class List extends SearchCommandSupport {
     @CommandLine.Parameters(index = "0", description = "The GAV-oid to list (G or G:A or G:A:V)")
     private String gavoid;
 
+    @CommandLine.Option(
+            names = {"--local"},
+            description =
+                    "Query coordinate index of local repository instead of remote service (implied when" + " offline)")
+    private boolean local;
+
     @Override
     protected Integer doCall() throws IOException {
         info("List {}", gavoid);
 
-        try (SearchBackend backend = getRemoteRepositoryBackend(repositoryId, repositoryBaseUri, repositoryVendor)) {
+        try (SearchBackend backend = local || getContextOverrides().isOffline()
+                ? getLocalBackend(repositoryId)
+                : getRemoteRepositoryBackend(repositoryId, repositoryBaseUri, repositoryVendor)) {
             String[] elements = gavoid.split(":");
             if (elements.length < 1 || elements.length > 3) {
                 throw new IllegalArgumentException("Invalid gavoid");
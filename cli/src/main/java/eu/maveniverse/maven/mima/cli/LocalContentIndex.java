@@ -0,0 +1,467 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Local content index: maps SHA-1 of every artifact file in local repository to its coordinates.
+ * <p>
+ * The index is a single file, with fixed size records sorted by SHA-1 (each carrying file size and modification
+ * time as well), followed by pool of repository relative paths. Lookups memory-map the file and binary search the
+ * records. Updates are incremental: local repository is walked in parallel, and only files whose size or
+ * modification time differs from what index recorded are hashed again.
+ */
+final class LocalContentIndex {
+    private static final byte[] MAGIC = "MIMASHA1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = MAGIC.length + 4 + 4;
+
+    private static final String EXTENSION = ".sha1idx";
+
+    private static final int SHA1_SIZE = 20;
+
+    private static final int RECORD_SIZE = SHA1_SIZE + 8 + 8 + 4;
+
+    private static final Pattern SNAPSHOT_VERSION = Pattern.compile("^(.*)-(\\d{8}\\.\\d{6}-\\d+)(.*)$");
+
+    private final Path localRepository;
+
+    private final Path indexFile;
+
+    LocalContentIndex(Path localRepository, Path indexFile) {
+        this.localRepository =
+                requireNonNull(localRepository, "localRepository").toAbsolutePath();
+        this.indexFile = requireNonNull(indexFile, "indexFile");
+    }
+
+    /**
+     * Index file location for given local repository, within given Maven user home.
+     */
+    static Path defaultIndexFile(Path mavenUserHome, Path localRepository) {
+        return indexDirectory(mavenUserHome)
+                .resolve(ChecksumUtils.toHexString(
+                                sha1(localRepository.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8)))
+                        + EXTENSION);
+    }
+
+    /**
+     * Returns {@code true} if there is index of any local repository within given Maven user home.
+     */
+    static boolean anyIndex(Path mavenUserHome) throws IOException {
+        Path directory = indexDirectory(mavenUserHome);
+        if (!Files.isDirectory(directory)) {
+            return false;
+        }
+        try (DirectoryStream<Path> indexes = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            return indexes.iterator().hasNext();
+        }
+    }
+
+    private static Path indexDirectory(Path mavenUserHome) {
+        return mavenUserHome.resolve(".mima").resolve("index");
+    }
+
+    /**
+     * Brings index up to date with local repository, returns the count of files that were (re)hashed.
+     */
+    int update() throws IOException {
+        HashMap<String, Entry> previous = new HashMap<>();
+        for (Entry entry : read()) {
+            previous.put(entry.path, entry);
+        }
+        ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+        AtomicInteger hashed = new AtomicInteger();
+        if (Files.isDirectory(localRepository)) {
+            ForkJoinPool pool = new ForkJoinPool();
+            try {
+                pool.invoke(new Walker(localRepository, previous, entries, hashed));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        if (hashed.get() > 0 || entries.size() != previous.size()) {
+            write(new ArrayList<>(entries));
+        }
+        return hashed.get();
+    }
+
+    /**
+     * Returns artifacts (with file set) having given SHA-1, or empty list. Does not walk local repository, but hits
+     * whose file changed or vanished since index was updated are left out.
+     */
+    List<Artifact> lookup(String sha1) throws IOException {
+        byte[] key = unhex(sha1);
+        if (key == null || !Files.isRegularFile(indexFile)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int count = header(buffer);
+            if (count < 0) {
+                return Collections.emptyList();
+            }
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(buffer, mid, key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            ArrayList<Artifact> result = new ArrayList<>();
+            int pool = HEADER_SIZE + count * RECORD_SIZE;
+            for (int i = low; i < count && compare(buffer, i, key) == 0; i++) {
+                int record = HEADER_SIZE + i * RECORD_SIZE;
+                String path = path(buffer, pool + buffer.getInt(record + SHA1_SIZE + 16));
+                Artifact artifact = toArtifact(path);
+                Path file = localRepository.resolve(path);
+                if (artifact != null
+                        && current(file, buffer.getLong(record + SHA1_SIZE), buffer.getLong(record + SHA1_SIZE + 8))) {
+                    result.add(artifact.setFile(file.toFile()));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns {@code true} if file still has the size and modification time index recorded for it.
+     */
+    private static boolean current(Path file, long size, long modified) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() == size && attributes.lastModifiedTime().toMillis() == modified;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Derives artifact from local repository (default layout) path, or {@code null} if not an artifact path.
+     */
+    static Artifact toArtifact(String path) {
+        String[] segments = path.split("/");
+        if (segments.length < 4) {
+            return null;
+        }
+        String file = segments[segments.length - 1];
+        String baseVersion = segments[segments.length - 2];
+        String artifactId = segments[segments.length - 3];
+        String groupId = String.join(".", Arrays.asList(segments).subList(0, segments.length - 3));
+        if (!file.startsWith(artifactId + "-")) {
+            return null;
+        }
+        String rest = file.substring(artifactId.length() + 1);
+        String version;
+        if (rest.startsWith(baseVersion)) {
+            version = baseVersion;
+            rest = rest.substring(baseVersion.length());
+        } else if (baseVersion.endsWith("-SNAPSHOT")) {
+            Matcher matcher = SNAPSHOT_VERSION.matcher(rest);
+            if (!matcher.matches()
+                    || !(matcher.group(1) + "-SNAPSHOT").equals(baseVersion)
+                    || matcher.group(3).isEmpty()) {
+                return null;
+            }
+            version = matcher.group(1) + "-" + matcher.group(2);
+            rest = matcher.group(3);
+        } else {
+            return null;
+        }
+        String classifier = "";
+        if (rest.startsWith("-")) {
+            int dot = rest.indexOf('.');
+            if (dot < 0) {
+                return null;
+            }
+            classifier = rest.substring(1, dot);
+            rest = rest.substring(dot);
+        }
+        if (!rest.startsWith(".") || rest.length() < 2) {
+            return null;
+        }
+        return new DefaultArtifact(groupId, artifactId, classifier, rest.substring(1), version);
+    }
+
+    /**
+     * Returns {@code true} if given file of local repository may be an artifact: not a checksum, signature, metadata,
+     * resolver tracking, lock or partially downloaded file.
+     */
+    static boolean indexable(Path file) {
+        String name = file.getFileName().toString();
+        return !name.startsWith(".")
+                && !name.startsWith("_")
+                && !name.startsWith("maven-metadata")
+                && !name.equals("resolver-status.properties")
+                && !name.endsWith(".sha1")
+                && !name.endsWith(".sha256")
+                && !name.endsWith(".sha512")
+                && !name.endsWith(".md5")
+                && !name.endsWith(".asc")
+                && !name.endsWith(".lastUpdated")
+                && !name.endsWith(".part")
+                && !name.endsWith(".lock");
+    }
+
+    private List<Entry> read() throws IOException {
+        if (!Files.isRegularFile(indexFile)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int count = header(buffer);
+            if (count < 0) {
+                return Collections.emptyList();
+            }
+            ArrayList<Entry> result = new ArrayList<>(count);
+            int pool = HEADER_SIZE + count * RECORD_SIZE;
+            for (int i = 0; i < count; i++) {
+                int record = HEADER_SIZE + i * RECORD_SIZE;
+                byte[] sha1 = bytes(buffer, record, SHA1_SIZE);
+                long size = buffer.getLong(record + SHA1_SIZE);
+                long modified = buffer.getLong(record + SHA1_SIZE + 8);
+                String path = path(buffer, pool + buffer.getInt(record + SHA1_SIZE + 16));
+                result.add(new Entry(path, size, modified, sha1));
+            }
+            return result;
+        }
+    }
+
+    private void write(List<Entry> entries) throws IOException {
+        entries.sort((a, b) -> {
+            int result = Arrays.compareUnsigned(a.sha1, b.sha1);
+            return result != 0 ? result : a.path.compareTo(b.path);
+        });
+        Files.createDirectories(indexFile.getParent());
+        Path temp = Files.createTempFile(
+                indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.write(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                int offset = 0;
+                ArrayList<byte[]> paths = new ArrayList<>(entries.size());
+                for (Entry entry : entries) {
+                    byte[] path = entry.path.getBytes(StandardCharsets.UTF_8);
+                    paths.add(path);
+                    out.write(entry.sha1);
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.modified);
+                    out.writeInt(offset);
+                    offset += 2 + path.length;
+                }
+                for (byte[] path : paths) {
+                    out.writeShort(path.length);
+                    out.write(path);
+                }
+            }
+            try {
+                Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static int header(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE) {
+            return -1;
+        }
+        if (!Arrays.equals(MAGIC, bytes(buffer, 0, MAGIC.length)) || buffer.getInt(MAGIC.length) != VERSION) {
+            return -1;
+        }
+        int count = buffer.getInt(MAGIC.length + 4);
+        if (count < 0 || (long) HEADER_SIZE + (long) count * RECORD_SIZE > buffer.limit()) {
+            return -1;
+        }
+        return count;
+    }
+
+    private static int compare(ByteBuffer buffer, int index, byte[] key) {
+        int record = HEADER_SIZE + index * RECORD_SIZE;
+        for (int i = 0; i < SHA1_SIZE; i++) {
+            int result = Integer.compare(buffer.get(record + i) & 0xff, key[i] & 0xff);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static String path(ByteBuffer buffer, int offset) {
+        return new String(bytes(buffer, offset + 2, buffer.getShort(offset) & 0xffff), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] sha1(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] sha1(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] unhex(String hex) {
+        if (hex == null || hex.length() != SHA1_SIZE * 2) {
+            return null;
+        }
+        byte[] result = new byte[SHA1_SIZE];
+        for (int i = 0; i < SHA1_SIZE; i++) {
+            int hi = Character.digit(hex.charAt(i * 2), 16);
+            int lo = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (hi < 0 || lo < 0) {
+                return null;
+            }
+            result[i] = (byte) ((hi << 4) | lo);
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        private final String path;
+
+        private final long size;
+
+        private final long modified;
+
+        private final byte[] sha1;
+
+        private Entry(String path, long size, long modified, byte[] sha1) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+            this.sha1 = sha1;
+        }
+    }
+
+    /**
+     * Walks one directory: forks walkers for subdirectories and (re)hashes changed artifact files.
+     */
+    private final class Walker extends RecursiveAction {
+        private final Path directory;
+
+        private final Map<String, Entry> previous;
+
+        private final ConcurrentLinkedQueue<Entry> entries;
+
+        private final AtomicInteger hashed;
+
+        private Walker(
+                Path directory,
+                Map<String, Entry> previous,
+                ConcurrentLinkedQueue<Entry> entries,
+                AtomicInteger hashed) {
+            this.directory = directory;
+            this.previous = previous;
+            this.entries = entries;
+            this.hashed = hashed;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayList<Walker> children = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        // removed meanwhile
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        if (!child.getFileName().toString().startsWith(".")) {
+                            children.add(new Walker(child, previous, entries, hashed));
+                        }
+                    } else if (attributes.isRegularFile() && indexable(child)) {
+                        String path =
+                                localRepository.relativize(child).toString().replace('\\', '/');
+                        if (toArtifact(path) == null) {
+                            continue;
+                        }
+                        long size = attributes.size();
+                        long modified = attributes.lastModifiedTime().toMillis();
+                        Entry entry = previous.get(path);
+                        if (entry == null || entry.size != size || entry.modified != modified) {
+                            try {
+                                entry = new Entry(path, size, modified, sha1(child));
+                            } catch (NoSuchFileException e) {
+                                // removed meanwhile
+                                continue;
+                            }
+                            hashed.incrementAndGet();
+                        }
+                        entries.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(children);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.eclipse.aether.util.ChecksumUtils;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+
+/**
+ * Local coordinate index: a trie of groupId, artifactId and version levels of all artifacts present in local
+ * repository, answering prefix and exact queries in sub-millisecond time.
+ * <p>
+ * The index is persisted as text file (one line per artifact directory: path, modification time and versions).
+ * Updates are incremental: local repository directories are walked in parallel, but artifact directories whose
+ * modification time did not change are not listed again (adding or removing a version directory changes it).
+ */
+final class LocalCoordinateIndex {
+    private static final String HEADER = "# MIMA coordinate index 1";
+
+    private static final GenericVersionScheme VERSION_SCHEME = new GenericVersionScheme();
+
+    /**
+     * Orders versions as Maven does, versions Maven considers equal (like "1" and "1.0") are ordered as strings.
+     */
+    static final Comparator<String> VERSION_ORDER =
+            Comparator.comparing(LocalCoordinateIndex::parseVersion).thenComparing(Comparator.naturalOrder());
+
+    private final Path localRepository;
+
+    private final Path indexFile;
+
+    private volatile TreeMap<String, TreeMap<String, TreeSet<String>>> trie = new TreeMap<>();
+
+    LocalCoordinateIndex(Path localRepository, Path indexFile) {
+        this.localRepository =
+                requireNonNull(localRepository, "localRepository").toAbsolutePath();
+        this.indexFile = requireNonNull(indexFile, "indexFile");
+    }
+
+    /**
+     * Index file location for given local repository, within given Maven user home.
+     */
+    static Path defaultIndexFile(Path mavenUserHome, Path localRepository) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest(localRepository.toAbsolutePath().toString().getBytes(StandardCharsets.UTF_8));
+            return mavenUserHome.resolve(".mima").resolve("index").resolve(ChecksumUtils.toHexString(digest) + ".gav");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Brings index up to date with local repository, returns the count of artifact directories that were listed.
+     */
+    int update() throws IOException {
+        Map<String, ArtifactDirectory> previous = read();
+        ConcurrentHashMap<String, ArtifactDirectory> current = new ConcurrentHashMap<>();
+        int listed = 0;
+        if (Files.isDirectory(localRepository)) {
+            ForkJoinPool pool = new ForkJoinPool();
+            try {
+                listed = pool.invoke(new Walker(localRepository, previous, current));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        if (listed > 0 || current.size() != previous.size()) {
+            write(current);
+        }
+        TreeMap<String, TreeMap<String, TreeSet<String>>> result = new TreeMap<>();
+        for (ArtifactDirectory directory : current.values()) {
+            int slash = directory.path.lastIndexOf('/');
+            if (slash < 1) {
+                continue;
+            }
+            String groupId = directory.path.substring(0, slash).replace('/', '.');
+            String artifactId = directory.path.substring(slash + 1);
+            result.computeIfAbsent(groupId, k -> new TreeMap<>())
+                    .computeIfAbsent(artifactId, k -> new TreeSet<>(VERSION_ORDER))
+                    .addAll(directory.versions);
+        }
+        trie = result;
+        return listed;
+    }
+
+    /**
+     * Returns groupIds starting with given prefix.
+     */
+    NavigableSet<String> groupIds(String prefix) {
+        return prefixed(trie, prefix).navigableKeySet();
+    }
+
+    /**
+     * Returns artifactIds of given groupId starting with given prefix.
+     */
+    NavigableSet<String> artifactIds(String groupId, String prefix) {
+        TreeMap<String, TreeSet<String>> artifacts = trie.get(groupId);
+        if (artifacts == null) {
+            return Collections.emptyNavigableSet();
+        }
+        return prefixed(artifacts, prefix).navigableKeySet();
+    }
+
+    /**
+     * Returns versions of given groupId and artifactId (in Maven order), starting with given prefix.
+     */
+    NavigableSet<String> versions(String groupId, String artifactId, String prefix) {
+        TreeMap<String, TreeSet<String>> artifacts = trie.get(groupId);
+        TreeSet<String> versions = artifacts != null ? artifacts.get(artifactId) : null;
+        if (versions == null) {
+            return Collections.emptyNavigableSet();
+        }
+        if (prefix.isEmpty()) {
+            return Collections.unmodifiableNavigableSet(versions);
+        }
+        TreeSet<String> result = new TreeSet<>(VERSION_ORDER);
+        for (String version : versions) {
+            if (version.startsWith(prefix)) {
+                result.add(version);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the whole trie, for queries not covered above.
+     */
+    NavigableMap<String, TreeMap<String, TreeSet<String>>> trie() {
+        return Collections.unmodifiableNavigableMap(trie);
+    }
+
+    /**
+     * The local repository this index is about.
+     */
+    Path localRepository() {
+        return localRepository;
+    }
+
+    private static <V> NavigableMap<String, V> prefixed(TreeMap<String, V> map, String prefix) {
+        if (prefix.isEmpty()) {
+            return Collections.unmodifiableNavigableMap(map);
+        }
+        return Collections.unmodifiableNavigableMap(map.subMap(prefix, true, prefix + Character.MAX_VALUE, true));
+    }
+
+    private static Version parseVersion(String version) {
+        try {
+            return VERSION_SCHEME.parseVersion(version);
+        } catch (InvalidVersionSpecificationException e) {
+            // generic version scheme is lenient, never happens
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, ArtifactDirectory> read() throws IOException {
+        HashMap<String, ArtifactDirectory> result = new HashMap<>();
+        if (!Files.isRegularFile(indexFile)) {
+            return result;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return result;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 3) {
+                    continue;
+                }
+                result.put(
+                        fields[0],
+                        new ArtifactDirectory(
+                                fields[0],
+                                Long.parseLong(fields[1]),
+                                fields[2].isEmpty() ? Collections.emptyList() : Arrays.asList(fields[2].split(","))));
+            }
+        } catch (NumberFormatException e) {
+            // corrupt index, rebuild
+            result.clear();
+        }
+        return result;
+    }
+
+    private void write(Map<String, ArtifactDirectory> directories) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path temp = Files.createTempFile(
+                indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (ArtifactDirectory directory : new TreeMap<>(directories).values()) {
+                    writer.write(directory.path);
+                    writer.write('\t');
+                    writer.write(Long.toString(directory.modified));
+                    writer.write('\t');
+                    writer.write(String.join(",", directory.versions));
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static final class ArtifactDirectory {
+        private final String path;
+
+        private final long modified;
+
+        private final List<String> versions;
+
+        private ArtifactDirectory(String path, long modified, List<String> versions) {
+            this.path = path;
+            this.modified = modified;
+            this.versions = versions;
+        }
+    }
+
+    /**
+     * Walks one directory: if it is artifact directory (has version subdirectories holding files of artifact),
+     * records it, otherwise forks walkers for subdirectories. Results in count of listed artifact directories.
+     */
+    private final class Walker extends RecursiveTask<Integer> {
+        private final Path directory;
+
+        private final Map<String, ArtifactDirectory> previous;
+
+        private final Map<String, ArtifactDirectory> current;
+
+        private Walker(
+                Path directory, Map<String, ArtifactDirectory> previous, Map<String, ArtifactDirectory> current) {
+            this.directory = directory;
+            this.previous = previous;
+            this.current = current;
+        }
+
+        @Override
+        protected Integer compute() {
+            try {
+                String path = localRepository.relativize(directory).toString().replace('\\', '/');
+                long modified = Files.getLastModifiedTime(directory).toMillis();
+                ArtifactDirectory known = previous.get(path);
+                if (known != null && known.modified == modified) {
+                    current.put(path, known);
+                    return 0;
+                }
+                // local repository root is never an artifact directory
+                String artifactId =
+                        path.isEmpty() ? "" : directory.getFileName().toString();
+                ArrayList<String> versions = new ArrayList<>();
+                ArrayList<Walker> children = new ArrayList<>();
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, Files::isDirectory)) {
+                    for (Path child : stream) {
+                        String name = child.getFileName().toString();
+                        if (name.startsWith(".")) {
+                            continue;
+                        }
+                        if (!artifactId.isEmpty() && isVersionDirectory(child, artifactId, name)) {
+                            versions.add(name);
+                        } else {
+                            children.add(new Walker(child, previous, current));
+                        }
+                    }
+                }
+                int listed = 0;
+                if (!versions.isEmpty()) {
+                    versions.sort(VERSION_ORDER);
+                    current.put(path, new ArtifactDirectory(path, modified, versions));
+                    listed++;
+                }
+                for (Walker child : invokeAll(children)) {
+                    listed += child.join();
+                }
+                return listed;
+            } catch (NoSuchFileException e) {
+                // removed meanwhile
+                return 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private boolean isVersionDirectory(Path directory, String artifactId, String version) throws IOException {
+            String prefix = artifactId + "-"
+                    + (version.endsWith("-SNAPSHOT")
+                            ? version.substring(0, version.length() - "SNAPSHOT".length())
+                            : version);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+                    directory,
+                    p -> p.getFileName().toString().startsWith(prefix)
+                            && LocalContentIndex.indexable(p)
+                            && Files.isRegularFile(p))) {
+                return stream.iterator().hasNext();
+            }
+        }
+    }
+}
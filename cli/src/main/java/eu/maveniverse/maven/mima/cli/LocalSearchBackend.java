@@ -0,0 +1,182 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.maven.search.api.MAVEN;
+import org.apache.maven.search.api.Record;
+import org.apache.maven.search.api.SearchRequest;
+import org.apache.maven.search.api.SearchResponse;
+import org.apache.maven.search.api.request.BooleanQuery;
+import org.apache.maven.search.api.request.Field;
+import org.apache.maven.search.api.request.FieldQuery;
+import org.apache.maven.search.api.request.Paging;
+import org.apache.maven.search.api.request.Query;
+import org.apache.maven.search.api.support.SearchBackendSupport;
+import org.apache.maven.search.api.support.SearchResponseSupport;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Search backend over {@link LocalCoordinateIndex}, usable offline. It answers field queries like remote repository
+ * backend does (groupId lists artifactIds, groupId and artifactId list versions, and full GAV lists the artifact
+ * files), while plain text query matches groupIds and artifactIds containing the text.
+ */
+final class LocalSearchBackend extends SearchBackendSupport {
+    private final LocalCoordinateIndex index;
+
+    LocalSearchBackend(String backendId, String repositoryId, LocalCoordinateIndex index) {
+        super(backendId, repositoryId);
+        this.index = requireNonNull(index, "index");
+    }
+
+    @Override
+    public SearchResponse search(SearchRequest searchRequest) throws IOException {
+        HashMap<Field, String> fields = new HashMap<>();
+        ArrayList<String> texts = new ArrayList<>();
+        collect(searchRequest.getQuery(), fields, texts);
+        String groupId = fields.get(MAVEN.GROUP_ID);
+        String artifactId = fields.get(MAVEN.ARTIFACT_ID);
+        String version = fields.get(MAVEN.VERSION);
+
+        ArrayList<Record> records = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<String, TreeSet<String>>> group :
+                groups(groupId).entrySet()) {
+            for (Map.Entry<String, TreeSet<String>> artifact : group.getValue().entrySet()) {
+                if (artifactId != null && !artifactId.equals(artifact.getKey())) {
+                    continue;
+                }
+                if (!matches(texts, group.getKey(), artifact.getKey())) {
+                    continue;
+                }
+                if (version != null) {
+                    if (artifact.getValue().contains(version)) {
+                        files(group.getKey(), artifact.getKey(), version, fields, records);
+                    }
+                } else if (artifactId != null) {
+                    for (String v : artifact.getValue()) {
+                        records.add(record(group.getKey(), artifact.getKey(), v, null));
+                    }
+                } else {
+                    Record record = record(
+                            group.getKey(),
+                            artifact.getKey(),
+                            artifact.getValue().last(),
+                            artifact.getValue().size());
+                    records.add(record);
+                }
+            }
+        }
+
+        Paging paging = searchRequest.getPaging();
+        long from = (long) paging.getPageOffset() * paging.getPageSize();
+        List<Record> page = from >= records.size()
+                ? new ArrayList<>()
+                : records.subList((int) from, (int) Math.min(records.size(), from + paging.getPageSize()));
+        return new LocalSearchResponse(searchRequest, records.size(), page);
+    }
+
+    private Map<String, TreeMap<String, TreeSet<String>>> groups(String groupId) {
+        if (groupId == null) {
+            return index.trie();
+        }
+        TreeMap<String, TreeSet<String>> artifacts = index.trie().get(groupId);
+        return artifacts == null ? new TreeMap<>() : Map.of(groupId, artifacts);
+    }
+
+    private static boolean matches(List<String> texts, String groupId, String artifactId) {
+        for (String text : texts) {
+            String lower = text.toLowerCase(Locale.ROOT);
+            if (!groupId.toLowerCase(Locale.ROOT).contains(lower)
+                    && !artifactId.toLowerCase(Locale.ROOT).contains(lower)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void files(String groupId, String artifactId, String version, Map<Field, String> fields, List<Record> out)
+            throws IOException {
+        String classifier = fields.get(MAVEN.CLASSIFIER);
+        String extension = fields.containsKey(MAVEN.FILE_EXTENSION)
+                ? fields.get(MAVEN.FILE_EXTENSION)
+                : fields.get(MAVEN.PACKAGING);
+        Path directory = index.localRepository()
+                .resolve(groupId.replace('.', '/'))
+                .resolve(artifactId)
+                .resolve(version);
+        TreeSet<String> names = new TreeSet<>();
+        try (DirectoryStream<Path> stream =
+                Files.newDirectoryStream(directory, p -> LocalContentIndex.indexable(p) && Files.isRegularFile(p))) {
+            for (Path file : stream) {
+                names.add(file.getFileName().toString());
+            }
+        }
+        for (String name : names) {
+            Artifact artifact = LocalContentIndex.toArtifact(
+                    groupId.replace('.', '/') + "/" + artifactId + "/" + version + "/" + name);
+            if (artifact == null) {
+                continue;
+            }
+            if (classifier != null && !classifier.equals(artifact.getClassifier())) {
+                continue;
+            }
+            if (extension != null && !extension.equals(artifact.getExtension())) {
+                continue;
+            }
+            HashMap<Field, Object> values = new HashMap<>();
+            values.put(MAVEN.GROUP_ID, groupId);
+            values.put(MAVEN.ARTIFACT_ID, artifactId);
+            values.put(MAVEN.VERSION, artifact.getVersion());
+            if (!artifact.getClassifier().isEmpty()) {
+                values.put(MAVEN.CLASSIFIER, artifact.getClassifier());
+            }
+            values.put(MAVEN.FILE_EXTENSION, artifact.getExtension());
+            out.add(new Record(
+                    getBackendId(),
+                    getRepositoryId(),
+                    artifact.toString(),
+                    Files.getLastModifiedTime(directory.resolve(name)).toMillis(),
+                    values));
+        }
+    }
+
+    private Record record(String groupId, String artifactId, String version, Integer versionCount) {
+        HashMap<Field, Object> values = new HashMap<>();
+        values.put(MAVEN.GROUP_ID, groupId);
+        values.put(MAVEN.ARTIFACT_ID, artifactId);
+        values.put(MAVEN.VERSION, version);
+        if (versionCount != null) {
+            values.put(MAVEN.VERSION_COUNT, versionCount);
+        }
+        return new Record(getBackendId(), getRepositoryId(), groupId + ":" + artifactId + ":" + version, null, values);
+    }
+
+    private static void collect(Query query, Map<Field, String> fields, List<String> texts) {
+        if (query instanceof BooleanQuery) {
+            collect(((BooleanQuery) query).getLeft(), fields, texts);
+            collect(((BooleanQuery) query).getRight(), fields, texts);
+        } else if (query instanceof FieldQuery) {
+            fields.put(((FieldQuery) query).getField(), query.getValue());
+        } else if (query != null
+                && query.getValue() != null
+                && !query.getValue().trim().isEmpty()) {
+            texts.add(query.getValue().trim());
+        }
+    }
+
+    private static final class LocalSearchResponse extends SearchResponseSupport {
+        private LocalSearchResponse(SearchRequest searchRequest, int totalHits, List<Record> page) {
+            super(searchRequest, totalHits, page);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package eu.maveniverse.maven.mima.cli;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.Lockfile;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.DependencyResult;
+import picocli.CommandLine;
+
+/**
+ * Lockfile options and support of commands resolving a single GAV, to be used as {@link CommandLine.Mixin}: records
+ * resolution into lockfile, or replays resolution recorded in lockfile, without dependency collection.
+ */
+final class LockfileSupport {
+    @CommandLine.Option(
+            names = {"--lockfile"},
+            description = "Replay resolution recorded in lockfile, without dependency collection")
+    private Path lockfile;
+
+    @CommandLine.Option(
+            names = {"--write-lockfile"},
+            description = "Record resolution into lockfile")
+    private Path writeLockfile;
+
+    /**
+     * Validates lockfile options against each other, and against batch mode.
+     */
+    void validate(boolean batch) {
+        if (batch && (lockfile != null || writeLockfile != null)) {
+            throw new IllegalArgumentException("Lockfile cannot be used in batch mode");
+        }
+        if (lockfile != null && writeLockfile != null) {
+            throw new IllegalArgumentException("--lockfile and --write-lockfile are mutually exclusive");
+        }
+    }
+
+    /**
+     * Returns {@code true} if resolution should be replayed from lockfile.
+     */
+    boolean isReplay() {
+        return lockfile != null;
+    }
+
+    /**
+     * Replays resolution recorded in lockfile, and passes its root and artifacts to given processor. The GAV, if
+     * given, must match the lockfile root.
+     */
+    Integer replay(
+            Context context,
+            RepositorySystemSession session,
+            String gav,
+            BiFunction<String, List<Artifact>, Integer> processor)
+            throws IOException, ArtifactResolutionException {
+        Lockfile locked = Lockfile.read(lockfile);
+        if (gav != null && !new DefaultArtifact(gav).toString().equals(locked.getRoot())) {
+            throw new IllegalArgumentException("Lockfile root " + locked.getRoot() + " does not match GAV " + gav);
+        }
+        return processor.apply(
+                locked.getRoot(), locked.replay(context.repositorySystem(), session, context.remoteRepositories()));
+    }
+
+    /**
+     * Records resolution result into lockfile, if requested.
+     */
+    void mayWrite(DependencyResult dependencyResult) throws IOException {
+        if (writeLockfile != null) {
+            Lockfile.of(dependencyResult).write(writeLockfile);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package eu.maveniverse.maven.mima.cli;
 
 import eu.maveniverse.maven.mima.context.Context;
+import java.util.Arrays;
 import picocli.CommandLine;
 
 /**
@@ -10,6 +11,7 @@ import picocli.CommandLine;
         name = "mima",
         subcommands = {
             Classpath.class,
+            Daemon.class,
             Deploy.class,
             DeployRecorded.class,
             Dump.class,
@@ -18,11 +20,13 @@ import picocli.CommandLine;
             Identify.class,
             Install.class,
             List.class,
+            Prune.class,
             Search.class,
             Record.class,
             Repl.class,
             Resolve.class,
-            Verify.class
+            Verify.class,
+            VerifyLocal.class
         },
         version = "1.0",
         description = "MIMA CLI")
@@ -37,6 +41,16 @@ public class Main extends CommandSupport {
     }
 
     public static void main(String... args) {
+        boolean daemon = args.length > 0 && "--daemon".equals(args[0]);
+        if (daemon) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (daemon || Boolean.parseBoolean(System.getenv("MIMA_DAEMON"))) {
+            Integer exitCode = DaemonClient.execute(args);
+            if (exitCode != null) {
+                System.exit(exitCode);
+            }
+        }
         System.exit(new CommandLine(new Main()).execute(args));
     }
 }
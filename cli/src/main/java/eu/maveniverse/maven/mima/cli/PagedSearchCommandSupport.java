@@ -0,0 +1,144 @@
+package eu.maveniverse.maven.mima.cli;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.search.api.Record;
+import org.apache.maven.search.api.SearchBackend;
+import org.apache.maven.search.api.SearchRequest;
+import org.apache.maven.search.api.SearchResponse;
+import org.apache.maven.search.api.request.Field;
+import org.apache.maven.search.api.request.Paging;
+import picocli.CommandLine;
+
+/**
+ * Support for commands walking (possibly many) pages of search results: it keeps several page requests in flight,
+ * and streams rendered records to output as pages arrive (in page order).
+ */
+public abstract class PagedSearchCommandSupport extends SearchCommandSupport {
+    @CommandLine.Option(
+            names = {"--prefetch"},
+            defaultValue = "4",
+            description = "Count of result page requests kept in flight (default ${DEFAULT-VALUE})")
+    protected int prefetch;
+
+    @CommandLine.Option(
+            names = {"--ndjson"},
+            description = "Print records as JSON lines (one JSON object per record), suitable for piping")
+    protected boolean ndjson;
+
+    /**
+     * Prints informational message, unless in NDJSON mode, where output must contain records only.
+     */
+    protected void header(String message) {
+        if (!ndjson) {
+            info(message);
+        }
+    }
+
+    /**
+     * Prints informational message, unless in NDJSON mode, where output must contain records only.
+     */
+    protected void header(String format, Object arg1) {
+        if (!ndjson) {
+            info(format, arg1);
+        }
+    }
+
+    /**
+     * Executes search request and streams out all the result pages.
+     */
+    protected void streamPages(SearchBackend backend, SearchRequest searchRequest)
+            throws IOException, InterruptedException {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be positive");
+        }
+        SearchResponse searchResponse = backend.search(searchRequest);
+        header("");
+        AtomicInteger counter = new AtomicInteger();
+        print(counter, searchResponse);
+        if (searchResponse.getCurrentHits() == 0) {
+            return;
+        }
+
+        // total hits tells how many pages there are; never request pages past it
+        Paging paging = searchResponse.getSearchRequest().getPaging();
+        int pageSize = paging.getPageSize();
+        int pages = (int) Math.min(Integer.MAX_VALUE, ((long) searchResponse.getTotalHits() + pageSize - 1) / pageSize);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(prefetch, r -> {
+            Thread thread = new Thread(r, "mima-pager-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            ArrayDeque<Future<SearchResponse>> inFlight = new ArrayDeque<>();
+            int next = paging.getPageOffset() + 1;
+            while (true) {
+                while (inFlight.size() < prefetch && next < pages) {
+                    SearchRequest request = new SearchRequest(new Paging(pageSize, next++), searchRequest.getQuery());
+                    inFlight.add(executor.submit(() -> backend.search(request)));
+                }
+                Future<SearchResponse> future = inFlight.poll();
+                if (future == null) {
+                    break;
+                }
+                SearchResponse response = get(future);
+                print(counter, response);
+                if (response.getCurrentHits() == 0) {
+                    // index changed under us; nothing more to fetch
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void print(AtomicInteger counter, SearchResponse searchResponse) {
+        if (ndjson) {
+            for (Record record : searchResponse.getPage()) {
+                info(toJson(record).toString());
+            }
+        } else {
+            renderPage(counter, searchResponse.getPage()).forEach(this::info);
+        }
+    }
+
+    private static JsonLine toJson(Record record) {
+        JsonLine json = new JsonLine();
+        for (Map.Entry<Field, Object> field : record.getFields().entrySet()) {
+            String name = field.getKey().getFieldName();
+            Object value = field.getValue();
+            if (value instanceof Boolean) {
+                json.put(name, (Boolean) value);
+            } else if (value instanceof Number) {
+                json.put(name, ((Number) value).longValue());
+            } else {
+                json.put(name, value == null ? null : String.valueOf(value));
+            }
+        }
+        if (record.getLastUpdated() != null) {
+            json.put("lastUpdated", record.getLastUpdated());
+        }
+        return json;
+    }
+
+    private static SearchResponse get(Future<SearchResponse> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package eu.maveniverse.maven.mima.cli;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.LocalRepositoryPruner;
+import java.time.Instant;
+import java.util.Locale;
+import picocli.CommandLine;
+
+/**
+ * Prune.
+ */
+@CommandLine.Command(
+        name = "prune",
+        description = "Evicts least recently used artifacts from local repository down to size budget")
+public final class Prune extends CommandSupport {
+
+    @CommandLine.Option(
+            names = {"--max-size"},
+            required = true,
+            description = "The size budget of local repository (in bytes, or with K, M, G or T suffix)")
+    private String maxSize;
+
+    @CommandLine.Option(
+            names = {"--dry-run"},
+            description = "Only report what would be evicted")
+    private boolean dryRun;
+
+    @Override
+    public Integer call() {
+        try (Context context = getContext()) {
+            long budget = parseSize(maxSize);
+            info(
+                    "Prune local repository {} to {}{}",
+                    context.repositorySystemSession().getLocalRepository().getBasedir(),
+                    megabytes(budget),
+                    dryRun ? " (dry run)" : "");
+            info("");
+
+            LocalRepositoryPruner.Result result = LocalRepositoryPruner.create(context)
+                    .maxSize(budget)
+                    .dryRun(dryRun)
+                    .listener(e -> info(
+                            "{} {} (last used {})",
+                            dryRun ? "WOULD EVICT" : "EVICTED",
+                            e.getDirectory(),
+                            Instant.ofEpochMilli(e.getLastUsed())))
+                    .build()
+                    .prune();
+
+            info("");
+            info(
+                    "Evicted {} directories: {} -> {}",
+                    result.getEvictions().size(),
+                    megabytes(result.getSizeBefore()),
+                    megabytes(result.getSizeAfter()));
+            if (result.getSkipped() > 0) {
+                info("Skipped {} directories in use", result.getSkipped());
+            }
+            return result.getSizeAfter() <= budget ? 0 : 1;
+        } catch (Exception e) {
+            error("Error", e);
+            return 1;
+        }
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.2f MB", bytes / (1024d * 1024d));
+    }
+
+    private static long parseSize(String size) {
+        String value = size.trim().toUpperCase(Locale.ROOT);
+        long unit = 1;
+        if (value.endsWith("B")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        if (!value.isEmpty() && "KMGT".indexOf(value.charAt(value.length() - 1)) >= 0) {
+            unit = 1L << (10 * ("KMGT".indexOf(value.charAt(value.length() - 1)) + 1));
+            value = value.substring(0, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value.trim()) * unit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package eu.maveniverse.maven.mima.cli;
 
 import eu.maveniverse.maven.mima.context.Context;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 import org.jline.builtins.ConfigurationPath;
 import org.jline.console.SystemRegistry;
 import org.jline.console.impl.Builtins;
@@ -16,6 +19,7 @@ import org.jline.reader.Parser;
 import org.jline.reader.Reference;
 import org.jline.reader.UserInterruptException;
 import org.jline.reader.impl.DefaultParser;
+import org.jline.reader.impl.completer.AggregateCompleter;
 import org.jline.reader.impl.history.DefaultHistory;
 import org.jline.terminal.Terminal;
 import org.jline.terminal.TerminalBuilder;
@@ -45,6 +49,25 @@ public class Repl extends CommandSupport {
 
         Parser parser = new DefaultParser();
 
+        // GAV completion from local repository; index is brought up to date in background
+        Path localRepository = context.repositorySystemSession()
+                .getLocalRepository()
+                .getBasedir()
+                .toPath();
+        Path indexFile =
+                LocalCoordinateIndex.defaultIndexFile(context.mavenUserHome().basedir(), localRepository);
+        CompletableFuture<LocalCoordinateIndex> gavIndex = CompletableFuture.supplyAsync(() -> {
+            LocalCoordinateIndex index = new LocalCoordinateIndex(localRepository, indexFile);
+            try {
+                index.update();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return index;
+        });
+        GavCompleter gavCompleter =
+                new GavCompleter(() -> gavIndex.isCompletedExceptionally() ? null : gavIndex.getNow(null));
+
         try (Terminal terminal = TerminalBuilder.builder().name("mima").build()) {
             SystemRegistry systemRegistry = new SystemRegistryImpl(parser, terminal, context::basedir, configPath);
             systemRegistry.setCommandRegistries(builtins, picocliCommands);
@@ -53,7 +76,7 @@ public class Repl extends CommandSupport {
             LineReader reader = LineReaderBuilder.builder()
                     .terminal(terminal)
                     .history(new DefaultHistory())
-                    .completer(systemRegistry.completer())
+                    .completer(new AggregateCompleter(systemRegistry.completer(), gavCompleter))
                     .parser(parser)
                     .variable(LineReader.LIST_MAX, 50) // max tab completion candidates
                     .variable(LineReader.HISTORY_FILE, history)
@@ -1,14 +1,18 @@
 package eu.maveniverse.maven.mima.cli;
 
+import eu.maveniverse.maven.mima.context.CollectResultCache;
 import eu.maveniverse.maven.mima.context.Context;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactRequest;
@@ -25,9 +29,9 @@ import picocli.CommandLine;
  * Resolve.
  */
 @CommandLine.Command(name = "resolve", description = "Resolves Maven Artifacts")
-public final class Resolve extends ResolverCommandSupport {
+public final class Resolve extends BatchCommandSupport {
 
-    @CommandLine.Parameters(index = "0", description = "The GAV to resolve")
+    @CommandLine.Parameters(index = "0", arity = "0..1", description = "The GAV to resolve")
     private String gav;
 
     @CommandLine.Option(
@@ -46,11 +50,69 @@ public final class Resolve extends ResolverCommandSupport {
             description = "Scope to resolve")
     private String scope;
 
+    @CommandLine.Mixin
+    private LockfileSupport lockfileSupport;
+
+    @Override
+    protected String gav() {
+        return gav;
+    }
+
+    @Override
+    protected Integer doCall(Context context) throws Exception {
+        lockfileSupport.validate(batch != null);
+        if (lockfileSupport.isReplay()) {
+            return lockfileSupport.replay(context, getRepositorySystemSession(), gav, this::doReplay);
+        }
+        return super.doCall(context);
+    }
+
     @Override
-    protected Integer doCall(Context context) throws DependencyResolutionException {
+    protected Integer doSingle(Context context, String gav)
+            throws DependencyCollectionException, DependencyResolutionException, IOException {
         info("Resolving {}", gav);
+        print(resolve(context, getRepositorySystemSession(), getCollectResultCache(context), gav));
+        return 0;
+    }
+
+    private Integer doReplay(String root, List<Artifact> artifacts) {
+        info("Resolving {} (locked)", root);
+        print(artifacts);
+        return 0;
+    }
+
+    private void print(List<Artifact> artifacts) {
+        info("");
+        if (verbose) {
+            for (Artifact artifact : artifacts) {
+                info("{} -> {}", artifact, artifact.getFile());
+            }
+        } else {
+            info("Resolved {} artifacts", artifacts.size());
+        }
+    }
+
+    @Override
+    protected void doBatchEntry(
+            Context context,
+            RepositorySystemSession session,
+            CollectResultCache collectResultCache,
+            String gav,
+            JsonLine result)
+            throws DependencyCollectionException, DependencyResolutionException, IOException {
+        ArrayList<JsonLine> resolved = new ArrayList<>();
+        for (Artifact artifact : resolve(context, session, collectResultCache, gav)) {
+            resolved.add(new JsonLine()
+                    .put("artifact", artifact.toString())
+                    .put("file", artifact.getFile() != null ? artifact.getFile().toString() : null));
+        }
+        result.put("artifacts", resolved);
+    }
 
-        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(getRepositorySystemSession());
+    private List<Artifact> resolve(
+            Context context, RepositorySystemSession parent, CollectResultCache collectResultCache, String gav)
+            throws DependencyCollectionException, DependencyResolutionException, IOException {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(parent);
         ArtifactRecorder recorder = new ArtifactRecorder();
         session.setRepositoryListener(
                 session.getRepositoryListener() != null
@@ -60,10 +122,12 @@ public final class Resolve extends ResolverCommandSupport {
         CollectRequest collectRequest = new CollectRequest();
         collectRequest.setRoot(new Dependency(new DefaultArtifact(gav), JavaScopes.COMPILE));
         collectRequest.setRepositories(context.remoteRepositories());
-        DependencyRequest dependencyRequest =
-                new DependencyRequest(collectRequest, DependencyFilterUtils.classpathFilter(scope));
+        DependencyRequest dependencyRequest = new DependencyRequest(
+                collectDependencies(context, collectResultCache, session, collectRequest)
+                        .getRoot(),
+                DependencyFilterUtils.classpathFilter(scope));
 
-        context.repositorySystem().resolveDependencies(session, dependencyRequest);
+        lockfileSupport.mayWrite(context.repositorySystem().resolveDependencies(session, dependencyRequest));
 
         ArrayList<ArtifactRequest> artifactRequests = new ArrayList<>();
         for (Map.Entry<RemoteRepository, ArrayList<Artifact>> entry :
@@ -89,14 +153,6 @@ public final class Resolve extends ResolverCommandSupport {
             // log
         }
 
-        info("");
-        if (verbose) {
-            for (Artifact artifact : recorder.getAllArtifacts()) {
-                info("{} -> {}", artifact, artifact.getFile());
-            }
-        } else {
-            info("Resolved {} artifacts", recorder.getAllArtifacts().size());
-        }
-        return 0;
+        return recorder.getAllArtifacts();
     }
 }
@@ -1,19 +1,64 @@
 package eu.maveniverse.maven.mima.cli;
 
+import eu.maveniverse.maven.mima.context.CollectResultCache;
 import eu.maveniverse.maven.mima.context.Context;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.repository.RemoteRepository;
+import picocli.CommandLine;
 
 /**
  * Support.
  */
 public abstract class ResolverCommandSupport extends CommandSupport {
 
+    @CommandLine.Option(
+            names = {"--collect-cache"},
+            description = "Cache collected (release) dependency graphs in Maven User Home")
+    protected boolean collectCache;
+
     protected RepositorySystemSession getRepositorySystemSession() {
         return (RepositorySystemSession) getOrCreate(
                 RepositorySystemSession.class.getName(), () -> getContext().repositorySystemSession());
     }
 
+    /**
+     * Returns the {@link CollectResultCache} if enabled, otherwise {@code null}.
+     */
+    protected CollectResultCache getCollectResultCache(Context context) {
+        return collectCache
+                ? (CollectResultCache)
+                        getOrCreate(CollectResultCache.class.getName(), () -> CollectResultCache.of(context))
+                : null;
+    }
+
+    /**
+     * Collects dependencies, using {@link CollectResultCache} if enabled.
+     */
+    protected CollectResult collectDependencies(
+            Context context, RepositorySystemSession session, CollectRequest collectRequest)
+            throws DependencyCollectionException {
+        return collectDependencies(context, getCollectResultCache(context), session, collectRequest);
+    }
+
+    /**
+     * Collects dependencies, using passed in cache if not {@code null}. Does not touch execution context, hence may
+     * be invoked concurrently.
+     */
+    protected static CollectResult collectDependencies(
+            Context context,
+            CollectResultCache collectResultCache,
+            RepositorySystemSession session,
+            CollectRequest collectRequest)
+            throws DependencyCollectionException {
+        if (collectResultCache != null) {
+            return collectResultCache.collectDependencies(context.repositorySystem(), session, collectRequest);
+        }
+        return context.repositorySystem().collectDependencies(session, collectRequest);
+    }
+
     protected RemoteRepository buildRemoteRepositoryFromSpec(String remoteRepositorySpec) {
         String[] parts = remoteRepositorySpec.split("::");
         if (parts.length == 1) {
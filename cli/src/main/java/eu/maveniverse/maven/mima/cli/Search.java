@@ -3,10 +3,8 @@ package eu.maveniverse.maven.mima.cli;
 import static org.apache.maven.search.api.request.Query.query;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.search.api.SearchBackend;
 import org.apache.maven.search.api.SearchRequest;
-import org.apache.maven.search.api.SearchResponse;
 import org.apache.maven.search.api.request.Query;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import picocli.CommandLine;
@@ -15,16 +13,24 @@ import picocli.CommandLine;
  * Search.
  */
 @CommandLine.Command(name = "search", description = "Searches Maven Artifacts")
-public final class Search extends SearchCommandSupport {
+public final class Search extends PagedSearchCommandSupport {
 
     @CommandLine.Parameters(index = "0", description = "The expression to search for")
     private String expression;
 
+    @CommandLine.Option(
+            names = {"--local"},
+            description =
+                    "Query coordinate index of local repository instead of remote service (implied when" + " offline)")
+    private boolean local;
+
     @Override
-    protected Integer doCall() throws IOException {
-        info("Search {}", expression);
+    protected Integer doCall() throws IOException, InterruptedException {
+        header("Search {}", expression);
 
-        try (SearchBackend backend = getSmoBackend(repositoryId)) {
+        try (SearchBackend backend = local || getContextOverrides().isOffline()
+                ? getLocalBackend(repositoryId)
+                : getSmoBackend(repositoryId)) {
             Query query;
             try {
                 query = toSmoQuery(new DefaultArtifact(expression));
@@ -32,15 +38,7 @@ public final class Search extends SearchCommandSupport {
                 query = query(expression);
             }
             SearchRequest searchRequest = new SearchRequest(query);
-            SearchResponse searchResponse = backend.search(searchRequest);
-            info("");
-            AtomicInteger counter = new AtomicInteger();
-            renderPage(counter, searchResponse.getPage()).forEach(this::info);
-            while (searchResponse.getCurrentHits() > 0) {
-                searchResponse =
-                        backend.search(searchResponse.getSearchRequest().nextPage());
-                renderPage(counter, searchResponse.getPage()).forEach(this::info);
-            }
+            streamPages(backend, searchRequest);
         }
         return 0;
     }
@@ -3,9 +3,23 @@ package eu.maveniverse.maven.mima.cli;
 import static org.apache.maven.search.api.request.BooleanQuery.and;
 import static org.apache.maven.search.api.request.FieldQuery.fieldQuery;
 
+import eu.maveniverse.maven.mima.context.Context;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.maven.search.api.MAVEN;
 import org.apache.maven.search.api.Record;
@@ -18,7 +32,13 @@ import org.apache.maven.search.backend.remoterepository.ResponseExtractor;
 import org.apache.maven.search.backend.remoterepository.extractor.MavenCentralResponseExtractor;
 import org.apache.maven.search.backend.remoterepository.extractor.Nx2ResponseExtractor;
 import org.apache.maven.search.backend.smo.SmoSearchBackendFactory;
+import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.AuthenticationContext;
+import org.eclipse.aether.repository.Proxy;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.ConfigUtils;
 import picocli.CommandLine;
 
 /**
@@ -43,11 +63,58 @@ public abstract class SearchCommandSupport extends CommandSupport {
             description = "The targeted repository vendor")
     protected String repositoryVendor;
 
+    @CommandLine.Option(
+            names = {"--http-cache-ttl"},
+            defaultValue = "60",
+            description = "Minutes for which cached search responses are used without revalidation (default"
+                    + " ${DEFAULT-VALUE})")
+    protected int httpCacheTtl;
+
+    @CommandLine.Option(
+            names = {"--no-http-cache"},
+            description = "Do not use persistent cache of search responses")
+    protected boolean noHttpCache;
+
+    /**
+     * The size cap of persistent search response cache.
+     */
+    private static final long HTTP_CACHE_MAX_SIZE = 64L * 1024 * 1024;
+
     protected Transport getTransport() {
-        return (Transport) getOrCreate(Transport.class.getName(), Java11HttpClientTransport::new);
+        return getTransport(true);
+    }
+
+    /**
+     * Returns transport, that uses persistent response cache if {@code cached} and cache is not disabled. Existence
+     * checks should not use cache, as a stale listing would miss just deployed artifacts.
+     */
+    protected Transport getTransport(boolean cached) {
+        boolean useCache = cached && !noHttpCache;
+        return (Transport) getOrCreate(Transport.class.getName() + (useCache ? "" : "-uncached"), () -> {
+            Transport transport = new Java11HttpClientTransport();
+            if (!useCache) {
+                return transport;
+            }
+            if (httpCacheTtl < 0) {
+                throw new IllegalArgumentException("HTTP cache TTL must not be negative");
+            }
+            return new CachingTransport(
+                    transport,
+                    CachingTransport.defaultDirectory(getMavenUserHome()),
+                    Duration.ofMinutes(httpCacheTtl),
+                    HTTP_CACHE_MAX_SIZE);
+        });
     }
 
     protected SearchBackend getRemoteRepositoryBackend(String repositoryId, String baseUri, String vendor) {
+        return getRemoteRepositoryBackend(repositoryId, baseUri, vendor, true);
+    }
+
+    /**
+     * Remote repository backend, using persistent response cache if {@code cached}, see {@link #getTransport(boolean)}.
+     */
+    protected SearchBackend getRemoteRepositoryBackend(
+            String repositoryId, String baseUri, String vendor, boolean cached) {
         final ResponseExtractor extractor;
         if ("central".equals(vendor)) {
             extractor = new MavenCentralResponseExtractor();
@@ -57,9 +124,99 @@ public abstract class SearchCommandSupport extends CommandSupport {
             throw new IllegalArgumentException("Unknown remote vendor");
         }
         return (SearchBackend) getOrCreate(
-                SearchBackend.class.getName() + "-" + repositoryId,
+                SearchBackend.class.getName() + "-" + repositoryId + (cached ? "" : "-uncached"),
                 () -> RemoteRepositorySearchBackendFactory.create(
-                        repositoryId + "-rr", repositoryId, baseUri, getTransport(), extractor));
+                        repositoryId + "-rr", repositoryId, baseUri, getTransport(cached), extractor));
+    }
+
+    /**
+     * Lightweight existence backend issuing plain HTTP requests against repository, using proxy and authentication
+     * of context (as configured in settings for given repository ID).
+     */
+    protected HttpExistenceBackend getHttpExistenceBackend(String repositoryId, String baseUri) {
+        return (HttpExistenceBackend) getOrCreate(HttpExistenceBackend.class.getName() + "-" + repositoryId, () -> {
+            Context context = getContext();
+            RepositorySystemSession session = context.repositorySystemSession();
+            RemoteRepository repository = new RemoteRepository.Builder(repositoryId, "default", baseUri).build();
+            repository = new RemoteRepository.Builder(repository)
+                    .setProxy(session.getProxySelector().getProxy(repository))
+                    .setAuthentication(session.getAuthenticationSelector().getAuthentication(repository))
+                    .build();
+
+            HashMap<String, String> headers = new HashMap<>();
+            Map<?, ?> httpHeaders = ConfigUtils.getMap(
+                    session,
+                    null,
+                    ConfigurationProperties.HTTP_HEADERS + "." + repository.getId(),
+                    ConfigurationProperties.HTTP_HEADERS);
+            if (httpHeaders != null) {
+                httpHeaders.forEach((k, v) -> headers.put(String.valueOf(k), String.valueOf(v)));
+            }
+            HttpClient.Builder client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .followRedirects(HttpClient.Redirect.NORMAL);
+            try (AuthenticationContext repoAuth = AuthenticationContext.forRepository(session, repository)) {
+                if (repoAuth != null) {
+                    String username = repoAuth.get(AuthenticationContext.USERNAME);
+                    if (username != null) {
+                        String password = repoAuth.get(AuthenticationContext.PASSWORD);
+                        headers.put(
+                                "Authorization",
+                                "Basic "
+                                        + Base64.getEncoder()
+                                                .encodeToString((username + ":" + (password == null ? "" : password))
+                                                        .getBytes(StandardCharsets.UTF_8)));
+                    }
+                }
+            }
+            Proxy proxy = repository.getProxy();
+            if (proxy != null) {
+                client.proxy(ProxySelector.of(new InetSocketAddress(proxy.getHost(), proxy.getPort())));
+                try (AuthenticationContext proxyAuth = AuthenticationContext.forProxy(session, repository)) {
+                    String username = proxyAuth != null ? proxyAuth.get(AuthenticationContext.USERNAME) : null;
+                    if (username != null) {
+                        String password = proxyAuth.get(AuthenticationContext.PASSWORD);
+                        PasswordAuthentication credentials = new PasswordAuthentication(
+                                username, password == null ? new char[0] : password.toCharArray());
+                        client.authenticator(new Authenticator() {
+                            @Override
+                            protected PasswordAuthentication getPasswordAuthentication() {
+                                return getRequestorType() == RequestorType.PROXY ? credentials : null;
+                            }
+                        });
+                    }
+                }
+            }
+            return new HttpExistenceBackend(
+                    baseUri, new Java11HttpClientTransport(Duration.ofSeconds(10), client.build()), headers);
+        });
+    }
+
+    /**
+     * Offline backend over coordinate index of local repository (of context), brought up to date first.
+     */
+    protected SearchBackend getLocalBackend(String repositoryId) {
+        return new LocalSearchBackend(repositoryId + "-local", repositoryId, getLocalCoordinateIndex());
+    }
+
+    protected LocalCoordinateIndex getLocalCoordinateIndex() {
+        return (LocalCoordinateIndex) getOrCreate(LocalCoordinateIndex.class.getName(), () -> {
+            Context context = getContext();
+            Path localRepository = context.repositorySystemSession()
+                    .getLocalRepository()
+                    .getBasedir()
+                    .toPath();
+            LocalCoordinateIndex index = new LocalCoordinateIndex(
+                    localRepository,
+                    LocalCoordinateIndex.defaultIndexFile(
+                            context.mavenUserHome().basedir(), localRepository));
+            try {
+                index.update();
+                return index;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     protected SearchBackend getSmoBackend(String repositoryId) {
@@ -25,17 +25,30 @@ public final class Verify extends SearchCommandSupport {
     @CommandLine.Parameters(index = "1", description = "The known SHA-1 of GAV")
     private String sha1;
 
+    @CommandLine.Option(
+            names = {"--search-backend"},
+            description = "Use remote repository search backend (parsing directory listings) instead of plain HTTP"
+                    + " requests")
+    private boolean searchBackend;
+
     @Override
     protected Integer doCall() throws IOException {
         info("Verify {}", gav);
 
-        try (SearchBackend backend = getRemoteRepositoryBackend(repositoryId, repositoryBaseUri, repositoryVendor)) {
-            Artifact artifact = new DefaultArtifact(gav);
-            boolean verified = verify(backend, new DefaultArtifact(gav), sha1);
-            info("");
-            info("Artifact SHA1({})={}: {}", artifact, sha1, verified ? "MATCHED" : "NOT MATCHED");
-            return verified ? 0 : 1;
+        Artifact artifact = new DefaultArtifact(gav);
+        boolean verified;
+        if (searchBackend) {
+            try (SearchBackend backend =
+                    getRemoteRepositoryBackend(repositoryId, repositoryBaseUri, repositoryVendor, false)) {
+                verified = verify(backend, artifact, sha1);
+            }
+        } else {
+            verified = sha1.equalsIgnoreCase(
+                    getHttpExistenceBackend(repositoryId, repositoryBaseUri).sha1(artifact));
         }
+        info("");
+        info("Artifact SHA1({})={}: {}", artifact, sha1, verified ? "MATCHED" : "NOT MATCHED");
+        return verified ? 0 : 1;
     }
 
     private boolean verify(SearchBackend backend, Artifact artifact, String sha1) throws IOException {
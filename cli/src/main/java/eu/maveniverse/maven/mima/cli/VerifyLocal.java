@@ -0,0 +1,71 @@
+package eu.maveniverse.maven.mima.cli;
+
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.LocalRepositoryVerifier;
+import java.nio.file.Path;
+import java.util.Locale;
+import picocli.CommandLine;
+
+/**
+ * Verify local repository.
+ */
+@CommandLine.Command(
+        name = "verify-local",
+        description = "Verifies integrity of local repository files against their checksum files")
+public final class VerifyLocal extends CommandSupport {
+
+    @CommandLine.Option(
+            names = {"--threads"},
+            description = "Count of files verified concurrently (defaults to count of available processors)")
+    private Integer threads;
+
+    @CommandLine.Option(
+            names = {"--quarantine"},
+            description = "Directory to move mismatching files (and their checksum files) into")
+    private Path quarantine;
+
+    @Override
+    public Integer call() {
+        try (Context context = getContext()) {
+            Path localRepository = context.repositorySystemSession()
+                    .getLocalRepository()
+                    .getBasedir()
+                    .toPath();
+            info("Verify local repository {}", localRepository);
+            info("");
+
+            LocalRepositoryVerifier.Builder builder = LocalRepositoryVerifier.create(localRepository)
+                    .quarantine(quarantine)
+                    .listener(m -> info("MISMATCH {}{}", m, quarantineOutcome(m)));
+            if (threads != null) {
+                builder.parallelism(threads);
+            }
+            long start = System.nanoTime();
+            LocalRepositoryVerifier.Result result = builder.build().verify();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+
+            info("");
+            info(String.format(
+                    Locale.ROOT,
+                    "Verified %d files (%.1f MB) in %.1f s: %d mismatches, %d files without checksum",
+                    result.getVerifiedFiles(),
+                    result.getVerifiedBytes() / (1024d * 1024d),
+                    seconds,
+                    result.getMismatches().size(),
+                    result.getUnverifiableFiles()));
+            return result.getMismatches().isEmpty() ? 0 : 1;
+        } catch (Exception e) {
+            error("Error", e);
+            return 1;
+        }
+    }
+
+    private static String quarantineOutcome(LocalRepositoryVerifier.Mismatch mismatch) {
+        if (mismatch.getQuarantined() != null) {
+            return " (quarantined to " + mismatch.getQuarantined() + ")";
+        } else if (mismatch.getQuarantineFailure() != null) {
+            return " (quarantine failed: " + mismatch.getQuarantineFailure() + ")";
+        }
+        return "";
+    }
+}
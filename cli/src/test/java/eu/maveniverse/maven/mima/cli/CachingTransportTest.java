@@ -0,0 +1,131 @@
+package eu.maveniverse.maven.mima.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.search.api.transport.Transport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CachingTransportTest {
+    private static final long MAX_SIZE = 1024L * 1024;
+
+    @TempDir
+    Path directory;
+
+    private static final class FakeTransport implements Transport {
+        private final HashMap<String, Response> responses = new HashMap<>();
+
+        private final ArrayList<Map<String, String>> requests = new ArrayList<>();
+
+        private FakeTransport respond(String uri, Response response) {
+            responses.put(uri, response);
+            return this;
+        }
+
+        @Override
+        public Response get(String serviceUri, Map<String, String> headers) {
+            requests.add(new HashMap<>(headers));
+            return responses.get(serviceUri);
+        }
+
+        @Override
+        public Response head(String serviceUri, Map<String, String> headers) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static Transport.Response response(int code, Map<String, String> headers, String body) {
+        return new Transport.Response() {
+            @Override
+            public int getCode() {
+                return code;
+            }
+
+            @Override
+            public Map<String, String> getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    private static String body(Transport transport, String uri) throws IOException {
+        try (Transport.Response response = transport.get(uri, Collections.emptyMap());
+                InputStream in = response.getBody()) {
+            assertEquals(200, response.getCode());
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void freshEntryServedWithoutDelegate() throws IOException {
+        FakeTransport delegate = new FakeTransport().respond("a", response(200, Collections.emptyMap(), "A"));
+        CachingTransport transport = new CachingTransport(delegate, directory, Duration.ofHours(1), MAX_SIZE);
+
+        assertEquals("A", body(transport, "a"));
+        assertEquals("A", body(transport, "a"));
+        assertEquals(1, delegate.requests.size());
+    }
+
+    @Test
+    void staleEntryRevalidated() throws IOException {
+        FakeTransport delegate =
+                new FakeTransport().respond("a", response(200, Collections.singletonMap("ETag", "\"v1\""), "A"));
+        CachingTransport transport = new CachingTransport(delegate, directory, Duration.ZERO, MAX_SIZE);
+
+        assertEquals("A", body(transport, "a"));
+        assertNull(delegate.requests.get(0).get("If-None-Match"));
+
+        delegate.respond("a", response(304, Collections.emptyMap(), ""));
+        assertEquals("A", body(transport, "a"));
+        assertEquals("\"v1\"", delegate.requests.get(1).get("If-None-Match"));
+
+        delegate.respond("a", response(200, Collections.singletonMap("ETag", "\"v2\""), "B"));
+        assertEquals("B", body(transport, "a"));
+        delegate.respond("a", response(304, Collections.emptyMap(), ""));
+        assertEquals("B", body(transport, "a"));
+        assertEquals("\"v2\"", delegate.requests.get(3).get("If-None-Match"));
+    }
+
+    @Test
+    void leastRecentlyUsedEvicted() throws Exception {
+        String large = String.join("", Collections.nCopies(1000, "x"));
+        FakeTransport delegate = new FakeTransport()
+                .respond("a", response(200, Collections.emptyMap(), large))
+                .respond("b", response(200, Collections.emptyMap(), large))
+                .respond("c", response(200, Collections.emptyMap(), large));
+        // room for two entries (body and metadata) only
+        CachingTransport transport = new CachingTransport(delegate, directory, Duration.ofHours(1), 2800);
+
+        List<String> order = List.of("a", "b", "a", "c");
+        for (String uri : order) {
+            body(transport, uri);
+            Thread.sleep(20);
+        }
+        assertEquals(3, delegate.requests.size());
+
+        body(transport, "a");
+        assertEquals(3, delegate.requests.size());
+        body(transport, "b");
+        assertEquals(4, delegate.requests.size());
+    }
+}
@@ -0,0 +1,473 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import eu.maveniverse.maven.mima.context.internal.DependencyGraphCodec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyCycle;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Persistent cache of dependency collection results. Cached are only results of "release graphs": results with
+ * exceptions, or graphs containing snapshots or version ranges are never stored, and requests having snapshot or
+ * ranged (or {@code LATEST}/{@code RELEASE}) direct dependencies bypass the cache. A cache hit does not read any POM.
+ * <p>
+ * Cache entries are keyed by (SHA-1 of) the collect request (root, dependencies, managed dependencies, effective
+ * remote repositories), the session dependency selector, manager, traverser, graph transformer, version filter and
+ * artifact descriptor policy, the {@code aether.*} configuration properties, user properties and the Java version and
+ * OS system properties (as they drive POM profile activation). Session components are keyed by their class names and
+ * configuration (read from their fields, but never their hash codes), and only components known to have stable
+ * configuration are supported: the ones of Maven Resolver Utilities ({@code org.eclipse.aether.util.graph} and
+ * {@code org.eclipse.aether.util.repository} packages). A request collected with any other session component (like a
+ * lambda or a custom selector) is a cache miss, and its result is not stored.
+ * <p>
+ * To use cached graph for resolution, pass its root node to {@link org.eclipse.aether.resolution.DependencyRequest}
+ * instead of collect request. The cache may be removed (entirely or partially) at any time, when no process uses it.
+ *
+ * @since 2.4.5
+ */
+public final class CollectResultCache {
+    private static final int KEY_FORMAT = 3;
+
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Names (lower-cased) of fields caching hash codes, skipped when describing session components.
+     */
+    private static final Set<String> HASH_FIELDS =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("hash", "hashcode")));
+
+    /**
+     * Packages of session components known to be fully described by their class name and fields.
+     */
+    private static final List<String> KNOWN_COMPONENT_PACKAGES = Collections.unmodifiableList(
+            Arrays.asList("org.eclipse.aether.util.graph.", "org.eclipse.aether.util.repository."));
+
+    private static final List<String> SYSTEM_PROPERTIES =
+            Collections.unmodifiableList(Arrays.asList("java.version", "os.name", "os.arch", "os.version"));
+
+    private final Path directory;
+
+    private final DependencyGraphCodec codec;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public CollectResultCache(Path directory) {
+        this.directory = requireNonNull(directory);
+        this.codec = new DependencyGraphCodec();
+    }
+
+    /**
+     * Creates cache residing in Maven User Home of given context.
+     */
+    public static CollectResultCache of(Context context) {
+        return new CollectResultCache(
+                context.mavenUserHome().basedir().resolve(".mima").resolve("collect"));
+    }
+
+    /**
+     * Collects dependencies as {@link RepositorySystem#collectDependencies(RepositorySystemSession, CollectRequest)}
+     * would do, but serving results from cache when possible.
+     */
+    public CollectResult collectDependencies(
+            RepositorySystem repositorySystem, RepositorySystemSession session, CollectRequest request)
+            throws DependencyCollectionException {
+        requireNonNull(repositorySystem);
+        requireNonNull(session);
+        requireNonNull(request);
+        if (!isCacheable(request)) {
+            return repositorySystem.collectDependencies(session, request);
+        }
+        String key = key(session, request);
+        if (key == null) {
+            misses.increment();
+            return repositorySystem.collectDependencies(session, request);
+        }
+        Path entry = directory.resolve(key + ".bin");
+        CollectResult result = load(repositorySystem, session, request, entry);
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = repositorySystem.collectDependencies(session, request);
+        if (result.getExceptions().isEmpty()) {
+            store(result, entry);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the count of cache hits.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the count of cache misses (of cacheable requests), including requests collected with unknown session
+     * components.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private CollectResult load(
+            RepositorySystem repositorySystem, RepositorySystemSession session, CollectRequest request, Path entry) {
+        HashMap<String, RemoteRepository> requestRepositories = new HashMap<>();
+        for (RemoteRepository repository : request.getRepositories()) {
+            requestRepositories.put(repository.getId() + " " + repository.getUrl(), repository);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            ArrayList<DependencyCycle> cycles = new ArrayList<>();
+            DependencyNode root = codec.decode(
+                    in,
+                    repository -> {
+                        RemoteRepository known =
+                                requestRepositories.get(repository.getId() + " " + repository.getUrl());
+                        if (known != null) {
+                            return known;
+                        }
+                        // apply mirrors, proxies and authentication of the session
+                        return repositorySystem
+                                .newResolutionRepositories(session, Collections.singletonList(repository))
+                                .get(0);
+                    },
+                    cycles);
+            CollectResult result = new CollectResult(request);
+            result.setRoot(root);
+            cycles.forEach(result::addCycle);
+            return result;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // corrupt or unusable entry: drop it
+            try {
+                Files.deleteIfExists(entry);
+            } catch (IOException ignore) {
+                // ignore
+            }
+            return null;
+        }
+    }
+
+    private void store(CollectResult result, Path entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.encode(result.getRoot(), result.getCycles(), out);
+        } catch (DependencyGraphCodec.NotEncodableException | IOException e) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                    bytes.writeTo(os);
+                }
+                Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            // best effort
+        }
+    }
+
+    private static boolean isCacheable(CollectRequest request) {
+        if (request.getRoot() != null && !isCacheable(request.getRoot().getArtifact())) {
+            return false;
+        }
+        if (request.getRootArtifact() != null && !isCacheable(request.getRootArtifact())) {
+            return false;
+        }
+        for (Dependency dependency : request.getDependencies()) {
+            if (!isCacheable(dependency.getArtifact())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCacheable(Artifact artifact) {
+        String version = artifact.getVersion();
+        return !artifact.isSnapshot()
+                && !version.startsWith("[")
+                && !version.startsWith("(")
+                && !"LATEST".equals(version)
+                && !"RELEASE".equals(version);
+    }
+
+    /**
+     * Returns the key of given request, or {@code null} if session has unknown components.
+     */
+    static String key(RepositorySystemSession session, CollectRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            KeyWriter key = new KeyWriter(digest);
+            key.write(KEY_FORMAT);
+            key.dependency(request.getRoot());
+            key.artifact(request.getRootArtifact());
+            key.write(request.getDependencies().size());
+            request.getDependencies().forEach(key::dependency);
+            key.write(request.getManagedDependencies().size());
+            request.getManagedDependencies().forEach(key::dependency);
+            key.write(request.getRequestContext());
+            key.repositories(request.getRepositories());
+
+            key.component(session.getDependencySelector());
+            key.component(session.getDependencyManager());
+            key.component(session.getDependencyTraverser());
+            key.component(session.getDependencyGraphTransformer());
+            key.component(session.getVersionFilter());
+            key.component(session.getArtifactDescriptorPolicy());
+            key.write(String.valueOf(session.isIgnoreArtifactDescriptorRepositories()));
+
+            TreeMap<String, String> config = new TreeMap<>();
+            session.getConfigProperties().forEach((k, v) -> {
+                // thread counts do not alter the collected graph
+                if (k.startsWith("aether.") && !k.endsWith(".threads")) {
+                    config.put(k, String.valueOf(v));
+                }
+            });
+            key.map(config);
+            key.map(new TreeMap<>(session.getUserProperties()));
+            TreeMap<String, String> system = new TreeMap<>();
+            for (String name : SYSTEM_PROPERTIES) {
+                system.put(name, session.getSystemProperties().get(name));
+            }
+            key.map(system);
+
+            return ChecksumUtils.toHexString(digest.digest());
+        } catch (UnknownComponentException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Thrown when a session component cannot be reliably described.
+     */
+    private static final class UnknownComponentException extends Exception {
+        private UnknownComponentException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class KeyWriter {
+        private final MessageDigest digest;
+
+        private KeyWriter(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        private void write(int value) {
+            write(Integer.toString(value));
+        }
+
+        private void write(String value) {
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+        }
+
+        private void artifact(Artifact artifact) {
+            if (artifact == null) {
+                write(null);
+                return;
+            }
+            write(artifact.toString());
+            map(new TreeMap<>(artifact.getProperties()));
+        }
+
+        private void dependency(Dependency dependency) {
+            if (dependency == null) {
+                write(null);
+                return;
+            }
+            artifact(dependency.getArtifact());
+            write(dependency.getScope());
+            write(String.valueOf(dependency.getOptional()));
+            Collection<Exclusion> exclusions = dependency.getExclusions();
+            write(exclusions.size());
+            for (Exclusion exclusion : exclusions) {
+                write(exclusion.toString());
+            }
+        }
+
+        private void repositories(List<RemoteRepository> repositories) {
+            write(repositories.size());
+            for (RemoteRepository repository : repositories) {
+                write(repository.getId());
+                write(repository.getContentType());
+                write(repository.getUrl());
+                policy(repository.getPolicy(false));
+                policy(repository.getPolicy(true));
+                write(String.valueOf(repository.isRepositoryManager()));
+                write(String.valueOf(repository.isBlocked()));
+                repositories(repository.getMirroredRepositories());
+            }
+        }
+
+        private void policy(RepositoryPolicy policy) {
+            write(String.valueOf(policy.isEnabled()));
+            write(policy.getUpdatePolicy());
+            write(policy.getChecksumPolicy());
+        }
+
+        private void component(Object component) throws UnknownComponentException {
+            write(describe(component, 0, new IdentityHashMap<>()));
+        }
+
+        /**
+         * Describes a session component by its class name and configuration (its fields, recursively), but never by
+         * hash codes: resolver components mostly hash by (identity) class hash, that differs across JVM runs. Fails
+         * for values of unknown types, as their class names may be unstable (lambdas) or hide their configuration.
+         */
+        private static String describe(Object value, int depth, IdentityHashMap<Object, Boolean> seen)
+                throws UnknownComponentException {
+            if (value == null) {
+                return "null";
+            }
+            Class<?> type = value.getClass();
+            if (value instanceof CharSequence
+                    || value instanceof Number
+                    || value instanceof Boolean
+                    || value instanceof Character
+                    || value instanceof Enum
+                    || value instanceof Artifact
+                    || value instanceof Exclusion) {
+                return value.toString();
+            }
+            if (depth > MAX_DEPTH || seen.put(value, Boolean.TRUE) != null) {
+                throw new UnknownComponentException("Too deep or cyclic: " + type.getName());
+            }
+            try {
+                if (type.isArray()) {
+                    ArrayList<String> elements = new ArrayList<>();
+                    for (int i = 0; i < Array.getLength(value); i++) {
+                        elements.add(describe(Array.get(value, i), depth + 1, seen));
+                    }
+                    return elements.toString();
+                }
+                if (value instanceof Collection) {
+                    ArrayList<String> elements = new ArrayList<>();
+                    for (Object element : (Collection<?>) value) {
+                        elements.add(describe(element, depth + 1, seen));
+                    }
+                    if (!(value instanceof List)) {
+                        // iteration order of hash based sets may depend on hash codes
+                        Collections.sort(elements);
+                    }
+                    return elements.toString();
+                }
+                if (value instanceof Map) {
+                    ArrayList<String> entries = new ArrayList<>();
+                    for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                        entries.add(describe(entry.getKey(), depth + 1, seen) + "="
+                                + describe(entry.getValue(), depth + 1, seen));
+                    }
+                    Collections.sort(entries);
+                    return entries.toString();
+                }
+                if (!isKnownComponent(type)) {
+                    throw new UnknownComponentException("Unknown: " + type.getName());
+                }
+                StringBuilder sb = new StringBuilder(type.getName()).append('{');
+                for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                    Field[] fields = c.getDeclaredFields();
+                    Arrays.sort(fields, Comparator.comparing(Field::getName));
+                    for (Field field : fields) {
+                        if (Modifier.isStatic(field.getModifiers())
+                                || field.isSynthetic()
+                                || HASH_FIELDS.contains(field.getName().toLowerCase(Locale.ROOT))) {
+                            continue;
+                        }
+                        Object fieldValue;
+                        try {
+                            field.setAccessible(true);
+                            fieldValue = field.get(value);
+                        } catch (IllegalAccessException | RuntimeException e) {
+                            throw new UnknownComponentException("Inaccessible: " + field);
+                        }
+                        sb.append(field.getName())
+                                .append('=')
+                                .append(describe(fieldValue, depth + 1, seen))
+                                .append(';');
+                    }
+                }
+                return sb.append('}').toString();
+            } finally {
+                seen.remove(value);
+            }
+        }
+
+        private static boolean isKnownComponent(Class<?> type) {
+            if (type.isSynthetic() || type.isAnonymousClass() || type.isLocalClass()) {
+                return false;
+            }
+            for (String prefix : KNOWN_COMPONENT_PACKAGES) {
+                if (type.getName().startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void map(Map<String, String> map) {
+            write(map.size());
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                write(entry.getKey());
+                write(entry.getValue());
+            }
+        }
+    }
+}
@@ -2,11 +2,13 @@ package eu.maveniverse.maven.mima.context;
 
 import static java.util.Objects.requireNonNull;
 
+import eu.maveniverse.maven.mima.context.internal.MemoizingSupplier;
 import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
 import java.io.Closeable;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
@@ -24,6 +26,10 @@ import org.eclipse.aether.repository.RemoteRepository;
  * closed in opposite order as they were obtained. Creating customized contexts can be considered "light" operation,
  * as they merely alter the {@link RepositorySystemSession} instance and repositories, while the
  * {@link RepositorySystem} is just inherited from this instance (is not reconstructed).
+ * <p>
+ * If context was created with {@link ContextOverrides#isLazySession()}, the {@link RepositorySystemSession} and
+ * {@link RemoteRepository} list are created on first access (in a thread safe way), while the rest of the context is
+ * available immediately.
  *
  * @see Runtimes#getRuntime()
  * @see Runtime#create(ContextOverrides)
@@ -43,9 +49,9 @@ public final class Context implements Closeable {
 
     private final RepositorySystem repositorySystem;
 
-    private final RepositorySystemSession repositorySystemSession;
+    private final MemoizingSupplier<RepositorySystemSession> repositorySystemSession;
 
-    private final List<RemoteRepository> remoteRepositories;
+    private final MemoizingSupplier<List<RemoteRepository>> remoteRepositories;
 
     private final HTTPProxy httpProxy;
 
@@ -62,15 +68,45 @@ public final class Context implements Closeable {
             List<RemoteRepository> remoteRepositories,
             HTTPProxy httpProxy,
             Runnable managedCloser) {
+        this(
+                runtime,
+                contextOverrides,
+                basedir,
+                mavenUserHome,
+                mavenSystemHome,
+                repositorySystem,
+                MemoizingSupplier.ofValue(requireNonNull(repositorySystemSession)),
+                MemoizingSupplier.ofValue(requireNonNull(remoteRepositories)),
+                httpProxy,
+                managedCloser);
+    }
+
+    /**
+     * Constructor for contexts having session and remote repositories created on first access. Suppliers are
+     * invoked at most once.
+     *
+     * @since 2.4.5
+     */
+    public Context(
+            RuntimeSupport runtime,
+            ContextOverrides contextOverrides,
+            Path basedir,
+            MavenUserHome mavenUserHome,
+            MavenSystemHome mavenSystemHome,
+            RepositorySystem repositorySystem,
+            Supplier<RepositorySystemSession> repositorySystemSession,
+            Supplier<List<RemoteRepository>> remoteRepositories,
+            HTTPProxy httpProxy,
+            Runnable managedCloser) {
         this.closed = new AtomicBoolean(false);
         this.runtime = requireNonNull(runtime);
         this.contextOverrides = requireNonNull(contextOverrides);
         this.basedir = requireNonNull(basedir);
         this.mavenUserHome = requireNonNull(mavenUserHome);
         this.mavenSystemHome = mavenSystemHome;
-        this.repositorySystemSession = requireNonNull(repositorySystemSession);
+        this.repositorySystemSession = MemoizingSupplier.of(repositorySystemSession);
         this.repositorySystem = requireNonNull(repositorySystem);
-        this.remoteRepositories = requireNonNull(remoteRepositories);
+        this.remoteRepositories = MemoizingSupplier.of(remoteRepositories);
         this.httpProxy = httpProxy;
         this.managedCloser = managedCloser;
     }
@@ -113,10 +149,12 @@ public final class Context implements Closeable {
     }
 
     /**
-     * Returns the {@link RepositorySystemSession}, never {@code null}.
+     * Returns the {@link RepositorySystemSession}, never {@code null}. In case of lazy session, the first invocation
+     * creates it: it throws {@link IllegalStateException} if context is already closed, and if creation failed, the
+     * exception of runtime creating the session propagates (and next invocation retries the creation).
      */
     public RepositorySystemSession repositorySystemSession() {
-        return repositorySystemSession;
+        return lazyGet(repositorySystemSession);
     }
 
     /**
@@ -127,10 +165,20 @@ public final class Context implements Closeable {
     }
 
     /**
-     * Returns the list of {@link RemoteRepository}, never {@code null}.
+     * Returns the list of {@link RemoteRepository}, never {@code null}. In case of lazy session, the first invocation
+     * creates session as well.
+     *
+     * @see #repositorySystemSession()
      */
     public List<RemoteRepository> remoteRepositories() {
-        return remoteRepositories;
+        return lazyGet(remoteRepositories);
+    }
+
+    private <T> T lazyGet(MemoizingSupplier<T> supplier) {
+        if (!supplier.isPresent() && closed.get()) {
+            throw new IllegalStateException("context is closed");
+        }
+        return supplier.get();
     }
 
     /**
@@ -154,6 +202,27 @@ public final class Context implements Closeable {
         return runtime.customizeContext(overrides, this, false);
     }
 
+    /**
+     * Returns a new {@link Context} instance that shares all the state with this instance, but has its own "closed"
+     * state, and invokes passed in closer (instead of the managed one) when closed. Used by {@link ContextPool}.
+     */
+    Context lease(Runnable closer) {
+        if (closed.get()) {
+            throw new IllegalStateException("context is closed");
+        }
+        return new Context(
+                runtime,
+                contextOverrides,
+                basedir,
+                mavenUserHome,
+                mavenSystemHome,
+                repositorySystem,
+                repositorySystemSession,
+                remoteRepositories,
+                httpProxy,
+                closer);
+    }
+
     /**
      * Closes the context. Once closed context instance should not be used anymore.
      */
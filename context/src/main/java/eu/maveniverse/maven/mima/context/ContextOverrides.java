@@ -52,6 +52,56 @@ public final class ContextOverrides {
         REPLACE
     }
 
+    /**
+     * How derived contexts use the repository cache of the context they are derived from.
+     *
+     * @since 2.4.5
+     */
+    public enum RepositoryCacheSharing {
+        /**
+         * Derived context uses the cache as is (the default).
+         */
+        SHARED,
+
+        /**
+         * Derived context uses the same cache, but entries are scoped by session properties that change resolution
+         * semantics (remote repositories, offline mode, checksum and update policy and local repository). Contexts
+         * having same scope share entries, while others do not see each other entries.
+         */
+        SCOPED,
+
+        /**
+         * Derived context uses new, empty cache.
+         */
+        ISOLATED
+    }
+
+    /**
+     * The dependency collector implementation to use.
+     *
+     * @since 2.4.5
+     */
+    public enum DependencyCollectorImpl {
+        /**
+         * The depth-first collector (Resolver default), reading artifact descriptors one by one.
+         */
+        DF,
+
+        /**
+         * The breadth-first collector, that may read artifact descriptors in parallel, see
+         * {@link Builder#collectorThreads(int)}.
+         */
+        BF
+    }
+
+    /**
+     * Thread count based on available processors, to be used with thread count options for "full parallelism".
+     *
+     * @since 2.4.5
+     */
+    public static final int DEFAULT_THREADS =
+            Math.max(4, java.lang.Runtime.getRuntime().availableProcessors());
+
     private final Path basedirOverride;
 
     private final Map<String, String> systemProperties;
@@ -100,6 +150,20 @@ public final class ContextOverrides {
 
     private final Object effectiveSettingsMixin;
 
+    private final boolean lazySession;
+
+    private final long repositoryCacheMaxWeight;
+
+    private final RepositoryCacheSharing repositoryCacheSharing;
+
+    private final DependencyCollectorImpl dependencyCollector;
+
+    private final int collectorThreads;
+
+    private final int downloadThreads;
+
+    private final int metadataThreads;
+
     private ContextOverrides(
             final Path basedirOverride,
             final Map<String, String> systemProperties,
@@ -124,7 +188,14 @@ public final class ContextOverrides {
             final Path globalSettingsXmlOverride,
             final Path globalToolchainsXmlOverride,
             final Object effectiveSettings,
-            final Object effectiveSettingsMixin) {
+            final Object effectiveSettingsMixin,
+            final boolean lazySession,
+            final long repositoryCacheMaxWeight,
+            final RepositoryCacheSharing repositoryCacheSharing,
+            final DependencyCollectorImpl dependencyCollector,
+            final int collectorThreads,
+            final int downloadThreads,
+            final int metadataThreads) {
 
         this.basedirOverride = basedirOverride;
         this.systemProperties = Collections.unmodifiableMap(systemProperties);
@@ -150,6 +221,13 @@ public final class ContextOverrides {
         this.globalToolchainsXmlOverride = globalToolchainsXmlOverride;
         this.effectiveSettings = effectiveSettings;
         this.effectiveSettingsMixin = effectiveSettingsMixin;
+        this.lazySession = lazySession;
+        this.repositoryCacheMaxWeight = repositoryCacheMaxWeight;
+        this.repositoryCacheSharing = requireNonNull(repositoryCacheSharing);
+        this.dependencyCollector = dependencyCollector;
+        this.collectorThreads = collectorThreads;
+        this.downloadThreads = downloadThreads;
+        this.metadataThreads = metadataThreads;
     }
 
     /**
@@ -346,6 +424,71 @@ public final class ContextOverrides {
         return effectiveSettingsMixin;
     }
 
+    /**
+     * Is session created lazily, on first access?
+     *
+     * @since 2.4.5
+     */
+    public boolean isLazySession() {
+        return lazySession;
+    }
+
+    /**
+     * The maximum weight of session repository cache, or {@code 0} if cache is unbounded.
+     *
+     * @since 2.4.5
+     */
+    public long getRepositoryCacheMaxWeight() {
+        return repositoryCacheMaxWeight;
+    }
+
+    /**
+     * How derived context uses repository cache of the context it is derived from, never {@code null}.
+     *
+     * @since 2.4.5
+     */
+    public RepositoryCacheSharing getRepositoryCacheSharing() {
+        return repositoryCacheSharing;
+    }
+
+    /**
+     * The dependency collector implementation to use, or {@code null} to use Resolver default.
+     *
+     * @since 2.4.5
+     */
+    public DependencyCollectorImpl getDependencyCollector() {
+        return dependencyCollector;
+    }
+
+    /**
+     * The count of threads breadth-first collector uses to read artifact descriptors, or {@code 0} to use Resolver
+     * default.
+     *
+     * @since 2.4.5
+     */
+    public int getCollectorThreads() {
+        return collectorThreads;
+    }
+
+    /**
+     * The count of threads used to download artifacts from a remote repository, or {@code 0} to use Resolver
+     * default.
+     *
+     * @since 2.4.5
+     */
+    public int getDownloadThreads() {
+        return downloadThreads;
+    }
+
+    /**
+     * The count of threads used to resolve metadata, or {@code 0} to use Resolver default.
+     *
+     * @since 2.4.5
+     */
+    public int getMetadataThreads() {
+        return metadataThreads;
+    }
+
     /**
      * Creates {@link Builder} out of current instance.
      *
@@ -376,7 +519,14 @@ public final class ContextOverrides {
                 .withGlobalSettingsXmlOverride(globalSettingsXmlOverride)
                 .withGlobalToolchainsXmlOverride(globalToolchainsXmlOverride)
                 .withEffectiveSettings(effectiveSettings)
-                .withEffectiveSettingsMixin(effectiveSettingsMixin);
+                .withEffectiveSettingsMixin(effectiveSettingsMixin)
+                .lazySession(lazySession)
+                .repositoryCacheMaxWeight(repositoryCacheMaxWeight)
+                .repositoryCacheSharing(repositoryCacheSharing)
+                .dependencyCollector(dependencyCollector)
+                .collectorThreads(collectorThreads)
+                .downloadThreads(downloadThreads)
+                .metadataThreads(metadataThreads);
     }
 
     @Override
@@ -390,6 +540,13 @@ public final class ContextOverrides {
         ContextOverrides that = (ContextOverrides) o;
         return offline == that.offline
                 && withUserSettings == that.withUserSettings
+                && lazySession == that.lazySession
+                && repositoryCacheMaxWeight == that.repositoryCacheMaxWeight
+                && repositoryCacheSharing == that.repositoryCacheSharing
+                && dependencyCollector == that.dependencyCollector
+                && collectorThreads == that.collectorThreads
+                && downloadThreads == that.downloadThreads
+                && metadataThreads == that.metadataThreads
                 && Objects.equals(basedirOverride, that.basedirOverride)
                 && Objects.equals(systemProperties, that.systemProperties)
                 && Objects.equals(userProperties, that.userProperties)
@@ -440,7 +597,14 @@ public final class ContextOverrides {
                 globalSettingsXmlOverride,
                 globalToolchainsXmlOverride,
                 effectiveSettings,
-                effectiveSettingsMixin);
+                effectiveSettingsMixin,
+                lazySession,
+                repositoryCacheMaxWeight,
+                repositoryCacheSharing,
+                dependencyCollector,
+                collectorThreads,
+                downloadThreads,
+                metadataThreads);
     }
 
     /**
@@ -502,6 +666,20 @@ public final class ContextOverrides {
 
         private Object effectiveSettingsMixin = null;
 
+        private boolean lazySession = false;
+
+        private long repositoryCacheMaxWeight = 0;
+
+        private RepositoryCacheSharing repositoryCacheSharing = RepositoryCacheSharing.SHARED;
+
+        private DependencyCollectorImpl dependencyCollector = null;
+
+        private int collectorThreads = 0;
+
+        private int downloadThreads = 0;
+
+        private int metadataThreads = 0;
+
         /**
          * Hide ctor, use {@link #create()} to create new builder instances.
          */
@@ -773,6 +951,98 @@ public final class ContextOverrides {
             return this;
         }
 
+        /**
+         * Sets whether session should be created lazily. If {@code true}, the {@link Context} is created without
+         * {@link org.eclipse.aether.RepositorySystemSession} and resolution repositories: they are created on first
+         * access of {@link Context#repositorySystemSession()} or {@link Context#remoteRepositories()}. Applications
+         * that mostly use context "metadata" (like {@link Context#mavenUserHome()}) benefit from this. Default is
+         * {@code false}.
+         *
+         * @since 2.4.5
+         */
+        public Builder lazySession(boolean lazySession) {
+            this.lazySession = lazySession;
+            return this;
+        }
+
+        /**
+         * Sets the maximum weight of session repository cache. If positive, the session uses a bounded cache that
+         * evicts least recently used entries, where every entry weighs {@code 1} (so this is maximum entry count).
+         * Long-lived contexts should use bounded cache, to prevent cache taking an ever-growing share of heap.
+         * Default is {@code 0}, meaning unbounded cache.
+         *
+         * @since 2.4.5
+         */
+        public Builder repositoryCacheMaxWeight(long repositoryCacheMaxWeight) {
+            if (repositoryCacheMaxWeight < 0) {
+                throw new IllegalArgumentException("repository cache max weight must not be negative");
+            }
+            this.repositoryCacheMaxWeight = repositoryCacheMaxWeight;
+            return this;
+        }
+
+        /**
+         * Sets how derived context uses repository cache of the context it is derived from. Applies only to
+         * {@link Context#customize(ContextOverrides)}. Default is {@link RepositoryCacheSharing#SHARED}.
+         *
+         * @since 2.4.5
+         */
+        public Builder repositoryCacheSharing(RepositoryCacheSharing repositoryCacheSharing) {
+            this.repositoryCacheSharing = requireNonNull(repositoryCacheSharing);
+            return this;
+        }
+
+        /**
+         * Sets the dependency collector implementation to use. Default is {@code null}, meaning Resolver default
+         * (depth-first) collector is used.
+         *
+         * @since 2.4.5
+         */
+        public Builder dependencyCollector(DependencyCollectorImpl dependencyCollector) {
+            this.dependencyCollector = dependencyCollector;
+            return this;
+        }
+
+        /**
+         * Sets the count of threads breadth-first collector uses to read artifact descriptors in parallel. Default is
+         * {@code 0}, meaning Resolver default. See {@link ContextOverrides#DEFAULT_THREADS}.
+         *
+         * @since 2.4.5
+         */
+        public Builder collectorThreads(int collectorThreads) {
+            this.collectorThreads = requireNonNegative(collectorThreads, "collector threads");
+            return this;
+        }
+
+        /**
+         * Sets the count of threads used to download artifacts from a remote repository in parallel. Default is
+         * {@code 0}, meaning Resolver default. See {@link ContextOverrides#DEFAULT_THREADS}.
+         *
+         * @since 2.4.5
+         */
+        public Builder downloadThreads(int downloadThreads) {
+            this.downloadThreads = requireNonNegative(downloadThreads, "download threads");
+            return this;
+        }
+
+        /**
+         * Sets the count of threads used to resolve metadata in parallel. Default is {@code 0}, meaning Resolver
+         * default. See {@link ContextOverrides#DEFAULT_THREADS}.
+         *
+         * @since 2.4.5
+         */
+        public Builder metadataThreads(int metadataThreads) {
+            this.metadataThreads = requireNonNegative(metadataThreads, "metadata threads");
+            return this;
+        }
+
+        private static int requireNonNegative(int value, String name) {
+            if (value < 0) {
+                throw new IllegalArgumentException(name + " must not be negative");
+            }
+            return value;
+        }
+
         /**
          * Builds an immutable instance of {@link ContextOverrides} using so far applied settings and configuration.
          */
@@ -801,7 +1071,14 @@ public final class ContextOverrides {
                     globalSettingsXmlOverride,
                     globalToolchainsXmlOverride,
                     effectiveSettings,
-                    effectiveSettingsMixin);
+                    effectiveSettingsMixin,
+                    lazySession,
+                    repositoryCacheMaxWeight,
+                    repositoryCacheSharing,
+                    dependencyCollector,
+                    collectorThreads,
+                    downloadThreads,
+                    metadataThreads);
         }
     }
 }
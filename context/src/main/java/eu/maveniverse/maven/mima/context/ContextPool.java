@@ -0,0 +1,210 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pool of root {@link Context} instances, keyed by {@link ContextOverrides}. Meant to be used as process-wide
+ * singleton in long-lived applications, that would otherwise create root contexts with same overrides over and over.
+ * <p>
+ * The {@link #acquire(ContextOverrides)} method hands out "leases" of root contexts: they behave exactly as root
+ * contexts, but closing them merely releases the lease. Root context is created on first acquire, and is closed (and
+ * its managed resources released) only once it has no leases and was idle longer than configured idle timeout. With
+ * idle timeout of {@link Duration#ZERO} root context is closed as soon as last lease is closed.
+ * <p>
+ * Closing the pool closes all pooled root contexts, even those having leases still out.
+ *
+ * @since 2.4.5
+ */
+public final class ContextPool implements Closeable {
+    /**
+     * The default idle timeout: 5 minutes.
+     */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+    private final Runtime runtime;
+
+    private final long idleTimeoutNanos;
+
+    private final ConcurrentHashMap<ContextOverrides, Entry> entries;
+
+    private final ScheduledExecutorService evictor;
+
+    private final AtomicBoolean closed;
+
+    /**
+     * Creates pool using {@link Runtimes#getRuntime()} and {@link #DEFAULT_IDLE_TIMEOUT}.
+     */
+    public ContextPool() {
+        this(Runtimes.INSTANCE.getRuntime(), DEFAULT_IDLE_TIMEOUT);
+    }
+
+    /**
+     * Creates pool using given runtime and idle timeout.
+     */
+    public ContextPool(Runtime runtime, Duration idleTimeout) {
+        this.runtime = requireNonNull(runtime);
+        requireNonNull(idleTimeout);
+        if (idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("idle timeout must not be negative");
+        }
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.entries = new ConcurrentHashMap<>();
+        this.closed = new AtomicBoolean(false);
+        if (idleTimeoutNanos > 0) {
+            long period = Math.max(TimeUnit.SECONDS.toNanos(1), idleTimeoutNanos / 2);
+            this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "mima-context-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            this.evictor = null;
+        }
+    }
+
+    /**
+     * Returns a lease of root {@link Context} for given overrides, creating root context if needed, never
+     * {@code null}. The returned context must be closed, ideally in try-with-resource construct.
+     */
+    public Context acquire(ContextOverrides overrides) {
+        requireNonNull(overrides);
+        while (true) {
+            if (closed.get()) {
+                throw new IllegalStateException("pool is closed");
+            }
+            Entry entry = entries.computeIfAbsent(overrides, Entry::new);
+            Context lease = entry.lease();
+            if (lease != null) {
+                return lease;
+            }
+            // entry got evicted concurrently; retry with a fresh one
+            entries.remove(overrides, entry);
+        }
+    }
+
+    /**
+     * Returns the count of pooled root contexts.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Closes all root contexts that have no leases and were idle longer than idle timeout. This method is invoked
+     * periodically by the pool itself, but may be invoked explicitly as well.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Entry entry : entries.values()) {
+            if (entry.evictIfIdle(now)) {
+                entries.remove(entry.key, entry);
+                entry.closeRoot();
+            }
+        }
+    }
+
+    /**
+     * Closes the pool and all pooled root contexts.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            if (evictor != null) {
+                evictor.shutdownNow();
+            }
+            ArrayList<Entry> toClose = new ArrayList<>(entries.values());
+            entries.clear();
+            for (Entry entry : toClose) {
+                entry.kill();
+                entry.closeRoot();
+            }
+        }
+    }
+
+    private final class Entry {
+        private final ContextOverrides key;
+
+        private Context root;
+
+        private int leases;
+
+        private long idleSince;
+
+        private boolean dead;
+
+        private Entry(ContextOverrides key) {
+            this.key = key;
+        }
+
+        private Context lease() {
+            synchronized (this) {
+                if (dead) {
+                    return null;
+                }
+                if (root == null) {
+                    try {
+                        root = runtime.create(key);
+                    } catch (RuntimeException e) {
+                        dead = true;
+                        entries.remove(key, this);
+                        throw e;
+                    }
+                }
+                leases++;
+                return root.lease(this::release);
+            }
+        }
+
+        private void release() {
+            boolean closeNow;
+            synchronized (this) {
+                leases--;
+                if (leases > 0 || dead) {
+                    return;
+                }
+                idleSince = System.nanoTime();
+                closeNow = idleTimeoutNanos == 0;
+                if (closeNow) {
+                    dead = true;
+                }
+            }
+            if (closeNow) {
+                entries.remove(key, this);
+                closeRoot();
+            }
+        }
+
+        private synchronized boolean evictIfIdle(long now) {
+            if (!dead && root != null && leases == 0 && now - idleSince >= idleTimeoutNanos) {
+                dead = true;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void kill() {
+            dead = true;
+        }
+
+        private void closeRoot() {
+            Context toClose;
+            synchronized (this) {
+                toClose = root;
+                root = null;
+            }
+            if (toClose != null) {
+                toClose.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package eu.maveniverse.maven.mima.context;
+
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.transfer.TransferListener;
+
+/**
+ * Instrumentation SPI: implementations are discovered using {@link java.util.ServiceLoader}, and are notified about
+ * phases of {@link Runtime#create(ContextOverrides)} and {@link Context#customize(ContextOverrides)}, while their
+ * listeners (if any) are added to every session created by runtimes. If no implementation is present,
+ * {@link #NOOP} is used.
+ * <p>
+ * Implementations must be thread safe and should be cheap when not recording.
+ *
+ * @since 2.4.5
+ */
+public interface Instrumentation {
+    /**
+     * Phase: preparing runtime overrides and Maven homes.
+     */
+    String PHASE_PRE_BOOT = "preBoot";
+
+    /**
+     * Phase: building effective settings.
+     */
+    String PHASE_SETTINGS_BUILD = "settingsBuild";
+
+    /**
+     * Phase: decrypting settings.
+     */
+    String PHASE_SETTINGS_DECRYPT = "settingsDecrypt";
+
+    /**
+     * Phase: building repository system session.
+     */
+    String PHASE_SESSION_BUILD = "sessionBuild";
+
+    /**
+     * Phase: customizing context.
+     */
+    String PHASE_CUSTOMIZE = "customize";
+
+    /**
+     * A phase in progress, ends when closed.
+     */
+    interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * No-op instrumentation.
+     */
+    Instrumentation NOOP = new Instrumentation() {
+        private final Span span = () -> {};
+
+        @Override
+        public Span begin(String phase, String runtime) {
+            return span;
+        }
+    };
+
+    /**
+     * Begins a phase of given runtime, never returns {@code null}.
+     */
+    Span begin(String phase, String runtime);
+
+    /**
+     * Repository listener to add to sessions, or {@code null}.
+     */
+    default RepositoryListener repositoryListener() {
+        return null;
+    }
+
+    /**
+     * Transfer listener to add to sessions, or {@code null}.
+     */
+    default TransferListener transferListener() {
+        return null;
+    }
+}
@@ -0,0 +1,199 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+
+/**
+ * Local repository access journal: a {@link RepositoryListener} that records last use times of artifacts resolved
+ * from (or into) local repository, to be used by {@link LocalRepositoryPruner}. The unit of tracking is the artifact
+ * version directory (like {@code org/example/a/1.0}).
+ * <p>
+ * The journal is a compact append-only binary file {@link #JOURNAL} in local repository, shared by all processes
+ * using the local repository. Each record is 4 bytes of (unsigned) epoch seconds, 2 bytes of path length and the
+ * UTF-8 path. Appends are single small writes, hence are atomic on local file systems. A directory is recorded at most
+ * once per hour per instance, so the journal grows slowly; {@link LocalRepositoryPruner} compacts it.
+ * <p>
+ * Instances are thread safe, and one instance may record into several local repositories.
+ *
+ * @since 2.4.5
+ */
+public final class LocalRepositoryAccessJournal {
+    /**
+     * The journal file path, relative to local repository.
+     */
+    public static final String JOURNAL = ".mima/access.journal";
+
+    private static final long RECORD_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final ConcurrentHashMap<Path, Long> recorded = new ConcurrentHashMap<>();
+
+    private final RepositoryListener repositoryListener = new AccessRepositoryListener();
+
+    /**
+     * Returns the repository listener recording into journal of session local repository.
+     */
+    public RepositoryListener repositoryListener() {
+        return repositoryListener;
+    }
+
+    /**
+     * Returns a customized context of passed in context, that records into journal. The listener set by overrides of
+     * passed in context is retained (runtime instrumentation, if any, is applied by customization). The returned
+     * context should be closed once done with it.
+     */
+    public Context attach(Context context) {
+        requireNonNull(context);
+        ContextOverrides overrides = context.contextOverrides();
+        return context.customize(overrides.toBuilder()
+                .repositoryListener(chain(overrides.getRepositoryListener()))
+                .build());
+    }
+
+    /**
+     * Makes passed in session record into journal. The listener of passed in session is retained.
+     */
+    public void attach(DefaultRepositorySystemSession session) {
+        requireNonNull(session);
+        session.setRepositoryListener(chain(session.getRepositoryListener()));
+    }
+
+    /**
+     * Returns the journal file of given local repository.
+     */
+    public static Path journalFile(Path localRepository) {
+        return localRepository.resolve(JOURNAL);
+    }
+
+    /**
+     * Reads the journal of given local repository: the last use time (epoch milliseconds) per local repository
+     * relative directory path (using {@code /} as separator). Missing journal results in empty map.
+     */
+    public static Map<String, Long> read(Path localRepository) throws IOException {
+        HashMap<String, Long> result = new HashMap<>();
+        Path journal = journalFile(localRepository);
+        if (!Files.isRegularFile(journal)) {
+            return result;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            while (true) {
+                long used = TimeUnit.SECONDS.toMillis(Integer.toUnsignedLong(input.readInt()));
+                byte[] path = new byte[input.readUnsignedShort()];
+                input.readFully(path);
+                result.merge(new String(path, StandardCharsets.UTF_8), used, Math::max);
+            }
+        } catch (EOFException e) {
+            // end of journal, or torn last record of a crashed writer
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the journal of given local repository with one having passed in entries only. Records appended
+     * concurrently by other processes may be lost, which only makes their directories look less recently used.
+     */
+    static void write(Path localRepository, Map<String, Long> entries) throws IOException {
+        Path journal = journalFile(localRepository);
+        Files.createDirectories(journal.getParent());
+        Path temp =
+                Files.createTempFile(journal.getParent(), journal.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                for (Map.Entry<String, Long> entry : entries.entrySet()) {
+                    output.write(record(entry.getKey(), entry.getValue()));
+                }
+            }
+            try {
+                Files.move(temp, journal, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, journal, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] record(String path, long used) {
+        byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xffff) {
+            throw new IllegalArgumentException("Path too long: " + path);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(6 + bytes.length);
+        buffer.putInt((int) TimeUnit.MILLISECONDS.toSeconds(used));
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+        return buffer.array();
+    }
+
+    private RepositoryListener chain(RepositoryListener listener) {
+        return listener != null
+                ? ChainedRepositoryListener.newInstance(listener, repositoryListener)
+                : repositoryListener;
+    }
+
+    private void record(RepositorySystemSession session, File file) {
+        LocalRepository localRepository = session.getLocalRepository();
+        if (file == null || localRepository == null) {
+            return;
+        }
+        Path basedir = localRepository.getBasedir().toPath().toAbsolutePath();
+        Path directory = file.toPath().toAbsolutePath().getParent();
+        if (directory == null || !directory.startsWith(basedir) || directory.equals(basedir)) {
+            // not in local repository, like resolved from workspace
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long previous = recorded.get(directory);
+        if (previous != null && now - previous < RECORD_INTERVAL) {
+            return;
+        }
+        recorded.put(directory, now);
+        String path = basedir.relativize(directory).toString().replace('\\', '/');
+        try {
+            Path journal = journalFile(basedir);
+            Files.createDirectories(journal.getParent());
+            Files.write(journal, record(path, now), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException | RuntimeException e) {
+            // tracking must never fail resolution (ie. read-only local repository)
+        }
+    }
+
+    private final class AccessRepositoryListener extends AbstractRepositoryListener {
+        @Override
+        public void artifactResolved(RepositoryEvent event) {
+            if (event.getException() == null && event.getArtifact() != null) {
+                record(event.getSession(), event.getArtifact().getFile());
+            }
+        }
+
+        @Override
+        public void artifactInstalled(RepositoryEvent event) {
+            if (event.getException() == null) {
+                record(event.getSession(), event.getFile());
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SyncContext;
+import org.eclipse.aether.artifact.DefaultArtifact;
+
+/**
+ * Local repository pruner: evicts least recently used artifact version directories (like {@code org/example/a/1.0})
+ * until the size of local repository fits into configured budget. Last use is the later of the time recorded by
+ * {@link LocalRepositoryAccessJournal} and the newest file modification time in the directory (download or install
+ * time), so pruning works without journal as well, evicting by age.
+ * <p>
+ * Each directory is deleted while holding exclusive resolver lock of its artifact, obtained from context
+ * {@link RepositorySystem#newSyncContext(RepositorySystemSession, boolean)}, hence pruning does not interfere with
+ * resolution running concurrently. Exclusion across processes requires resolver configured with file based named
+ * locks (as any local repository shared by processes does). Directories that cannot be locked are skipped.
+ *
+ * @since 2.4.5
+ */
+public final class LocalRepositoryPruner {
+    /**
+     * An evicted (or, in dry run, to be evicted) artifact version directory.
+     */
+    public static final class Eviction {
+        private final Path directory;
+
+        private final long size;
+
+        private final long lastUsed;
+
+        private Eviction(Path directory, long size, long lastUsed) {
+            this.directory = directory;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+
+        /**
+         * The artifact version directory.
+         */
+        public Path getDirectory() {
+            return directory;
+        }
+
+        /**
+         * Total size of files in directory.
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * The last use time, in epoch milliseconds.
+         */
+        public long getLastUsed() {
+            return lastUsed;
+        }
+
+        @Override
+        public String toString() {
+            return directory + " (" + size + " bytes)";
+        }
+    }
+
+    /**
+     * The outcome of pruning.
+     */
+    public static final class Result {
+        private final long sizeBefore;
+
+        private final long sizeAfter;
+
+        private final List<Eviction> evictions;
+
+        private final int skipped;
+
+        private Result(long sizeBefore, long sizeAfter, List<Eviction> evictions, int skipped) {
+            this.sizeBefore = sizeBefore;
+            this.sizeAfter = sizeAfter;
+            this.evictions = evictions;
+            this.skipped = skipped;
+        }
+
+        /**
+         * Size of local repository before pruning.
+         */
+        public long getSizeBefore() {
+            return sizeBefore;
+        }
+
+        /**
+         * Size of local repository after pruning (in dry run, the size it would have).
+         */
+        public long getSizeAfter() {
+            return sizeAfter;
+        }
+
+        /**
+         * The evictions, least recently used first, never {@code null}.
+         */
+        public List<Eviction> getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Count of directories that were to be evicted, but could not be locked or were used meanwhile.
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+    }
+
+    /**
+     * Creates builder for pruner of local repository of given context.
+     */
+    public static Builder create(Context context) {
+        return new Builder(context);
+    }
+
+    /**
+     * Builder of {@link LocalRepositoryPruner}.
+     */
+    public static final class Builder {
+        private final Context context;
+
+        private long maxSize = -1;
+
+        private boolean dryRun;
+
+        private Consumer<Eviction> listener = e -> {};
+
+        private Builder(Context context) {
+            this.context = requireNonNull(context, "context");
+        }
+
+        /**
+         * The size budget of local repository in bytes, mandatory.
+         */
+        public Builder maxSize(long maxSize) {
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("maxSize must not be negative");
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * If {@code true}, evictions are only reported, nothing is deleted.
+         */
+        public Builder dryRun(boolean dryRun) {
+            this.dryRun = dryRun;
+            return this;
+        }
+
+        /**
+         * Listener notified about each eviction, once it happened.
+         */
+        public Builder listener(Consumer<Eviction> listener) {
+            this.listener = requireNonNull(listener, "listener");
+            return this;
+        }
+
+        public LocalRepositoryPruner build() {
+            if (maxSize < 0) {
+                throw new IllegalStateException("maxSize must be set");
+            }
+            return new LocalRepositoryPruner(this);
+        }
+    }
+
+    private final Context context;
+
+    private final Path localRepository;
+
+    private final long maxSize;
+
+    private final boolean dryRun;
+
+    private final Consumer<Eviction> listener;
+
+    private LocalRepositoryPruner(Builder builder) {
+        this.context = builder.context;
+        this.localRepository = builder.context
+                .repositorySystemSession()
+                .getLocalRepository()
+                .getBasedir()
+                .toPath()
+                .toAbsolutePath();
+        this.maxSize = builder.maxSize;
+        this.dryRun = builder.dryRun;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Prunes local repository down to configured size budget, if possible.
+     */
+    public Result prune() throws IOException {
+        Map<String, Long> journal = LocalRepositoryAccessJournal.read(localRepository);
+        ConcurrentLinkedQueue<Candidate> found = new ConcurrentLinkedQueue<>();
+        AtomicLong otherSize = new AtomicLong();
+        if (Files.isDirectory(localRepository)) {
+            ForkJoinPool pool = new ForkJoinPool();
+            try {
+                pool.invoke(new Walker(localRepository, found, otherSize));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        ArrayList<Candidate> candidates = new ArrayList<>(found);
+        long size = otherSize.get();
+        for (Candidate candidate : candidates) {
+            candidate.lastUsed = Math.max(candidate.modified, journal.getOrDefault(candidate.path, 0L));
+            size += candidate.size;
+        }
+        candidates.sort(Comparator.comparingLong((Candidate c) -> c.lastUsed).thenComparing(c -> c.path));
+
+        long sizeBefore = size;
+        ArrayList<Eviction> evictions = new ArrayList<>();
+        HashMap<String, Long> retained = new HashMap<>();
+        int skipped = 0;
+        for (Candidate candidate : candidates) {
+            if (size <= maxSize) {
+                retained.put(candidate.path, candidate.lastUsed);
+                continue;
+            }
+            Eviction eviction =
+                    new Eviction(localRepository.resolve(candidate.path), candidate.size, candidate.lastUsed);
+            if (dryRun || evict(candidate)) {
+                size -= candidate.size;
+                evictions.add(eviction);
+                listener.accept(eviction);
+            } else {
+                retained.put(candidate.path, candidate.lastUsed);
+                skipped++;
+            }
+        }
+        if (!dryRun && !evictions.isEmpty()) {
+            LocalRepositoryAccessJournal.write(localRepository, retained);
+        }
+        return new Result(sizeBefore, size, Collections.unmodifiableList(evictions), skipped);
+    }
+
+    private boolean evict(Candidate candidate) throws IOException {
+        String[] segments = candidate.path.split("/");
+        DefaultArtifact artifact = new DefaultArtifact(
+                String.join(".", Arrays.asList(segments).subList(0, segments.length - 2)),
+                segments[segments.length - 2],
+                "",
+                "pom",
+                segments[segments.length - 1]);
+        Path directory = localRepository.resolve(candidate.path);
+        try (SyncContext syncContext =
+                context.repositorySystem().newSyncContext(context.repositorySystemSession(), false)) {
+            try {
+                syncContext.acquire(Collections.singletonList(artifact), null);
+            } catch (RuntimeException e) {
+                // lock timeout: being resolved right now
+                return false;
+            }
+            ArrayList<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path file : stream) {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        if (attributes.lastModifiedTime().toMillis() > candidate.modified) {
+                            // downloaded meanwhile, in use
+                            return false;
+                        }
+                        files.add(file);
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                return true;
+            }
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        // remove emptied directories, up to local repository
+        for (Path parent = directory; !parent.equals(localRepository); parent = parent.getParent()) {
+            try {
+                Files.deleteIfExists(parent);
+            } catch (DirectoryNotEmptyException e) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private static final class Candidate {
+        private final String path;
+
+        private final long size;
+
+        private final long modified;
+
+        private long lastUsed;
+
+        private Candidate(String path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+
+    /**
+     * Lists one directory, forks walkers for subdirectories and records directory as candidate if it is artifact
+     * version directory (holds files of its artifact), otherwise accounts its files as non-evictable. Directories
+     * starting with dot (like resolver locks) are not walked.
+     */
+    private final class Walker extends RecursiveAction {
+        private final Path directory;
+
+        private final ConcurrentLinkedQueue<Candidate> candidates;
+
+        private final AtomicLong otherSize;
+
+        private Walker(Path directory, ConcurrentLinkedQueue<Candidate> candidates, AtomicLong otherSize) {
+            this.directory = directory;
+            this.candidates = candidates;
+            this.otherSize = otherSize;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayList<Walker> children = new ArrayList<>();
+            long size = 0;
+            long modified = 0;
+            boolean artifactFiles = false;
+            String prefix = artifactFilePrefix();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path child : stream) {
+                    String name = child.getFileName().toString();
+                    BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                    if (attributes.isDirectory()) {
+                        if (!name.startsWith(".")) {
+                            children.add(new Walker(child, candidates, otherSize));
+                        }
+                    } else if (attributes.isRegularFile()) {
+                        size += attributes.size();
+                        modified =
+                                Math.max(modified, attributes.lastModifiedTime().toMillis());
+                        artifactFiles |= prefix != null && name.startsWith(prefix);
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // removed meanwhile
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (artifactFiles) {
+                String path = localRepository.relativize(directory).toString().replace('\\', '/');
+                candidates.add(new Candidate(path, size, modified));
+            } else {
+                otherSize.addAndGet(size);
+            }
+            invokeAll(children);
+        }
+
+        /**
+         * Returns the file name prefix of artifact files, if this directory may be version directory (is at least
+         * three levels deep), otherwise {@code null}.
+         */
+        private String artifactFilePrefix() {
+            if (localRepository.relativize(directory).getNameCount() < 3) {
+                return null;
+            }
+            String version = directory.getFileName().toString();
+            return directory.getParent().getFileName() + "-"
+                    + (version.endsWith("-SNAPSHOT")
+                            ? version.substring(0, version.length() - "SNAPSHOT".length())
+                            : version);
+        }
+    }
+}
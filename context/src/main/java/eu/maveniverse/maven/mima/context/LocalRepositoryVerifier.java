@@ -0,0 +1,492 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Local repository integrity scanner: walks local repository in parallel (fork-join, one task per directory) and
+ * recomputes checksums of every file having {@code .sha1} and/or {@code .sha512} sidecar, comparing them with the
+ * sidecar contents. Files are read using memory-mapped chunks, so hashing is bound by disk throughput and cores only.
+ * Mismatching files (and their sidecars) may be moved into a quarantine directory, to have them resolved again.
+ *
+ * @since 2.4.5
+ */
+public final class LocalRepositoryVerifier {
+    private static final Map<String, String> ALGORITHMS;
+
+    static {
+        LinkedHashMap<String, String> algorithms = new LinkedHashMap<>();
+        algorithms.put("sha1", "SHA-1");
+        algorithms.put("sha512", "SHA-512");
+        ALGORITHMS = Collections.unmodifiableMap(algorithms);
+    }
+
+    private static final long CHUNK_SIZE = 64L * 1024 * 1024;
+
+    private static final int SMALL_FILE_SIZE = 64 * 1024;
+
+    /**
+     * A file whose content does not match its checksum sidecar.
+     */
+    public static final class Mismatch {
+        private final Path file;
+
+        private final String algorithm;
+
+        private final String expected;
+
+        private final String actual;
+
+        private final Path quarantined;
+
+        private final IOException quarantineFailure;
+
+        private Mismatch(
+                Path file,
+                String algorithm,
+                String expected,
+                String actual,
+                Path quarantined,
+                IOException quarantineFailure) {
+            this.file = file;
+            this.algorithm = algorithm;
+            this.expected = expected;
+            this.actual = actual;
+            this.quarantined = quarantined;
+            this.quarantineFailure = quarantineFailure;
+        }
+
+        /**
+         * The file (in local repository) that failed verification.
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * The sidecar extension (like {@code sha1}) that failed verification.
+         */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /**
+         * The checksum stated by sidecar.
+         */
+        public String getExpected() {
+            return expected;
+        }
+
+        /**
+         * The checksum of file content, or {@code null} if file could not be read.
+         */
+        public String getActual() {
+            return actual;
+        }
+
+        /**
+         * The location where file was moved to, or {@code null} if not quarantined.
+         */
+        public Path getQuarantined() {
+            return quarantined;
+        }
+
+        /**
+         * The failure of moving file into quarantine, or {@code null} if not quarantined, or quarantine succeeded.
+         */
+        public IOException getQuarantineFailure() {
+            return quarantineFailure;
+        }
+
+        @Override
+        public String toString() {
+            return file + " " + algorithm + " expected " + expected + " but was "
+                    + (actual != null ? actual : "unreadable");
+        }
+    }
+
+    /**
+     * The outcome of verification.
+     */
+    public static final class Result {
+        private final long verifiedFiles;
+
+        private final long verifiedBytes;
+
+        private final long unverifiableFiles;
+
+        private final List<Mismatch> mismatches;
+
+        private Result(long verifiedFiles, long verifiedBytes, long unverifiableFiles, List<Mismatch> mismatches) {
+            this.verifiedFiles = verifiedFiles;
+            this.verifiedBytes = verifiedBytes;
+            this.unverifiableFiles = unverifiableFiles;
+            this.mismatches = mismatches;
+        }
+
+        /**
+         * Count of files having checksum sidecar, that were verified (including mismatching ones).
+         */
+        public long getVerifiedFiles() {
+            return verifiedFiles;
+        }
+
+        /**
+         * Total size of verified files.
+         */
+        public long getVerifiedBytes() {
+            return verifiedBytes;
+        }
+
+        /**
+         * Count of files without any checksum sidecar.
+         */
+        public long getUnverifiableFiles() {
+            return unverifiableFiles;
+        }
+
+        /**
+         * The mismatches, ordered by file, never {@code null}.
+         */
+        public List<Mismatch> getMismatches() {
+            return mismatches;
+        }
+    }
+
+    /**
+     * Creates builder for verifier of given local repository.
+     */
+    public static Builder create(Path localRepository) {
+        return new Builder(localRepository);
+    }
+
+    /**
+     * Builder of {@link LocalRepositoryVerifier}.
+     */
+    public static final class Builder {
+        private final Path localRepository;
+
+        private int parallelism = java.lang.Runtime.getRuntime().availableProcessors();
+
+        private Path quarantine;
+
+        private Consumer<Mismatch> listener = m -> {};
+
+        private Builder(Path localRepository) {
+            this.localRepository = requireNonNull(localRepository, "localRepository");
+        }
+
+        /**
+         * Count of files verified concurrently, defaults to count of available processors.
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Directory to move mismatching files (and their sidecars) into, keeping their repository relative path. If
+         * not set, mismatches are only reported.
+         */
+        public Builder quarantine(Path quarantine) {
+            this.quarantine = quarantine;
+            return this;
+        }
+
+        /**
+         * Listener notified about each mismatch as soon as it is detected (concurrently).
+         */
+        public Builder listener(Consumer<Mismatch> listener) {
+            this.listener = requireNonNull(listener, "listener");
+            return this;
+        }
+
+        public LocalRepositoryVerifier build() {
+            return new LocalRepositoryVerifier(this);
+        }
+    }
+
+    private final Path localRepository;
+
+    private final int parallelism;
+
+    private final Path quarantine;
+
+    private final Consumer<Mismatch> listener;
+
+    private LocalRepositoryVerifier(Builder builder) {
+        this.localRepository = builder.localRepository.toAbsolutePath();
+        this.parallelism = builder.parallelism;
+        this.quarantine = builder.quarantine != null ? builder.quarantine.toAbsolutePath() : null;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Verifies the whole local repository.
+     */
+    public Result verify() throws IOException {
+        AtomicLong files = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong unverifiable = new AtomicLong();
+        ConcurrentLinkedQueue<Mismatch> mismatches = new ConcurrentLinkedQueue<>();
+        if (Files.isDirectory(localRepository)) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new Walker(localRepository, files, bytes, unverifiable, mismatches));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        ArrayList<Mismatch> result = new ArrayList<>(mismatches);
+        result.sort(Comparator.comparing(Mismatch::getFile).thenComparing(Mismatch::getAlgorithm));
+        return new Result(files.get(), bytes.get(), unverifiable.get(), Collections.unmodifiableList(result));
+    }
+
+    private void verifyFile(
+            Path file,
+            TreeSet<String> siblings,
+            AtomicLong files,
+            AtomicLong bytes,
+            AtomicLong unverifiable,
+            ConcurrentLinkedQueue<Mismatch> mismatches)
+            throws IOException {
+        String name = file.getFileName().toString();
+        LinkedHashMap<String, String> expected = new LinkedHashMap<>();
+        for (String extension : ALGORITHMS.keySet()) {
+            if (siblings.contains(name + "." + extension)) {
+                String checksum = readChecksum(file.resolveSibling(name + "." + extension));
+                if (checksum != null) {
+                    expected.put(extension, checksum);
+                }
+            }
+        }
+        if (expected.isEmpty()) {
+            unverifiable.incrementAndGet();
+            return;
+        }
+        Map<String, String> actual;
+        long size;
+        try {
+            size = Files.size(file);
+            actual = digest(file, expected.keySet());
+        } catch (NoSuchFileException e) {
+            // removed meanwhile
+            return;
+        } catch (IOException e) {
+            size = 0;
+            actual = Collections.emptyMap();
+        }
+        files.incrementAndGet();
+        bytes.addAndGet(size);
+        Path quarantined = null;
+        IOException quarantineFailure = null;
+        for (Map.Entry<String, String> entry : expected.entrySet()) {
+            String checksum = actual.get(entry.getKey());
+            if (!entry.getValue().equals(checksum)) {
+                if (quarantine != null && quarantined == null && quarantineFailure == null) {
+                    try {
+                        quarantined = quarantine(file, siblings);
+                    } catch (IOException e) {
+                        quarantineFailure = e;
+                    }
+                }
+                Mismatch mismatch =
+                        new Mismatch(file, entry.getKey(), entry.getValue(), checksum, quarantined, quarantineFailure);
+                mismatches.add(mismatch);
+                listener.accept(mismatch);
+            }
+        }
+    }
+
+    private Path quarantine(Path file, TreeSet<String> siblings) throws IOException {
+        Path target = quarantine.resolve(localRepository.relativize(file));
+        Files.createDirectories(target.getParent());
+        // file first: if moving sidecars fails, file is still gone from local repository, to be resolved again
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        String name = file.getFileName().toString();
+        for (String extension : ALGORITHMS.keySet()) {
+            if (siblings.contains(name + "." + extension)) {
+                Files.move(
+                        file.resolveSibling(name + "." + extension),
+                        target.resolveSibling(name + "." + extension),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return target;
+    }
+
+    private static Map<String, String> digest(Path file, Iterable<String> extensions) throws IOException {
+        LinkedHashMap<String, MessageDigest> digests = new LinkedHashMap<>();
+        try {
+            for (String extension : extensions) {
+                digests.put(extension, MessageDigest.getInstance(ALGORITHMS.get(extension)));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size <= SMALL_FILE_SIZE) {
+                // mapping does not pay off for small files
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read fully
+                }
+                buffer.flip();
+                update(digests.values(), buffer);
+            } else {
+                for (long position = 0; position < size; position += CHUNK_SIZE) {
+                    update(
+                            digests.values(),
+                            channel.map(
+                                    FileChannel.MapMode.READ_ONLY, position, Math.min(CHUNK_SIZE, size - position)));
+                }
+            }
+        }
+        LinkedHashMap<String, String> result = new LinkedHashMap<>();
+        digests.forEach((extension, digest) -> result.put(extension, ChecksumUtils.toHexString(digest.digest())));
+        return result;
+    }
+
+    private static void update(Iterable<MessageDigest> digests, ByteBuffer buffer) {
+        for (MessageDigest digest : digests) {
+            digest.update(buffer.duplicate());
+        }
+    }
+
+    private static String readChecksum(Path sidecar) {
+        try {
+            String content = new String(Files.readAllBytes(sidecar), StandardCharsets.US_ASCII).trim();
+            if (content.isEmpty()) {
+                return null;
+            }
+            // some checksum files carry file name after checksum
+            return content.split("\\s+")[0].toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists one directory, forks walkers for subdirectories and verifies files in it.
+     */
+    private final class Walker extends RecursiveAction {
+        private final Path directory;
+
+        private final AtomicLong files;
+
+        private final AtomicLong bytes;
+
+        private final AtomicLong unverifiable;
+
+        private final ConcurrentLinkedQueue<Mismatch> mismatches;
+
+        private Walker(
+                Path directory,
+                AtomicLong files,
+                AtomicLong bytes,
+                AtomicLong unverifiable,
+                ConcurrentLinkedQueue<Mismatch> mismatches) {
+            this.directory = directory;
+            this.files = files;
+            this.bytes = bytes;
+            this.unverifiable = unverifiable;
+            this.mismatches = mismatches;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayList<RecursiveAction> tasks = new ArrayList<>();
+            TreeSet<String> names = new TreeSet<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path child : stream) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        // removed meanwhile
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        if (!child.equals(quarantine)) {
+                            tasks.add(new Walker(child, files, bytes, unverifiable, mismatches));
+                        }
+                    } else if (attributes.isRegularFile()) {
+                        names.add(child.getFileName().toString());
+                    }
+                }
+            } catch (NoSuchFileException e) {
+                // removed meanwhile
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (String name : names) {
+                if (verifiable(name)) {
+                    Path file = directory.resolve(name);
+                    tasks.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            try {
+                                verifyFile(file, names, files, bytes, unverifiable, mismatches);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    });
+                }
+            }
+            invokeAll(tasks);
+        }
+
+        private boolean verifiable(String name) {
+            for (String extension : ALGORITHMS.keySet()) {
+                if (name.endsWith("." + extension)) {
+                    return false;
+                }
+            }
+            return !name.startsWith(".")
+                    && !name.startsWith("_")
+                    && !name.endsWith(".md5")
+                    && !name.endsWith(".sha256")
+                    && !name.endsWith(".asc")
+                    && !name.endsWith(".lastUpdated")
+                    && !name.endsWith(".part")
+                    && !name.endsWith(".lock")
+                    && !name.equals("resolver-status.properties");
+        }
+    }
+}
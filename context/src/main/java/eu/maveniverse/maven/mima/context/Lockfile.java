@@ -0,0 +1,374 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * Resolution lockfile: records the outcome of dependency resolution (artifacts in resolution order, with their
+ * scope, the repository they were resolved from and their SHA-1 checksum), to be replayed later without dependency
+ * collection.
+ * <p>
+ * Replay first looks up all locked artifacts in local repository, and if all of them are present, returns them
+ * without any further work. Otherwise, it resolves locked artifacts from the repository they were recorded with, and
+ * verifies the checksum of those that had to be resolved. Locked artifacts present in local repository are trusted.
+ * <p>
+ * The lockfile is a UTF-8 text file, with one tab separated line per artifact.
+ *
+ * @since 2.4.5
+ */
+public final class Lockfile {
+    private static final String HEADER = "# MIMA lockfile 1";
+
+    private static final String ROOT = "root";
+
+    private static final String NONE = "-";
+
+    /**
+     * A locked artifact.
+     */
+    public static final class Entry {
+        private final String artifact;
+
+        private final String scope;
+
+        private final String repositoryId;
+
+        private final String repositoryUrl;
+
+        private final String sha1;
+
+        public Entry(String artifact, String scope, String repositoryId, String repositoryUrl, String sha1) {
+            this.artifact = requireNonNull(artifact);
+            this.scope = requireNonNull(scope);
+            this.repositoryId = repositoryId;
+            this.repositoryUrl = repositoryUrl;
+            this.sha1 = sha1;
+        }
+
+        /**
+         * Artifact coordinates, never {@code null}.
+         */
+        public String getArtifact() {
+            return artifact;
+        }
+
+        /**
+         * Dependency scope, may be empty, never {@code null}.
+         */
+        public String getScope() {
+            return scope;
+        }
+
+        /**
+         * Id of remote repository the artifact was resolved from, or {@code null} if not known (ie. it was already
+         * present in local repository).
+         */
+        public String getRepositoryId() {
+            return repositoryId;
+        }
+
+        /**
+         * URL of remote repository the artifact was resolved from, or {@code null} if not known.
+         */
+        public String getRepositoryUrl() {
+            return repositoryUrl;
+        }
+
+        /**
+         * SHA-1 of artifact file, or {@code null} if not known.
+         */
+        public String getSha1() {
+            return sha1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return artifact.equals(entry.artifact)
+                    && scope.equals(entry.scope)
+                    && Objects.equals(repositoryId, entry.repositoryId)
+                    && Objects.equals(repositoryUrl, entry.repositoryUrl)
+                    && Objects.equals(sha1, entry.sha1);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(artifact, scope, repositoryId, repositoryUrl, sha1);
+        }
+    }
+
+    private final String root;
+
+    private final List<Entry> entries;
+
+    public Lockfile(String root, List<Entry> entries) {
+        this.root = requireNonNull(root);
+        this.entries = Collections.unmodifiableList(new ArrayList<>(entries));
+    }
+
+    /**
+     * Creates lockfile out of dependency resolution result, that must have no exceptions.
+     */
+    public static Lockfile of(DependencyResult result) {
+        requireNonNull(result);
+        if (!result.getCollectExceptions().isEmpty()) {
+            throw new IllegalArgumentException("Dependency result has collection exceptions");
+        }
+        DependencyNode rootNode = result.getRoot();
+        String root = rootNode.getArtifact() != null ? rootNode.getArtifact().toString() : "";
+        ArrayList<Entry> entries = new ArrayList<>();
+        for (ArtifactResult artifactResult : result.getArtifactResults()) {
+            if (!artifactResult.isResolved()) {
+                throw new IllegalArgumentException(
+                        "Unresolved artifact " + artifactResult.getRequest().getArtifact());
+            }
+            Artifact artifact = artifactResult.getArtifact();
+            DependencyNode node = artifactResult.getRequest().getDependencyNode();
+            String scope = node != null && node.getDependency() != null
+                    ? node.getDependency().getScope()
+                    : "";
+            ArtifactRepository repository = artifactResult.getRepository();
+            String repositoryId = null;
+            String repositoryUrl = null;
+            if (repository instanceof RemoteRepository) {
+                repositoryId = repository.getId();
+                repositoryUrl = ((RemoteRepository) repository).getUrl();
+            }
+            entries.add(new Entry(artifact.toString(), scope, repositoryId, repositoryUrl, sha1(artifact.getFile())));
+        }
+        return new Lockfile(root, entries);
+    }
+
+    /**
+     * Reads lockfile.
+     */
+    public static Lockfile read(Path file) throws IOException {
+        requireNonNull(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!HEADER.equals(line)) {
+                throw new IOException("Not a lockfile: " + file);
+            }
+            String root = null;
+            ArrayList<Entry> entries = new ArrayList<>();
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\t", -1);
+                if (parts.length == 2 && ROOT.equals(parts[0])) {
+                    root = parts[1];
+                } else if (parts.length == 5) {
+                    entries.add(new Entry(parts[0], parts[1], value(parts[2]), value(parts[3]), value(parts[4])));
+                } else {
+                    throw new IOException("Malformed lockfile " + file + " line: " + line);
+                }
+            }
+            if (root == null) {
+                throw new IOException("Lockfile lacks root: " + file);
+            }
+            return new Lockfile(root, entries);
+        }
+    }
+
+    /**
+     * Writes lockfile, atomically replacing existing file, if any.
+     */
+    public void write(Path file) throws IOException {
+        requireNonNull(file);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                writer.write(ROOT + "\t" + root);
+                writer.newLine();
+                for (Entry entry : entries) {
+                    writer.write(String.join(
+                            "\t",
+                            entry.getArtifact(),
+                            entry.getScope(),
+                            field(entry.getRepositoryId()),
+                            field(entry.getRepositoryUrl()),
+                            field(entry.getSha1())));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * The root artifact coordinates, never {@code null}.
+     */
+    public String getRoot() {
+        return root;
+    }
+
+    /**
+     * The locked artifacts in resolution order, never {@code null}.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Replays lockfile using context, see {@link #replay(RepositorySystem, RepositorySystemSession, List)}.
+     */
+    public List<Artifact> replay(Context context) throws ArtifactResolutionException {
+        requireNonNull(context);
+        return replay(context.repositorySystem(), context.repositorySystemSession(), context.remoteRepositories());
+    }
+
+    /**
+     * Replays lockfile: returns locked artifacts with files, in recorded order. Artifacts are resolved from
+     * remote repository they were recorded with, where remote repositories with same id are preferred, as they carry
+     * authentication and proxy; artifacts with unknown repository are resolved from passed in remote repositories.
+     *
+     * @throws ArtifactResolutionException if some locked artifact could not be resolved, or has checksum mismatch.
+     */
+    public List<Artifact> replay(
+            RepositorySystem repositorySystem,
+            RepositorySystemSession session,
+            List<RemoteRepository> remoteRepositories)
+            throws ArtifactResolutionException {
+        requireNonNull(repositorySystem);
+        requireNonNull(session);
+        requireNonNull(remoteRepositories);
+        ArrayList<Artifact> artifacts = new ArrayList<>(entries.size());
+        ArrayList<ArtifactRequest> requests = new ArrayList<>(entries.size());
+        boolean allLocal = true;
+        for (Entry entry : entries) {
+            Artifact artifact = new DefaultArtifact(entry.getArtifact());
+            List<RemoteRepository> repositories = repositories(repositorySystem, session, remoteRepositories, entry);
+            requests.add(new ArtifactRequest(artifact, repositories, null));
+            if (allLocal) {
+                LocalArtifactResult local = session.getLocalRepositoryManager()
+                        .find(session, new LocalArtifactRequest(artifact, repositories, null));
+                if (local.isAvailable() && local.getFile() != null) {
+                    artifacts.add(artifact.setFile(local.getFile()));
+                } else {
+                    allLocal = false;
+                }
+            }
+        }
+        if (allLocal) {
+            return artifacts;
+        }
+
+        List<ArtifactResult> results = repositorySystem.resolveArtifacts(session, requests);
+        artifacts.clear();
+        boolean mismatch = false;
+        for (int i = 0; i < results.size(); i++) {
+            ArtifactResult result = results.get(i);
+            Entry entry = entries.get(i);
+            if (entry.getSha1() != null && result.getRepository() instanceof RemoteRepository) {
+                String actual = sha1(result.getArtifact().getFile());
+                if (!entry.getSha1().equals(actual)) {
+                    result.addException(new IllegalStateException("Checksum mismatch for " + entry.getArtifact()
+                            + ": locked " + entry.getSha1() + ", actual " + actual));
+                    mismatch = true;
+                }
+            }
+            artifacts.add(result.getArtifact());
+        }
+        if (mismatch) {
+            throw new ArtifactResolutionException(results, "Locked artifacts checksum mismatch");
+        }
+        return artifacts;
+    }
+
+    private static List<RemoteRepository> repositories(
+            RepositorySystem repositorySystem,
+            RepositorySystemSession session,
+            List<RemoteRepository> remoteRepositories,
+            Entry entry) {
+        if (entry.getRepositoryId() == null) {
+            return remoteRepositories;
+        }
+        for (RemoteRepository repository : remoteRepositories) {
+            if (repository.getId().equals(entry.getRepositoryId())) {
+                return Collections.singletonList(repository);
+            }
+            for (RemoteRepository mirrored : repository.getMirroredRepositories()) {
+                if (mirrored.getId().equals(entry.getRepositoryId())) {
+                    return Collections.singletonList(repository);
+                }
+            }
+        }
+        if (entry.getRepositoryUrl() == null) {
+            return remoteRepositories;
+        }
+        return repositorySystem.newResolutionRepositories(
+                session,
+                Collections.singletonList(
+                        new RemoteRepository.Builder(entry.getRepositoryId(), "default", entry.getRepositoryUrl())
+                                .build()));
+    }
+
+    private static String field(String value) {
+        return value != null ? value : NONE;
+    }
+
+    private static String value(String field) {
+        return NONE.equals(field) ? null : field;
+    }
+
+    private static String sha1(File file) {
+        if (file == null) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            return ChecksumUtils.toHexString(digest.digest());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,696 @@
+package eu.maveniverse.maven.mima.context;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
+
+/**
+ * Resolution metrics: counters and latency histograms per repository and per {@link Event}, collected by a
+ * {@link RepositoryListener} and a {@link TransferListener} attached to a session. Instances are thread safe, and
+ * recording does not allocate beyond a small key object per started operation, so metrics may be left on in
+ * production.
+ * <p>
+ * Use {@link #attach(Context)} to get a customized context that records into this instance, and {@link #snapshot()} to
+ * get the (point in time) metrics. Latency histograms have power-of-two microsecond buckets, hence percentiles are
+ * approximate (upper bucket bounds).
+ * <p>
+ * Started operations are tracked until their end event. Operations never ended (like when resolution was aborted) are
+ * evicted once older than 10 minutes, or all at once if 4096 operations are pending; an evicted
+ * operation, if ended later, is counted without latency.
+ *
+ * @since 2.4.5
+ */
+public final class ResolutionMetrics {
+    /**
+     * The repository key of events related to local repository.
+     */
+    public static final String LOCAL = "(local)";
+
+    /**
+     * The repository key of events without repository, like artifacts that failed to resolve.
+     */
+    public static final String NONE = "(none)";
+
+    /**
+     * The recorded event types.
+     */
+    public enum Event {
+        /**
+         * Metadata resolution, from start to end (includes download, if any).
+         */
+        METADATA_RESOLVE,
+
+        /**
+         * Metadata download.
+         */
+        METADATA_DOWNLOAD,
+
+        /**
+         * Artifact descriptor (POM) resolution, from start to end (includes download, if any).
+         */
+        DESCRIPTOR_READ,
+
+        /**
+         * Artifact (non POM) resolution, from start to end (includes download, if any).
+         */
+        ARTIFACT_RESOLVE,
+
+        /**
+         * Artifact (including POM) download.
+         */
+        ARTIFACT_DOWNLOAD,
+
+        /**
+         * Transport level transfer (of any resource), carries transferred bytes as well.
+         */
+        TRANSFER,
+
+        /**
+         * Artifact resolved from local repository (no latency recorded).
+         */
+        CACHE_HIT,
+
+        /**
+         * Artifact resolved from remote repository (no latency recorded).
+         */
+        CACHE_MISS
+    }
+
+    private static final int BUCKETS = 40;
+
+    private static final Event[] EVENTS = Event.values();
+
+    static final int MAX_PENDING = 4096;
+
+    private static final long STALE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ConcurrentHashMap<String, Histogram[]> repositories = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Pending, Long> pending = new ConcurrentHashMap<>();
+
+    private final RepositoryListener repositoryListener = new MetricsRepositoryListener();
+
+    private final TransferListener transferListener = new MetricsTransferListener();
+
+    /**
+     * Returns the repository listener recording into this instance.
+     */
+    public RepositoryListener repositoryListener() {
+        return repositoryListener;
+    }
+
+    /**
+     * Returns the transfer listener recording into this instance.
+     */
+    public TransferListener transferListener() {
+        return transferListener;
+    }
+
+    /**
+     * Returns a customized context of passed in context, that records into this instance. The listeners set by
+     * overrides of passed in context are retained (runtime instrumentation, if any, is applied by customization). The
+     * returned context should be closed once done with it.
+     */
+    public Context attach(Context context) {
+        requireNonNull(context);
+        ContextOverrides overrides = context.contextOverrides();
+        return context.customize(overrides.toBuilder()
+                .repositoryListener(chain(overrides.getRepositoryListener()))
+                .transferListener(chain(overrides.getTransferListener()))
+                .build());
+    }
+
+    /**
+     * Makes passed in session record into this instance. The listeners of passed in session are retained.
+     */
+    public void attach(DefaultRepositorySystemSession session) {
+        requireNonNull(session);
+        session.setRepositoryListener(chain(session.getRepositoryListener()));
+        session.setTransferListener(chain(session.getTransferListener()));
+    }
+
+    /**
+     * Returns point in time snapshot of metrics.
+     */
+    public Snapshot snapshot() {
+        TreeMap<String, Map<Event, Stats>> result = new TreeMap<>();
+        for (Map.Entry<String, Histogram[]> entry : repositories.entrySet()) {
+            EnumMap<Event, Stats> stats = new EnumMap<>(Event.class);
+            Histogram[] histograms = entry.getValue();
+            for (int i = 0; i < histograms.length; i++) {
+                if (histograms[i].count.sum() > 0) {
+                    stats.put(EVENTS[i], histograms[i].stats());
+                }
+            }
+            if (!stats.isEmpty()) {
+                result.put(entry.getKey(), Collections.unmodifiableMap(stats));
+            }
+        }
+        return new Snapshot(Collections.unmodifiableMap(result));
+    }
+
+    /**
+     * Clears all recorded metrics.
+     */
+    public void reset() {
+        repositories.clear();
+        pending.clear();
+    }
+
+    /**
+     * Returns the count of started, not yet ended operations.
+     */
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private RepositoryListener chain(RepositoryListener listener) {
+        return listener != null
+                ? ChainedRepositoryListener.newInstance(listener, repositoryListener)
+                : repositoryListener;
+    }
+
+    private TransferListener chain(TransferListener listener) {
+        return listener != null ? ChainedTransferListener.newInstance(listener, transferListener) : transferListener;
+    }
+
+    private Histogram histogram(String repository, Event event) {
+        return repositories
+                .computeIfAbsent(repository, k -> {
+                    Histogram[] result = new Histogram[EVENTS.length];
+                    for (int i = 0; i < result.length; i++) {
+                        result[i] = new Histogram();
+                    }
+                    return result;
+                })[event.ordinal()];
+    }
+
+    private static String repositoryKey(ArtifactRepository repository) {
+        if (repository == null) {
+            return NONE;
+        } else if (repository instanceof RemoteRepository) {
+            return repository.getId();
+        } else {
+            return LOCAL;
+        }
+    }
+
+    private void start(Event event, Object a, Object b, Object c, Object d, Object e, ArtifactRepository repository) {
+        long now = System.nanoTime();
+        if (pending.size() >= MAX_PENDING) {
+            pending.values().removeIf(started -> now - started > STALE_NANOS);
+            if (pending.size() >= MAX_PENDING) {
+                pending.clear();
+            }
+        }
+        pending.put(new Pending(event, a, b, c, d, e, repository), now);
+    }
+
+    private void end(
+            Event event,
+            Object a,
+            Object b,
+            Object c,
+            Object d,
+            Object e,
+            ArtifactRepository startRepository,
+            ArtifactRepository repository,
+            boolean failed) {
+        Long started = pending.remove(new Pending(event, a, b, c, d, e, startRepository));
+        Histogram histogram = histogram(repositoryKey(repository), event);
+        if (started != null) {
+            histogram.record(System.nanoTime() - started, failed);
+        } else {
+            histogram.increment(failed);
+        }
+    }
+
+    private void startArtifact(Event event, Artifact artifact, ArtifactRepository repository) {
+        if (artifact != null) {
+            start(
+                    event,
+                    artifact.getGroupId(),
+                    artifact.getArtifactId(),
+                    artifact.getBaseVersion(),
+                    artifact.getClassifier(),
+                    artifact.getExtension(),
+                    repository);
+        }
+    }
+
+    private void endArtifact(
+            Event event, Artifact artifact, ArtifactRepository startRepository, RepositoryEvent repositoryEvent) {
+        if (artifact != null) {
+            end(
+                    event,
+                    artifact.getGroupId(),
+                    artifact.getArtifactId(),
+                    artifact.getBaseVersion(),
+                    artifact.getClassifier(),
+                    artifact.getExtension(),
+                    startRepository,
+                    repositoryEvent.getRepository(),
+                    repositoryEvent.getException() != null);
+        }
+    }
+
+    private void startMetadata(Event event, Metadata metadata, ArtifactRepository repository) {
+        if (metadata != null) {
+            start(
+                    event,
+                    metadata.getGroupId(),
+                    metadata.getArtifactId(),
+                    metadata.getVersion(),
+                    metadata.getType(),
+                    metadata.getNature(),
+                    repository);
+        }
+    }
+
+    private void endMetadata(Event event, Metadata metadata, RepositoryEvent repositoryEvent) {
+        if (metadata != null) {
+            end(
+                    event,
+                    metadata.getGroupId(),
+                    metadata.getArtifactId(),
+                    metadata.getVersion(),
+                    metadata.getType(),
+                    metadata.getNature(),
+                    repositoryEvent.getRepository(),
+                    repositoryEvent.getRepository(),
+                    repositoryEvent.getException() != null);
+        }
+    }
+
+    private static Event resolveEvent(Artifact artifact) {
+        return artifact != null && "pom".equals(artifact.getExtension())
+                ? Event.DESCRIPTOR_READ
+                : Event.ARTIFACT_RESOLVE;
+    }
+
+    private final class MetricsRepositoryListener extends AbstractRepositoryListener {
+        @Override
+        public void metadataResolving(RepositoryEvent event) {
+            startMetadata(Event.METADATA_RESOLVE, event.getMetadata(), event.getRepository());
+        }
+
+        @Override
+        public void metadataResolved(RepositoryEvent event) {
+            endMetadata(Event.METADATA_RESOLVE, event.getMetadata(), event);
+        }
+
+        @Override
+        public void metadataDownloading(RepositoryEvent event) {
+            startMetadata(Event.METADATA_DOWNLOAD, event.getMetadata(), event.getRepository());
+        }
+
+        @Override
+        public void metadataDownloaded(RepositoryEvent event) {
+            endMetadata(Event.METADATA_DOWNLOAD, event.getMetadata(), event);
+        }
+
+        @Override
+        public void artifactResolving(RepositoryEvent event) {
+            startArtifact(resolveEvent(event.getArtifact()), event.getArtifact(), null);
+        }
+
+        @Override
+        public void artifactResolved(RepositoryEvent event) {
+            endArtifact(resolveEvent(event.getArtifact()), event.getArtifact(), null, event);
+            if (event.getException() == null && event.getRepository() != null) {
+                histogram(
+                                repositoryKey(event.getRepository()),
+                                event.getRepository() instanceof RemoteRepository ? Event.CACHE_MISS : Event.CACHE_HIT)
+                        .increment(false);
+            }
+        }
+
+        @Override
+        public void artifactDownloading(RepositoryEvent event) {
+            startArtifact(Event.ARTIFACT_DOWNLOAD, event.getArtifact(), event.getRepository());
+        }
+
+        @Override
+        public void artifactDownloaded(RepositoryEvent event) {
+            endArtifact(Event.ARTIFACT_DOWNLOAD, event.getArtifact(), event.getRepository(), event);
+        }
+    }
+
+    private final class MetricsTransferListener extends AbstractTransferListener {
+        @Override
+        public void transferSucceeded(TransferEvent event) {
+            record(event, false);
+        }
+
+        @Override
+        public void transferFailed(TransferEvent event) {
+            record(event, true);
+        }
+
+        private void record(TransferEvent event, boolean failed) {
+            String repository = event.getResource().getRepositoryId();
+            Histogram histogram = histogram(repository != null ? repository : NONE, Event.TRANSFER);
+            long elapsedMillis =
+                    System.currentTimeMillis() - event.getResource().getTransferStartTime();
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(Math.max(0, elapsedMillis)), failed);
+            histogram.bytes.add(event.getTransferredBytes());
+        }
+    }
+
+    private static final class Pending {
+        private final Event event;
+
+        private final long thread;
+
+        private final Object a;
+
+        private final Object b;
+
+        private final Object c;
+
+        private final Object d;
+
+        private final Object e;
+
+        private final ArtifactRepository repository;
+
+        private final int hashCode;
+
+        private Pending(Event event, Object a, Object b, Object c, Object d, Object e, ArtifactRepository repository) {
+            this.event = event;
+            this.thread = Thread.currentThread().getId();
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.e = e;
+            this.repository = repository;
+            this.hashCode = Objects.hash(event, thread, a, b, c, d, e, repository);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Pending that = (Pending) o;
+            return hashCode == that.hashCode
+                    && event == that.event
+                    && thread == that.thread
+                    && Objects.equals(a, that.a)
+                    && Objects.equals(b, that.b)
+                    && Objects.equals(c, that.c)
+                    && Objects.equals(d, that.d)
+                    && Objects.equals(e, that.e)
+                    && Objects.equals(repository, that.repository);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Histogram {
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private void increment(boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+        }
+
+        private void record(long nanos, boolean failed) {
+            increment(failed);
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            long micros = nanos / 1000L;
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            buckets.incrementAndGet(bucket);
+        }
+
+        private Stats stats() {
+            long[] counts = new long[BUCKETS];
+            long recorded = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                recorded += counts[i];
+            }
+            return new Stats(
+                    count.sum(),
+                    failures.sum(),
+                    totalNanos.sum(),
+                    maxNanos.get(),
+                    bytes.sum(),
+                    percentile(counts, recorded, 0.5),
+                    percentile(counts, recorded, 0.9),
+                    percentile(counts, recorded, 0.99));
+        }
+
+        private static long percentile(long[] counts, long recorded, double percentile) {
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(recorded * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return TimeUnit.MICROSECONDS.toNanos(1L << i);
+                }
+            }
+            return TimeUnit.MICROSECONDS.toNanos(1L << (counts.length - 1));
+        }
+    }
+
+    /**
+     * Statistics of one event type of one repository. Latencies are in nanoseconds, percentiles are approximate.
+     */
+    public static final class Stats {
+        private final long count;
+
+        private final long failures;
+
+        private final long totalNanos;
+
+        private final long maxNanos;
+
+        private final long bytes;
+
+        private final long p50Nanos;
+
+        private final long p90Nanos;
+
+        private final long p99Nanos;
+
+        private Stats(
+                long count,
+                long failures,
+                long totalNanos,
+                long maxNanos,
+                long bytes,
+                long p50Nanos,
+                long p90Nanos,
+                long p99Nanos) {
+            this.count = count;
+            this.failures = failures;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.bytes = bytes;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP90Nanos() {
+            return p90Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+    }
+
+    /**
+     * Point in time snapshot of metrics.
+     */
+    public static final class Snapshot {
+        private final Map<String, Map<Event, Stats>> repositories;
+
+        private Snapshot(Map<String, Map<Event, Stats>> repositories) {
+            this.repositories = repositories;
+        }
+
+        /**
+         * Returns statistics per repository (key is repository ID, {@link #LOCAL} or {@link #NONE}) and per event
+         * type. Only events that happened are present.
+         */
+        public Map<String, Map<Event, Stats>> getRepositories() {
+            return repositories;
+        }
+
+        /**
+         * Returns human-readable table of metrics, latencies in milliseconds.
+         */
+        public String toText() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(
+                    "%-24s %-18s %8s %8s %10s %10s %10s %10s %10s %12s%n",
+                    "repository",
+                    "event",
+                    "count",
+                    "failed",
+                    "mean(ms)",
+                    "p50(ms)",
+                    "p90(ms)",
+                    "p99(ms)",
+                    "max(ms)",
+                    "bytes"));
+            for (Map.Entry<String, Map<Event, Stats>> repository : repositories.entrySet()) {
+                for (Map.Entry<Event, Stats> event : repository.getValue().entrySet()) {
+                    Stats stats = event.getValue();
+                    sb.append(String.format(
+                            "%-24s %-18s %8d %8d %10.2f %10.2f %10.2f %10.2f %10.2f %12d%n",
+                            repository.getKey(),
+                            event.getKey(),
+                            stats.count,
+                            stats.failures,
+                            millis(stats.count > 0 ? stats.totalNanos / stats.count : 0),
+                            millis(stats.p50Nanos),
+                            millis(stats.p90Nanos),
+                            millis(stats.p99Nanos),
+                            millis(stats.maxNanos),
+                            stats.bytes));
+                }
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Returns JSON representation of metrics, latencies in nanoseconds.
+         */
+        public String toJson() {
+            StringBuilder sb = new StringBuilder("{\"repositories\":{");
+            boolean firstRepository = true;
+            for (Map.Entry<String, Map<Event, Stats>> repository : repositories.entrySet()) {
+                if (!firstRepository) {
+                    sb.append(',');
+                }
+                firstRepository = false;
+                json(sb, repository.getKey()).append(":{");
+                boolean firstEvent = true;
+                for (Map.Entry<Event, Stats> event : repository.getValue().entrySet()) {
+                    if (!firstEvent) {
+                        sb.append(',');
+                    }
+                    firstEvent = false;
+                    Stats stats = event.getValue();
+                    json(sb, event.getKey().name())
+                            .append(":{\"count\":")
+                            .append(stats.count)
+                            .append(",\"failures\":")
+                            .append(stats.failures)
+                            .append(",\"totalNanos\":")
+                            .append(stats.totalNanos)
+                            .append(",\"p50Nanos\":")
+                            .append(stats.p50Nanos)
+                            .append(",\"p90Nanos\":")
+                            .append(stats.p90Nanos)
+                            .append(",\"p99Nanos\":")
+                            .append(stats.p99Nanos)
+                            .append(",\"maxNanos\":")
+                            .append(stats.maxNanos)
+                            .append(",\"bytes\":")
+                            .append(stats.bytes)
+                            .append('}');
+                }
+                sb.append('}');
+            }
+            return sb.append("}}").toString();
+        }
+
+        @Override
+        public String toString() {
+            return toText();
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        private static StringBuilder json(StringBuilder sb, String value) {
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.append('"');
+        }
+    }
+}
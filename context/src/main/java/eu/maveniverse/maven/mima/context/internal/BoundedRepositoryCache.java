@@ -0,0 +1,209 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntBiFunction;
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * A weight bounded, lock striped {@link RepositoryCache} with LRU eviction. The cache is split into segments (by key
+ * hash), each guarded by its own lock and holding at most its share of the maximum weight. Once a segment goes over
+ * its share, the least recently used entries of it are evicted.
+ * <p>
+ * Entry weights are calculated by a "weigher" function, by default every entry weighs {@code 1}, making the maximum
+ * weight equal to maximum entry count.
+ * <p>
+ * Note: Resolver stores some "pools" as single entries of the cache; evicting those merely makes Resolver recreate
+ * them.
+ *
+ * @since 2.4.5
+ */
+public final class BoundedRepositoryCache implements RepositoryCache {
+    /**
+     * Weigher that weighs all entries as {@code 1}.
+     */
+    public static final ToIntBiFunction<Object, Object> SINGLETON_WEIGHER = (k, v) -> 1;
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    private final ToIntBiFunction<Object, Object> weigher;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates cache with given maximum weight and using {@link #SINGLETON_WEIGHER}.
+     */
+    public BoundedRepositoryCache(long maxWeight) {
+        this(maxWeight, SINGLETON_WEIGHER, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Creates cache with given maximum weight, weigher and count of segments (rounded up to power of two, and lowered
+     * if needed, to have every segment able to hold at least weight of {@code 1}).
+     */
+    public BoundedRepositoryCache(long maxWeight, ToIntBiFunction<Object, Object> weigher, int segments) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("max weight must be positive");
+        }
+        if (segments < 1) {
+            throw new IllegalArgumentException("segments must be positive");
+        }
+        this.weigher = requireNonNull(weigher);
+        int count = 1;
+        while (count < segments) {
+            count <<= 1;
+        }
+        while (count > 1 && maxWeight / count < 1) {
+            count >>= 1;
+        }
+        this.segments = new Segment[count];
+        long segmentMaxWeight = maxWeight / count;
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(segmentMaxWeight);
+        }
+    }
+
+    @Override
+    public Object get(RepositorySystemSession session, Object key) {
+        Object result = segmentFor(key).get(key);
+        if (result != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return result;
+    }
+
+    @Override
+    public void put(RepositorySystemSession session, Object key, Object data) {
+        if (data != null) {
+            int weight = weigher.applyAsInt(key, data);
+            if (weight < 0) {
+                throw new IllegalStateException("negative weight");
+            }
+            segmentFor(key).put(key, data, weight);
+        } else {
+            segmentFor(key).remove(key);
+        }
+    }
+
+    /**
+     * Returns count of entries in cache.
+     */
+    public int size() {
+        int result = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                result += segment.entries.size();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total weight of entries in cache.
+     */
+    public long weight() {
+        long result = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                result += segment.weight;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns count of cache hits (lookups returning value).
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns count of cache misses (lookups not returning value).
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns count of evicted entries.
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + size() + ", weight=" + weight() + ", hits=" + hitCount()
+                + ", misses=" + missCount() + ", evictions=" + evictionCount() + "}";
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Weighted {
+        private final Object value;
+
+        private final int weight;
+
+        private Weighted(Object value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final class Segment {
+        private final long maxWeight;
+
+        private final LinkedHashMap<Object, Weighted> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private long weight;
+
+        private Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        private synchronized Object get(Object key) {
+            Weighted weighted = entries.get(key);
+            return weighted != null ? weighted.value : null;
+        }
+
+        private synchronized void put(Object key, Object value, int entryWeight) {
+            Weighted previous = entries.put(key, new Weighted(value, entryWeight));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entryWeight;
+            Iterator<Map.Entry<Object, Weighted>> iterator = entries.entrySet().iterator();
+            while (weight > maxWeight && iterator.hasNext()) {
+                Map.Entry<Object, Weighted> eldest = iterator.next();
+                weight -= eldest.getValue().weight;
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+
+        private synchronized void remove(Object key) {
+            Weighted previous = entries.remove(key);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyCycle;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.VersionScheme;
+
+/**
+ * Compact binary encoding of collected dependency graphs (with node data as produced by verbose conflict resolution
+ * and dependency management) and their cycles. Strings are written once and referenced afterward, nodes and
+ * repositories are written once and referenced by index, so shared subgraphs and cycles are preserved.
+ * <p>
+ * Only "release graphs" are encodable: graphs having snapshot or version range nodes, or node data of unknown type,
+ * make encoder throw {@link NotEncodableException}.
+ *
+ * @since 2.4.5
+ */
+public final class DependencyGraphCodec {
+    private static final int FORMAT = 1;
+
+    private static final int NULL = 0;
+
+    private static final int TAG_STRING = 1;
+
+    private static final int TAG_BOOLEAN = 2;
+
+    private static final int TAG_NODE = 3;
+
+    private static final int TAG_EXCLUSIONS = 4;
+
+    private static final int TAG_PROPERTIES = 5;
+
+    private final VersionScheme versionScheme = new GenericVersionScheme();
+
+    /**
+     * Thrown when graph cannot be encoded, for example it contains snapshots.
+     */
+    public static final class NotEncodableException extends Exception {
+        public NotEncodableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Encodes graph and cycles into passed output.
+     */
+    public void encode(DependencyNode root, List<DependencyCycle> cycles, DataOutputStream out)
+            throws IOException, NotEncodableException {
+        IdentityHashMap<DependencyNode, Integer> nodes = new IdentityHashMap<>();
+        ArrayList<DependencyNode> order = new ArrayList<>();
+        LinkedHashMap<RemoteRepository, Integer> repositories = new LinkedHashMap<>();
+        ArrayList<DependencyNode> stack = new ArrayList<>();
+        stack.add(root);
+        nodes.put(root, 0);
+        order.add(root);
+        while (!stack.isEmpty()) {
+            DependencyNode node = stack.remove(stack.size() - 1);
+            checkEncodable(node);
+            for (RemoteRepository repository : node.getRepositories()) {
+                registerRepository(repository, repositories);
+            }
+            for (DependencyNode child : node.getChildren()) {
+                if (!nodes.containsKey(child)) {
+                    nodes.put(child, order.size());
+                    order.add(child);
+                    stack.add(child);
+                }
+            }
+        }
+
+        Writer writer = new Writer(out);
+        out.writeInt(FORMAT);
+        writer.varInt(repositories.size());
+        for (RemoteRepository repository : repositories.keySet()) {
+            writer.string(repository.getId());
+            writer.string(repository.getContentType());
+            writer.string(repository.getUrl());
+            writer.policy(repository.getPolicy(false));
+            writer.policy(repository.getPolicy(true));
+            out.writeBoolean(repository.isRepositoryManager());
+            out.writeBoolean(repository.isBlocked());
+            writer.varInt(repository.getMirroredRepositories().size());
+            for (RemoteRepository mirrored : repository.getMirroredRepositories()) {
+                writer.varInt(repositories.get(mirrored));
+            }
+        }
+        writer.varInt(order.size());
+        for (DependencyNode node : order) {
+            if (node.getDependency() != null) {
+                out.writeBoolean(true);
+                writer.dependency(node.getDependency());
+            } else {
+                out.writeBoolean(false);
+                writer.artifact(node.getArtifact());
+            }
+            writer.artifacts(node.getRelocations());
+            writer.artifacts(node.getAliases());
+            writer.string(node.getVersionConstraint() != null ? String.valueOf(node.getVersionConstraint()) : null);
+            writer.string(node.getVersion() != null ? node.getVersion().toString() : null);
+            writer.varInt(node.getManagedBits());
+            writer.varInt(node.getRepositories().size());
+            for (RemoteRepository repository : node.getRepositories()) {
+                writer.varInt(repositories.get(repository));
+            }
+            writer.string(node.getRequestContext());
+            writer.varInt(node.getData().size());
+            for (Map.Entry<?, ?> entry : node.getData().entrySet()) {
+                writer.string((String) entry.getKey());
+                writer.data(entry.getValue(), nodes);
+            }
+            writer.varInt(node.getChildren().size());
+            for (DependencyNode child : node.getChildren()) {
+                writer.varInt(nodes.get(child));
+            }
+        }
+        writer.varInt(cycles.size());
+        for (DependencyCycle cycle : cycles) {
+            writer.dependencies(cycle.getPrecedingDependencies());
+            writer.dependencies(cycle.getCyclicDependencies());
+        }
+    }
+
+    /**
+     * Decodes graph from passed input, using passed function to make remote repositories usable in current session
+     * (decoded ones have no authentication nor proxy). Returns the root node, while decoded cycles are added to the
+     * passed list.
+     */
+    public DependencyNode decode(
+            DataInputStream in,
+            Function<RemoteRepository, RemoteRepository> repositoryResolver,
+            List<DependencyCycle> cycles)
+            throws IOException {
+        if (in.readInt() != FORMAT) {
+            throw new IOException("Unsupported format");
+        }
+        Reader reader = new Reader(in);
+        int repositoryCount = reader.varInt();
+        ArrayList<RemoteRepository> repositories = new ArrayList<>(repositoryCount);
+        for (int i = 0; i < repositoryCount; i++) {
+            RemoteRepository.Builder builder =
+                    new RemoteRepository.Builder(reader.string(), reader.string(), reader.string());
+            builder.setReleasePolicy(reader.policy());
+            builder.setSnapshotPolicy(reader.policy());
+            builder.setRepositoryManager(in.readBoolean());
+            builder.setBlocked(in.readBoolean());
+            int mirroredCount = reader.varInt();
+            ArrayList<RemoteRepository> mirrored = new ArrayList<>(mirroredCount);
+            for (int j = 0; j < mirroredCount; j++) {
+                mirrored.add(repositories.get(reader.varInt()));
+            }
+            builder.setMirroredRepositories(mirrored);
+            repositories.add(builder.build());
+        }
+        HashMap<RemoteRepository, RemoteRepository> resolved = new HashMap<>();
+
+        int nodeCount = reader.varInt();
+        ArrayList<DefaultDependencyNode> nodes = new ArrayList<>(nodeCount);
+        ArrayList<Map<String, Object>> pendingData = new ArrayList<>(nodeCount);
+        ArrayList<int[]> pendingChildren = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            DefaultDependencyNode node = in.readBoolean()
+                    ? new DefaultDependencyNode(reader.dependency())
+                    : new DefaultDependencyNode(reader.artifact());
+            node.setRelocations(reader.artifacts());
+            node.setAliases(reader.artifacts());
+            try {
+                String versionConstraint = reader.string();
+                if (versionConstraint != null) {
+                    node.setVersionConstraint(versionScheme.parseVersionConstraint(versionConstraint));
+                }
+                String version = reader.string();
+                if (version != null) {
+                    node.setVersion(versionScheme.parseVersion(version));
+                }
+            } catch (InvalidVersionSpecificationException e) {
+                throw new IOException(e);
+            }
+            node.setManagedBits(reader.varInt());
+            int nodeRepositoryCount = reader.varInt();
+            ArrayList<RemoteRepository> nodeRepositories = new ArrayList<>(nodeRepositoryCount);
+            for (int j = 0; j < nodeRepositoryCount; j++) {
+                nodeRepositories.add(resolved.computeIfAbsent(repositories.get(reader.varInt()), repositoryResolver));
+            }
+            node.setRepositories(nodeRepositories);
+            node.setRequestContext(reader.string());
+            int dataCount = reader.varInt();
+            LinkedHashMap<String, Object> data = new LinkedHashMap<>();
+            for (int j = 0; j < dataCount; j++) {
+                data.put(reader.string(), reader.data());
+            }
+            pendingData.add(data);
+            int childCount = reader.varInt();
+            int[] children = new int[childCount];
+            for (int j = 0; j < childCount; j++) {
+                children[j] = reader.varInt();
+            }
+            pendingChildren.add(children);
+            nodes.add(node);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            DefaultDependencyNode node = nodes.get(i);
+            for (Map.Entry<String, Object> entry : pendingData.get(i).entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof NodeRef) {
+                    value = nodes.get(((NodeRef) value).index);
+                }
+                node.setData(entry.getKey(), value);
+            }
+            int[] childIndexes = pendingChildren.get(i);
+            ArrayList<DependencyNode> children = new ArrayList<>(childIndexes.length);
+            for (int childIndex : childIndexes) {
+                children.add(nodes.get(childIndex));
+            }
+            node.setChildren(children);
+        }
+        int cycleCount = reader.varInt();
+        for (int i = 0; i < cycleCount; i++) {
+            cycles.add(new DecodedDependencyCycle(reader.dependencies(), reader.dependencies()));
+        }
+        return nodes.get(0);
+    }
+
+    private static void checkEncodable(DependencyNode node) throws NotEncodableException {
+        Artifact artifact = node.getArtifact();
+        if (artifact != null && artifact.isSnapshot()) {
+            throw new NotEncodableException("Snapshot: " + artifact);
+        }
+        if (node.getVersionConstraint() != null && node.getVersionConstraint().getRange() != null) {
+            throw new NotEncodableException("Version range: " + node.getVersionConstraint());
+        }
+        for (Map.Entry<?, ?> entry : node.getData().entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new NotEncodableException("Unsupported node data key: " + entry.getKey());
+            }
+        }
+    }
+
+    private static void registerRepository(
+            RemoteRepository repository, LinkedHashMap<RemoteRepository, Integer> repositories) {
+        if (!repositories.containsKey(repository)) {
+            for (RemoteRepository mirrored : repository.getMirroredRepositories()) {
+                registerRepository(mirrored, repositories);
+            }
+            repositories.put(repository, repositories.size());
+        }
+    }
+
+    private static final class NodeRef {
+        private final int index;
+
+        private NodeRef(int index) {
+            this.index = index;
+        }
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+
+        private final HashMap<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void varInt(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        /**
+         * Strings: {@code 0} is {@code null}, {@code 1} is a new string (that follows), while {@code n > 1} is
+         * reference to {@code n - 2}th string.
+         */
+        private void string(String value) throws IOException {
+            if (value == null) {
+                varInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                varInt(index + 2);
+            } else {
+                strings.put(value, strings.size());
+                varInt(1);
+                out.writeUTF(value);
+            }
+        }
+
+        private void policy(RepositoryPolicy policy) throws IOException {
+            out.writeBoolean(policy.isEnabled());
+            string(policy.getUpdatePolicy());
+            string(policy.getChecksumPolicy());
+        }
+
+        private void artifact(Artifact artifact) throws IOException {
+            string(artifact.getGroupId());
+            string(artifact.getArtifactId());
+            string(artifact.getVersion());
+            string(artifact.getClassifier());
+            string(artifact.getExtension());
+            properties(artifact.getProperties());
+        }
+
+        private void artifacts(Collection<? extends Artifact> artifacts) throws IOException {
+            varInt(artifacts.size());
+            for (Artifact artifact : artifacts) {
+                artifact(artifact);
+            }
+        }
+
+        private void properties(Map<String, String> properties) throws IOException {
+            varInt(properties.size());
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                string(entry.getKey());
+                string(entry.getValue());
+            }
+        }
+
+        private void dependency(Dependency dependency) throws IOException {
+            artifact(dependency.getArtifact());
+            string(dependency.getScope());
+            out.writeByte(dependency.getOptional() == null ? 0 : dependency.getOptional() ? 2 : 1);
+            exclusions(dependency.getExclusions());
+        }
+
+        private void dependencies(List<Dependency> dependencies) throws IOException {
+            varInt(dependencies.size());
+            for (Dependency dependency : dependencies) {
+                dependency(dependency);
+            }
+        }
+
+        private void exclusions(Collection<Exclusion> exclusions) throws IOException {
+            varInt(exclusions.size());
+            for (Exclusion exclusion : exclusions) {
+                string(exclusion.getGroupId());
+                string(exclusion.getArtifactId());
+                string(exclusion.getClassifier());
+                string(exclusion.getExtension());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void data(Object value, IdentityHashMap<DependencyNode, Integer> nodes)
+                throws IOException, NotEncodableException {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof String) {
+                out.writeByte(TAG_STRING);
+                string((String) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte(TAG_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof DependencyNode) {
+                Integer index = nodes.get(value);
+                if (index == null) {
+                    throw new NotEncodableException("Node data refers to node out of graph");
+                }
+                out.writeByte(TAG_NODE);
+                varInt(index);
+            } else if (value instanceof Collection
+                    && ((Collection<?>) value).stream().allMatch(e -> e instanceof Exclusion)) {
+                out.writeByte(TAG_EXCLUSIONS);
+                exclusions((Collection<Exclusion>) value);
+            } else if (value instanceof Map
+                    && ((Map<?, ?>) value)
+                            .entrySet().stream()
+                                    .allMatch(e -> e.getKey() instanceof String && e.getValue() instanceof String)) {
+                out.writeByte(TAG_PROPERTIES);
+                properties((Map<String, String>) value);
+            } else {
+                throw new NotEncodableException(
+                        "Unsupported node data value: " + value.getClass().getName());
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+
+        private final ArrayList<String> strings = new ArrayList<>();
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private int varInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.readUnsignedByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private String string() throws IOException {
+            int marker = varInt();
+            if (marker == 0) {
+                return null;
+            } else if (marker == 1) {
+                String value = in.readUTF();
+                strings.add(value);
+                return value;
+            } else {
+                int index = marker - 2;
+                if (index >= strings.size()) {
+                    throw new IOException("Malformed string reference");
+                }
+                return strings.get(index);
+            }
+        }
+
+        private RepositoryPolicy policy() throws IOException {
+            return new RepositoryPolicy(in.readBoolean(), string(), string());
+        }
+
+        private Artifact artifact() throws IOException {
+            String groupId = string();
+            String artifactId = string();
+            String version = string();
+            String classifier = string();
+            String extension = string();
+            return new DefaultArtifact(groupId, artifactId, classifier, extension, version, properties(), (File) null);
+        }
+
+        private List<Artifact> artifacts() throws IOException {
+            int count = varInt();
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            ArrayList<Artifact> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(artifact());
+            }
+            return result;
+        }
+
+        private Map<String, String> properties() throws IOException {
+            int count = varInt();
+            if (count == 0) {
+                return Collections.emptyMap();
+            }
+            HashMap<String, String> result = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                result.put(string(), string());
+            }
+            return result;
+        }
+
+        private Dependency dependency() throws IOException {
+            Artifact artifact = artifact();
+            String scope = string();
+            byte optional = in.readByte();
+            return new Dependency(artifact, scope, optional == 0 ? null : optional == 2, exclusions());
+        }
+
+        private List<Dependency> dependencies() throws IOException {
+            int count = varInt();
+            ArrayList<Dependency> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(dependency());
+            }
+            return result;
+        }
+
+        private List<Exclusion> exclusions() throws IOException {
+            int count = varInt();
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            ArrayList<Exclusion> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(new Exclusion(string(), string(), string(), string()));
+            }
+            return result;
+        }
+
+        private Object data() throws IOException {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TAG_STRING:
+                    return string();
+                case TAG_BOOLEAN:
+                    return in.readBoolean();
+                case TAG_NODE:
+                    return new NodeRef(varInt());
+                case TAG_EXCLUSIONS:
+                    return exclusions();
+                case TAG_PROPERTIES:
+                    return properties();
+                default:
+                    throw new IOException("Unknown node data tag: " + tag);
+            }
+        }
+    }
+
+    private static final class DecodedDependencyCycle implements DependencyCycle {
+        private final List<Dependency> precedingDependencies;
+
+        private final List<Dependency> cyclicDependencies;
+
+        private DecodedDependencyCycle(List<Dependency> precedingDependencies, List<Dependency> cyclicDependencies) {
+            this.precedingDependencies = Collections.unmodifiableList(precedingDependencies);
+            this.cyclicDependencies = Collections.unmodifiableList(cyclicDependencies);
+        }
+
+        @Override
+        public List<Dependency> getPrecedingDependencies() {
+            return precedingDependencies;
+        }
+
+        @Override
+        public List<Dependency> getCyclicDependencies() {
+            return cyclicDependencies;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder buffer = new StringBuilder(256);
+            for (Dependency dependency : cyclicDependencies) {
+                if (buffer.length() > 0) {
+                    buffer.append(" -> ");
+                }
+                buffer.append(dependency.getArtifact());
+            }
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread safe {@link Supplier} that invokes the wrapped supplier at most once (upon first successful invocation), and
+ * returns the memoized value afterward. If wrapped supplier throws, nothing is memoized, and next invocation will
+ * retry. Wrapped supplier must not return {@code null}.
+ *
+ * @since 2.4.5
+ */
+public final class MemoizingSupplier<T> implements Supplier<T> {
+    private final Object lock = new Object();
+
+    private Supplier<T> delegate;
+
+    private volatile T value;
+
+    private MemoizingSupplier(Supplier<T> delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    /**
+     * Returns memoizing supplier of given supplier, or the passed in supplier itself, if it is memoizing already.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> MemoizingSupplier<T> of(Supplier<T> supplier) {
+        if (supplier instanceof MemoizingSupplier) {
+            return (MemoizingSupplier<T>) supplier;
+        }
+        return new MemoizingSupplier<>(supplier);
+    }
+
+    /**
+     * Returns memoizing supplier of already present value.
+     */
+    public static <T> MemoizingSupplier<T> ofValue(T value) {
+        MemoizingSupplier<T> result = new MemoizingSupplier<>(() -> value);
+        result.get();
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if value was already supplied.
+     */
+    public boolean isPresent() {
+        return value != null;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (lock) {
+                result = value;
+                if (result == null) {
+                    result = requireNonNull(delegate.get(), "supplied value");
+                    value = result;
+                    delegate = null; // let it (and all it captured) be GC-ed
+                }
+            }
+        }
+        return result;
+    }
+}
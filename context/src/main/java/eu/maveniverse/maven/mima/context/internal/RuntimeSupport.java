@@ -6,6 +6,7 @@ import static java.util.stream.Collectors.toMap;
 
 import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.Instrumentation;
 import eu.maveniverse.maven.mima.context.Runtime;
 import java.io.IOException;
 import java.io.InputStream;
@@ -15,12 +16,16 @@ import java.util.*;
 import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositoryCache;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
 import org.eclipse.aether.util.ConfigUtils;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
 import org.eclipse.aether.util.repository.ChainedLocalRepositoryManager;
 
 /**
@@ -33,6 +38,14 @@ public abstract class RuntimeSupport implements Runtime {
 
     private static final String MAVEN_REPO_LOCAL_TAIL_IGNORE_AVAILABILITY = "maven.repo.local.tail.ignoreAvailability";
 
+    private static final String COLLECTOR_IMPL = "aether.dependencyCollector.impl";
+
+    private static final String COLLECTOR_BF_THREADS = "aether.dependencyCollector.bf.threads";
+
+    private static final String CONNECTOR_BASIC_THREADS = "aether.connector.basic.threads";
+
+    private static final String METADATA_RESOLVER_THREADS = "aether.metadataResolver.threads";
+
     public static final Path DEFAULT_BASEDIR =
             Paths.get(System.getProperty("user.dir")).toAbsolutePath();
 
@@ -41,6 +54,8 @@ public abstract class RuntimeSupport implements Runtime {
 
     public static final Path DEFAULT_MAVEN_USER_HOME = DEFAULT_USER_HOME.resolve(".m2");
 
+    private static volatile Instrumentation instrumentation;
+
     private final String name;
 
     private final String version;
@@ -84,9 +99,40 @@ public abstract class RuntimeSupport implements Runtime {
 
     protected Context customizeContext(
             RuntimeSupport runtime, ContextOverrides overrides, Context context, boolean reset) {
+        try (Instrumentation.Span span = instrumentation().begin(Instrumentation.PHASE_CUSTOMIZE, name())) {
+            return doCustomizeContext(runtime, overrides, context, reset);
+        }
+    }
+
+    private Context doCustomizeContext(
+            RuntimeSupport runtime, ContextOverrides overrides, Context context, boolean reset) {
+        MemoizingSupplier<RepositorySystemSession> session =
+                MemoizingSupplier.of(() -> customizeSession(overrides, context, reset));
+        MemoizingSupplier<List<RemoteRepository>> remoteRepositories =
+                MemoizingSupplier.of(() -> context.repositorySystem()
+                        .newResolutionRepositories(
+                                session.get(), customizeRemoteRepositories(overrides, context.remoteRepositories())));
+        if (!overrides.isLazySession()) {
+            remoteRepositories.get();
+        }
+
+        return new Context(
+                runtime,
+                overrides,
+                overrides.getBasedirOverride() != null ? overrides.getBasedirOverride() : context.basedir(),
+                ((MavenUserHomeImpl) context.mavenUserHome()).derive(overrides),
+                ((MavenSystemHomeImpl) context.mavenSystemHome()).derive(overrides),
+                context.repositorySystem(),
+                session,
+                remoteRepositories,
+                context.httpProxy(),
+                null); // derived context: close should NOT shut down repositorySystem
+    }
+
+    protected RepositorySystemSession customizeSession(ContextOverrides overrides, Context context, boolean reset) {
         DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(context.repositorySystemSession());
         if (reset) {
-            session.setCache(new DefaultRepositoryCache());
+            session.setCache(newRepositoryCache(overrides));
             session.setData(new DefaultSessionData());
         }
 
@@ -104,30 +150,123 @@ public abstract class RuntimeSupport implements Runtime {
 
         customizeSnapshotUpdatePolicy(overrides, session);
 
+        collectorConfigProperties(overrides).forEach(session::setConfigProperty);
+
         // settings are used only in creation, not customization
 
+        // listeners of overrides replace the (instrumented) listeners of context session, hence instrument them again
         if (overrides.getTransferListener() != null) {
             session.setTransferListener(overrides.getTransferListener());
+            instrumentTransferListener(session);
         }
         if (overrides.getRepositoryListener() != null) {
             session.setRepositoryListener(overrides.getRepositoryListener());
+            instrumentRepositoryListener(session);
+        }
+
+        if (!reset) {
+            customizeRepositoryCache(overrides, context, session);
         }
-        List<RemoteRepository> remoteRepositories =
-                customizeRemoteRepositories(overrides, context.remoteRepositories());
 
         session.setReadOnly();
+        return session;
+    }
 
-        return new Context(
-                runtime,
-                overrides,
-                overrides.getBasedirOverride() != null ? overrides.getBasedirOverride() : context.basedir(),
-                ((MavenUserHomeImpl) context.mavenUserHome()).derive(overrides),
-                ((MavenSystemHomeImpl) context.mavenSystemHome()).derive(overrides),
-                context.repositorySystem(),
-                session,
-                context.repositorySystem().newResolutionRepositories(session, remoteRepositories),
-                context.httpProxy(),
-                null); // derived context: close should NOT shut down repositorySystem
+    /**
+     * Returns the {@link Instrumentation} discovered by {@link ServiceLoader}, or {@link Instrumentation#NOOP}.
+     *
+     * @since 2.4.5
+     */
+    protected static Instrumentation instrumentation() {
+        Instrumentation result = instrumentation;
+        if (result == null) {
+            synchronized (RuntimeSupport.class) {
+                result = instrumentation;
+                if (result == null) {
+                    Iterator<Instrumentation> instrumentations =
+                            ServiceLoader.load(Instrumentation.class).iterator();
+                    result = instrumentations.hasNext() ? instrumentations.next() : Instrumentation.NOOP;
+                    instrumentation = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds {@link Instrumentation} listeners (if any) to the listeners of a newly created session.
+     *
+     * @since 2.4.5
+     */
+    protected void instrumentSession(DefaultRepositorySystemSession session) {
+        instrumentRepositoryListener(session);
+        instrumentTransferListener(session);
+    }
+
+    private static void instrumentRepositoryListener(DefaultRepositorySystemSession session) {
+        Instrumentation instrumentation = instrumentation();
+        if (instrumentation.repositoryListener() != null) {
+            session.setRepositoryListener(
+                    session.getRepositoryListener() != null
+                            ? ChainedRepositoryListener.newInstance(
+                                    session.getRepositoryListener(), instrumentation.repositoryListener())
+                            : instrumentation.repositoryListener());
+        }
+    }
+
+    private static void instrumentTransferListener(DefaultRepositorySystemSession session) {
+        Instrumentation instrumentation = instrumentation();
+        if (instrumentation.transferListener() != null) {
+            session.setTransferListener(
+                    session.getTransferListener() != null
+                            ? ChainedTransferListener.newInstance(
+                                    session.getTransferListener(), instrumentation.transferListener())
+                            : instrumentation.transferListener());
+        }
+    }
+
+    /**
+     * Creates new {@link RepositoryCache} instance as configured by overrides.
+     *
+     * @since 2.4.5
+     */
+    protected RepositoryCache newRepositoryCache(ContextOverrides overrides) {
+        if (overrides.getRepositoryCacheMaxWeight() > 0) {
+            return new BoundedRepositoryCache(overrides.getRepositoryCacheMaxWeight());
+        }
+        return new DefaultRepositoryCache();
+    }
+
+    /**
+     * Applies {@link ContextOverrides#getRepositoryCacheSharing()} to the session being customized. Must be invoked
+     * once all other session properties are set, as the cache scope depends on them.
+     *
+     * @since 2.4.5
+     */
+    protected void customizeRepositoryCache(
+            ContextOverrides overrides, Context context, DefaultRepositorySystemSession session) {
+        RepositoryCache parentCache = session.getCache();
+        switch (overrides.getRepositoryCacheSharing()) {
+            case ISOLATED:
+                session.setCache(newRepositoryCache(overrides));
+                break;
+            case SCOPED:
+                if (parentCache == null) {
+                    break;
+                }
+                Object scope = ScopedRepositoryCache.scopeOf(
+                        session, customizeRemoteRepositories(overrides, context.remoteRepositories()));
+                if (parentCache instanceof ScopedRepositoryCache) {
+                    session.setCache(((ScopedRepositoryCache) parentCache).rescope(scope));
+                } else {
+                    Object rootScope = ScopedRepositoryCache.scopeOf(
+                            context.repositorySystemSession(), context.remoteRepositories());
+                    session.setCache(new ScopedRepositoryCache(parentCache, rootScope, scope));
+                }
+                break;
+            default:
+                // SHARED: session copy uses same cache
+        }
     }
 
     protected void customizeLocalRepositoryManager(Context context, DefaultRepositorySystemSession session) {
@@ -189,6 +328,36 @@ public abstract class RuntimeSupport implements Runtime {
         }
     }
 
+    /**
+     * Returns the Resolver configuration properties for dependency collector and thread counts set in overrides.
+     * Options not set in overrides are not present in returned map.
+     *
+     * @since 2.4.5
+     */
+    protected Map<String, Object> collectorConfigProperties(ContextOverrides overrides) {
+        HashMap<String, Object> result = new HashMap<>();
+        if (overrides.getDependencyCollector() != null) {
+            switch (overrides.getDependencyCollector()) {
+                case DF:
+                    result.put(COLLECTOR_IMPL, "df");
+                    break;
+                case BF:
+                    result.put(COLLECTOR_IMPL, "bf");
+                    break;
+            }
+        }
+        if (overrides.getCollectorThreads() > 0) {
+            result.put(COLLECTOR_BF_THREADS, overrides.getCollectorThreads());
+        }
+        if (overrides.getDownloadThreads() > 0) {
+            result.put(CONNECTOR_BASIC_THREADS, overrides.getDownloadThreads());
+        }
+        if (overrides.getMetadataThreads() > 0) {
+            result.put(METADATA_RESOLVER_THREADS, overrides.getMetadataThreads());
+        }
+        return result;
+    }
+
     protected List<RemoteRepository> customizeRemoteRepositories(
             ContextOverrides contextOverrides, List<RemoteRepository> remoteRepositories) {
         ArrayList<RemoteRepository> result = new ArrayList<>();
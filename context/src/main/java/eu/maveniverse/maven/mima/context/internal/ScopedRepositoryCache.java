@@ -0,0 +1,127 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.eclipse.aether.RepositoryCache;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * A {@link RepositoryCache} that is a scoped view of a backing cache. Entries are stored in backing cache with keys
+ * qualified by scope, unless scope equals to the "root scope" (the scope of the session owning backing cache), in
+ * which case keys are used as is, and entries are shared with root session.
+ * <p>
+ * The scope is made of session properties that change resolution semantics, see
+ * {@link #scopeOf(RepositorySystemSession, List)}.
+ *
+ * @since 2.4.5
+ */
+public final class ScopedRepositoryCache implements RepositoryCache {
+    private final RepositoryCache backing;
+
+    private final Object rootScope;
+
+    private final Object scope;
+
+    private final boolean root;
+
+    public ScopedRepositoryCache(RepositoryCache backing, Object rootScope, Object scope) {
+        this.backing = requireNonNull(backing);
+        this.rootScope = requireNonNull(rootScope);
+        this.scope = requireNonNull(scope);
+        this.root = rootScope.equals(scope);
+    }
+
+    /**
+     * Returns a view of same backing cache with given scope.
+     */
+    public ScopedRepositoryCache rescope(Object scope) {
+        return new ScopedRepositoryCache(backing, rootScope, scope);
+    }
+
+    /**
+     * Returns the scope of a session, given the remote repositories it will use.
+     */
+    public static Object scopeOf(RepositorySystemSession session, List<RemoteRepository> remoteRepositories) {
+        return new Scope(Arrays.asList(
+                session.isOffline(),
+                session.getChecksumPolicy(),
+                session.getUpdatePolicy(),
+                session.getLocalRepository() != null
+                        ? session.getLocalRepository().getBasedir()
+                        : null,
+                remoteRepositories));
+    }
+
+    @Override
+    public Object get(RepositorySystemSession session, Object key) {
+        return backing.get(session, root ? key : new ScopedKey(scope, key));
+    }
+
+    @Override
+    public void put(RepositorySystemSession session, Object key, Object data) {
+        backing.put(session, root ? key : new ScopedKey(scope, key), data);
+    }
+
+    private static final class Scope {
+        private final List<Object> elements;
+
+        private final int hashCode;
+
+        private Scope(List<Object> elements) {
+            this.elements = elements;
+            this.hashCode = elements.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Scope that = (Scope) o;
+            return hashCode == that.hashCode && elements.equals(that.elements);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class ScopedKey {
+        private final Object scope;
+
+        private final Object key;
+
+        private final int hashCode;
+
+        private ScopedKey(Object scope, Object key) {
+            this.scope = scope;
+            this.key = key;
+            this.hashCode = 31 * scope.hashCode() + Objects.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ScopedKey that = (ScopedKey) o;
+            return Objects.equals(key, that.key) && Objects.equals(scope, that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
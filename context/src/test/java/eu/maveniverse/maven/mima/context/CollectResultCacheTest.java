@@ -0,0 +1,95 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencySelector;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.graph.manager.ClassicDependencyManager;
+import org.eclipse.aether.util.graph.selector.AndDependencySelector;
+import org.eclipse.aether.util.graph.selector.ExclusionDependencySelector;
+import org.eclipse.aether.util.graph.selector.OptionalDependencySelector;
+import org.eclipse.aether.util.graph.selector.ScopeDependencySelector;
+import org.eclipse.aether.util.graph.transformer.ChainedDependencyGraphTransformer;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.graph.transformer.JavaDependencyContextRefiner;
+import org.eclipse.aether.util.graph.transformer.JavaScopeDeriver;
+import org.eclipse.aether.util.graph.transformer.JavaScopeSelector;
+import org.eclipse.aether.util.graph.transformer.NearestVersionSelector;
+import org.eclipse.aether.util.graph.transformer.SimpleOptionalitySelector;
+import org.eclipse.aether.util.graph.traverser.FatArtifactTraverser;
+import org.eclipse.aether.util.repository.SimpleArtifactDescriptorPolicy;
+import org.junit.jupiter.api.Test;
+
+class CollectResultCacheTest {
+    private static String key(DependencySelector selector) {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setDependencySelector(selector);
+        session.setDependencyManager(new ClassicDependencyManager());
+        return CollectResultCache.key(
+                session, new CollectRequest(new Dependency(new DefaultArtifact("org.example:a:1.0"), "runtime"), null));
+    }
+
+    @Test
+    void keyDoesNotDependOnHashCodes() {
+        // equal, but separately created components (whose hash codes are identity based)
+        String key = key(new AndDependencySelector(
+                new ScopeDependencySelector("test", "provided"),
+                new OptionalDependencySelector(),
+                new ExclusionDependencySelector()));
+        assertEquals(
+                key,
+                key(new AndDependencySelector(
+                        new ExclusionDependencySelector(),
+                        new OptionalDependencySelector(),
+                        new ScopeDependencySelector("provided", "test"))));
+        assertNotEquals(
+                key,
+                key(new AndDependencySelector(
+                        new ScopeDependencySelector("test"),
+                        new OptionalDependencySelector(),
+                        new ExclusionDependencySelector())));
+    }
+
+    @Test
+    void keyOfMavenSession() {
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setDependencyTraverser(new FatArtifactTraverser());
+        session.setDependencyManager(new ClassicDependencyManager());
+        session.setDependencySelector(new AndDependencySelector(
+                new ScopeDependencySelector("test", "provided"),
+                new OptionalDependencySelector(),
+                new ExclusionDependencySelector()));
+        session.setDependencyGraphTransformer(new ChainedDependencyGraphTransformer(
+                new ConflictResolver(
+                        new NearestVersionSelector(), new JavaScopeSelector(),
+                        new SimpleOptionalitySelector(), new JavaScopeDeriver()),
+                new JavaDependencyContextRefiner()));
+        session.setArtifactDescriptorPolicy(new SimpleArtifactDescriptorPolicy(true, true));
+        assertNotNull(CollectResultCache.key(
+                session,
+                new CollectRequest(new Dependency(new DefaultArtifact("org.example:a:1.0"), "runtime"), null)));
+    }
+
+    @Test
+    void unknownComponentHasNoKey() {
+        // custom component: its configuration is unknown
+        assertNull(key(new AndDependencySelector(new OptionalDependencySelector(), new DependencySelector() {
+            @Override
+            public boolean selectDependency(Dependency dependency) {
+                return true;
+            }
+
+            @Override
+            public DependencySelector deriveChildSelector(DependencyCollectionContext context) {
+                return this;
+            }
+        })));
+    }
+}
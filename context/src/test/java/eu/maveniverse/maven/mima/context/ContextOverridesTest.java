@@ -2,6 +2,7 @@ package eu.maveniverse.maven.mima.context;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -57,4 +58,25 @@ class ContextOverridesTest {
         assertEquals(co1, co5);
         assertEquals(co5.getUserProperties().get("foo"), "bar");
     }
+
+    @Test
+    void parallelCollection() {
+        ContextOverrides co1 = ContextOverrides.create()
+                .dependencyCollector(ContextOverrides.DependencyCollectorImpl.BF)
+                .collectorThreads(8)
+                .downloadThreads(6)
+                .metadataThreads(4)
+                .build();
+        ContextOverrides co2 = co1.toBuilder().build();
+        ContextOverrides co3 = co2.toBuilder().downloadThreads(0).build();
+
+        assertEquals(co1, co2);
+        assertEquals(ContextOverrides.DependencyCollectorImpl.BF, co2.getDependencyCollector());
+        assertEquals(8, co2.getCollectorThreads());
+        assertEquals(6, co2.getDownloadThreads());
+        assertEquals(4, co2.getMetadataThreads());
+        assertNotEquals(co1, co3);
+        assertThrows(
+                IllegalArgumentException.class, () -> ContextOverrides.create().metadataThreads(-1));
+    }
 }
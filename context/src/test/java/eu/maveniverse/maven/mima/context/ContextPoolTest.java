@@ -0,0 +1,80 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ContextPoolTest {
+    @Test
+    void sameOverridesShareRoot() {
+        TestRuntime runtime = new TestRuntime();
+        try (ContextPool pool = new ContextPool(runtime, Duration.ofHours(1))) {
+            ContextOverrides overrides = ContextOverrides.create().build();
+            try (Context c1 = pool.acquire(overrides);
+                    Context c2 = pool.acquire(overrides.toBuilder().build())) {
+                assertNotSame(c1, c2);
+                assertSame(c1.repositorySystemSession(), c2.repositorySystemSession());
+                assertEquals(1, runtime.created.get());
+            }
+            assertEquals(0, runtime.closed.get());
+            assertEquals(1, pool.size());
+
+            try (Context c3 = pool.acquire(overrides.toBuilder().offline(true).build())) {
+                assertEquals(2, runtime.created.get());
+                assertEquals(2, pool.size());
+            }
+        }
+        assertEquals(2, runtime.closed.get());
+    }
+
+    @Test
+    void zeroIdleTimeoutClosesOnLastRelease() {
+        TestRuntime runtime = new TestRuntime();
+        try (ContextPool pool = new ContextPool(runtime, Duration.ZERO)) {
+            ContextOverrides overrides = ContextOverrides.create().build();
+            Context c1 = pool.acquire(overrides);
+            Context c2 = pool.acquire(overrides);
+            c1.close();
+            c1.close(); // closing lease twice must not release twice
+            assertEquals(0, runtime.closed.get());
+            c2.close();
+            assertEquals(1, runtime.closed.get());
+            assertEquals(0, pool.size());
+
+            pool.acquire(overrides).close();
+            assertEquals(2, runtime.created.get());
+            assertEquals(2, runtime.closed.get());
+        }
+    }
+
+    @Test
+    void evictIdle() throws InterruptedException {
+        TestRuntime runtime = new TestRuntime();
+        try (ContextPool pool = new ContextPool(runtime, Duration.ofMillis(1))) {
+            ContextOverrides overrides = ContextOverrides.create().build();
+            Context lease = pool.acquire(overrides);
+            Thread.sleep(5);
+            pool.evictIdle();
+            assertEquals(0, runtime.closed.get()); // has lease
+
+            lease.close();
+            Thread.sleep(5);
+            pool.evictIdle();
+            assertEquals(1, runtime.closed.get());
+            assertEquals(0, pool.size());
+        }
+    }
+
+    @Test
+    void closedPool() {
+        ContextPool pool = new ContextPool(new TestRuntime(), Duration.ZERO);
+        pool.close();
+        assertThrows(
+                IllegalStateException.class,
+                () -> pool.acquire(ContextOverrides.create().build()));
+    }
+}
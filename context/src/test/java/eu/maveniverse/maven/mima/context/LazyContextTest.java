@@ -0,0 +1,52 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
+import java.util.List;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+
+class LazyContextTest {
+    @Test
+    void sessionCreatedOnceOnFirstAccess() throws InterruptedException {
+        TestRuntime runtime = new TestRuntime();
+        try (Context context =
+                runtime.create(ContextOverrides.create().lazySession(true).build())) {
+            assertEquals(
+                    RuntimeSupport.DEFAULT_MAVEN_USER_HOME,
+                    context.mavenUserHome().basedir());
+            assertEquals(0, runtime.sessions.get());
+
+            RepositorySystemSession[] seen = new RepositorySystemSession[4];
+            Thread[] threads = new Thread[seen.length];
+            for (int i = 0; i < threads.length; i++) {
+                int idx = i;
+                threads[i] = new Thread(() -> seen[idx] = context.repositorySystemSession());
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(1, runtime.sessions.get());
+            for (RepositorySystemSession session : seen) {
+                assertSame(seen[0], session);
+            }
+            List<RemoteRepository> repositories = context.remoteRepositories();
+            assertEquals(0, repositories.size());
+        }
+    }
+
+    @Test
+    void closedBeforeAccess() {
+        TestRuntime runtime = new TestRuntime();
+        Context context =
+                runtime.create(ContextOverrides.create().lazySession(true).build());
+        context.close();
+        assertThrows(IllegalStateException.class, context::repositorySystemSession);
+        assertEquals(0, runtime.sessions.get());
+    }
+}
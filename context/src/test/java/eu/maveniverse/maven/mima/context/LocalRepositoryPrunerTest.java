@@ -0,0 +1,139 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.SyncContext;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalRepositoryPrunerTest {
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @TempDir
+    Path repository;
+
+    private final List<String> locked = new ArrayList<>();
+
+    private DefaultRepositorySystemSession session() {
+        LocalRepository localRepository = new LocalRepository(repository.toFile());
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setLocalRepositoryManager(TestRuntime.proxy(LocalRepositoryManager.class, (p, m, a) -> {
+            if ("getRepository".equals(m.getName())) {
+                return localRepository;
+            }
+            throw new UnsupportedOperationException(m.getName());
+        }));
+        return session;
+    }
+
+    private Context context() {
+        SyncContext syncContext = TestRuntime.proxy(SyncContext.class, (p, m, a) -> {
+            if ("acquire".equals(m.getName())) {
+                for (Object artifact : (Collection<?>) a[0]) {
+                    locked.add(artifact.toString());
+                }
+            }
+            return null;
+        });
+        return new TestRuntime(
+                        (p, m, a) -> {
+                            if ("newSyncContext".equals(m.getName()) && Boolean.FALSE.equals(a[1])) {
+                                return syncContext;
+                            }
+                            throw new UnsupportedOperationException(m.getName());
+                        },
+                        this::session)
+                .create(ContextOverrides.create().build());
+    }
+
+    private Path version(String path, int size, long modified) throws Exception {
+        Path directory = repository.resolve(path);
+        Files.createDirectories(directory);
+        String artifactId = directory.getParent().getFileName().toString();
+        String version = directory.getFileName().toString();
+        Path file = directory.resolve(artifactId + "-" + version + ".jar");
+        Files.write(file, new byte[size]);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+        return file;
+    }
+
+    @Test
+    void journal() throws Exception {
+        LocalRepositoryAccessJournal journal = new LocalRepositoryAccessJournal();
+        DefaultRepositorySystemSession session = session();
+        journal.attach(session);
+        Artifact artifact = new DefaultArtifact("org.example:a:1.0")
+                .setFile(version("org/example/a/1.0", 1, 0).toFile());
+        RepositoryEvent event = new RepositoryEvent.Builder(session, RepositoryEvent.EventType.ARTIFACT_RESOLVED)
+                .setArtifact(artifact)
+                .build();
+        session.getRepositoryListener().artifactResolved(event);
+        session.getRepositoryListener().artifactResolved(event);
+
+        Map<String, Long> entries = LocalRepositoryAccessJournal.read(repository);
+        assertEquals(Collections.singleton("org/example/a/1.0"), entries.keySet());
+        assertTrue(System.currentTimeMillis() - entries.get("org/example/a/1.0") < DAY);
+        // recorded once: 4 + 2 + path length
+        assertEquals(
+                6 + "org/example/a/1.0".length(), Files.size(LocalRepositoryAccessJournal.journalFile(repository)));
+    }
+
+    @Test
+    void prune() throws Exception {
+        long now = System.currentTimeMillis();
+        Path oldButUsed = version("org/example/a/1.0", 100, now - 10 * DAY);
+        Path old = version("org/example/a/2.0", 100, now - 5 * DAY);
+        Path recent = version("org/example/b/1.0-SNAPSHOT", 100, now - DAY);
+        Files.write(repository.resolve("org/example/a/maven-metadata-central.xml"), new byte[50]);
+        LocalRepositoryAccessJournal.write(repository, Collections.singletonMap("org/example/a/1.0", now));
+
+        try (Context context = context()) {
+            LocalRepositoryPruner.Result dryRun = LocalRepositoryPruner.create(context)
+                    .maxSize(200)
+                    .dryRun(true)
+                    .build()
+                    .prune();
+            assertEquals(350, dryRun.getSizeBefore());
+            assertEquals(150, dryRun.getSizeAfter());
+            assertEquals(2, dryRun.getEvictions().size());
+            assertTrue(Files.exists(old));
+            assertTrue(locked.isEmpty());
+
+            LocalRepositoryPruner.Result result =
+                    LocalRepositoryPruner.create(context).maxSize(300).build().prune();
+            assertEquals(350, result.getSizeBefore());
+            assertEquals(250, result.getSizeAfter());
+            assertEquals(1, result.getEvictions().size());
+            assertEquals(0, result.getSkipped());
+            assertEquals(
+                    repository.resolve("org/example/a/2.0"),
+                    result.getEvictions().get(0).getDirectory());
+            assertEquals(Collections.singletonList("org.example:a:pom:2.0"), locked);
+            assertFalse(Files.exists(old.getParent()));
+            assertTrue(Files.exists(oldButUsed));
+            assertTrue(Files.exists(recent));
+        }
+        assertEquals(
+                new HashSet<>(Arrays.asList("org/example/a/1.0", "org/example/b/1.0-SNAPSHOT")),
+                LocalRepositoryAccessJournal.read(repository).keySet());
+    }
+}
@@ -0,0 +1,108 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalRepositoryVerifierTest {
+    @TempDir
+    Path temp;
+
+    private Path file(String path, byte[] content) throws Exception {
+        Path file = temp.resolve("repo").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        return file;
+    }
+
+    private void sidecar(Path file, String extension, String content) throws Exception {
+        Files.write(
+                file.resolveSibling(file.getFileName() + "." + extension), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void verify() throws Exception {
+        // "hello" checksums
+        String sha1 = "aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d";
+        String sha512 = "9b71d224bd62f3785d96d46ad3ea3d73319bfbc2890caadae2dff72519673ca7"
+                + "2323c3d99ba5c11d7c7acc6e14b8c5da0c4663475c2e5c3adef46f73bcdec043";
+        byte[] hello = "hello".getBytes(StandardCharsets.UTF_8);
+        // large enough to be read memory-mapped
+        byte[] large = new byte[1024 * 1024];
+
+        Path good = file("org/example/good/1.0/good-1.0.jar", hello);
+        sidecar(good, "sha1", sha1 + "  good-1.0.jar\n");
+        sidecar(good, "sha512", sha512.toUpperCase());
+        Path bad = file("org/example/bad/1.0/bad-1.0.jar", large);
+        sidecar(bad, "sha1", sha1);
+        file("org/example/bad/1.0/bad-1.0.pom", hello);
+
+        List<LocalRepositoryVerifier.Mismatch> notified = Collections.synchronizedList(new ArrayList<>());
+        LocalRepositoryVerifier.Result result = LocalRepositoryVerifier.create(temp.resolve("repo"))
+                .parallelism(2)
+                .listener(notified::add)
+                .build()
+                .verify();
+        assertEquals(2, result.getVerifiedFiles());
+        assertEquals(hello.length + large.length, result.getVerifiedBytes());
+        assertEquals(1, result.getUnverifiableFiles());
+        assertEquals(1, result.getMismatches().size());
+        assertEquals(notified, result.getMismatches());
+        LocalRepositoryVerifier.Mismatch mismatch = result.getMismatches().get(0);
+        assertEquals(bad.toAbsolutePath(), mismatch.getFile());
+        assertEquals("sha1", mismatch.getAlgorithm());
+        assertEquals("3b71f43ff30f4b15b5cd85dd9e95ebc7e84eb5a3", mismatch.getActual());
+        assertNull(mismatch.getQuarantined());
+        assertTrue(Files.exists(bad));
+    }
+
+    @Test
+    void quarantine() throws Exception {
+        Path bad = file("org/example/bad/1.0/bad-1.0.jar", "hello".getBytes(StandardCharsets.UTF_8));
+        sidecar(bad, "sha1", "0000000000000000000000000000000000000000");
+
+        LocalRepositoryVerifier.Result result = LocalRepositoryVerifier.create(temp.resolve("repo"))
+                .quarantine(temp.resolve("quarantine"))
+                .build()
+                .verify();
+        assertEquals(1, result.getMismatches().size());
+        Path quarantined = temp.resolve("quarantine/org/example/bad/1.0/bad-1.0.jar");
+        assertEquals(quarantined.toAbsolutePath(), result.getMismatches().get(0).getQuarantined());
+        assertTrue(Files.exists(quarantined));
+        assertTrue(Files.exists(quarantined.resolveSibling("bad-1.0.jar.sha1")));
+        assertFalse(Files.exists(bad));
+    }
+
+    @Test
+    void quarantineFailureIsReported() throws Exception {
+        Path bad = file("org/example/bad/1.0/bad-1.0.jar", "hello".getBytes(StandardCharsets.UTF_8));
+        sidecar(bad, "sha1", "0000000000000000000000000000000000000000");
+        Path other = file("org/example/other/1.0/other-1.0.jar", "hello".getBytes(StandardCharsets.UTF_8));
+        sidecar(other, "sha1", "0000000000000000000000000000000000000000");
+        // quarantine cannot be created, as it is a file
+        Files.write(temp.resolve("quarantine"), new byte[0]);
+
+        LocalRepositoryVerifier.Result result = LocalRepositoryVerifier.create(temp.resolve("repo"))
+                .quarantine(temp.resolve("quarantine"))
+                .build()
+                .verify();
+        // scan is not aborted
+        assertEquals(2, result.getMismatches().size());
+        for (LocalRepositoryVerifier.Mismatch mismatch : result.getMismatches()) {
+            assertNull(mismatch.getQuarantined());
+            assertNotNull(mismatch.getQuarantineFailure());
+            assertTrue(Files.exists(mismatch.getFile()));
+        }
+    }
+}
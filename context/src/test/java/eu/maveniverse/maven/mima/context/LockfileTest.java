@@ -0,0 +1,255 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.LocalArtifactRegistration;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalMetadataRegistration;
+import org.eclipse.aether.repository.LocalMetadataRequest;
+import org.eclipse.aether.repository.LocalMetadataResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LockfileTest {
+    @TempDir
+    Path temp;
+
+    private final RemoteRepository central =
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+
+    private ArtifactResult artifactResult(String coords, String scope, Object repository) throws Exception {
+        Path file = temp.resolve(coords.replace(':', '_'));
+        Files.write(file, coords.getBytes(StandardCharsets.UTF_8));
+        Artifact artifact = new DefaultArtifact(coords).setFile(file.toFile());
+        ArtifactRequest request = new ArtifactRequest(new DefaultDependencyNode(new Dependency(artifact, scope)));
+        ArtifactResult result = new ArtifactResult(request);
+        result.setArtifact(artifact);
+        if (repository instanceof RemoteRepository) {
+            result.setRepository((RemoteRepository) repository);
+        } else {
+            result.setRepository((LocalRepository) repository);
+        }
+        return result;
+    }
+
+    @Test
+    void recordWriteRead() throws Exception {
+        DependencyResult dependencyResult = new DependencyResult(
+                new DependencyRequest(new DefaultDependencyNode(new DefaultArtifact("org.example:root:1.0")), null));
+        dependencyResult.setArtifactResults(Arrays.asList(
+                artifactResult("org.example:root:1.0", "compile", central),
+                artifactResult("org.example:b:2.0", "runtime", new LocalRepository(temp.toFile()))));
+
+        Lockfile lockfile = Lockfile.of(dependencyResult);
+        assertEquals("org.example:root:jar:1.0", lockfile.getRoot());
+        assertEquals(2, lockfile.getEntries().size());
+        Lockfile.Entry first = lockfile.getEntries().get(0);
+        assertEquals("org.example:root:jar:1.0", first.getArtifact());
+        assertEquals("central", first.getRepositoryId());
+        assertEquals(40, first.getSha1().length());
+        assertNull(lockfile.getEntries().get(1).getRepositoryId());
+
+        Path file = temp.resolve("locks").resolve("mima.lock");
+        lockfile.write(file);
+        Lockfile read = Lockfile.read(file);
+        assertEquals(lockfile.getRoot(), read.getRoot());
+        assertEquals(lockfile.getEntries(), read.getEntries());
+    }
+
+    @Test
+    void replayFromLocalRepository() throws Exception {
+        Lockfile lockfile = new Lockfile(
+                "org.example:root:1.0",
+                Arrays.asList(
+                        new Lockfile.Entry("org.example:root:jar:1.0", "compile", "central", central.getUrl(), null),
+                        new Lockfile.Entry("org.example:b:jar:2.0", "runtime", null, null, null)));
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setLocalRepositoryManager(new StubLocalRepositoryManager(temp.toFile(), true));
+        // replay served entirely from local repository never touches repository system
+        RepositorySystem repositorySystem = TestRuntime.proxy(RepositorySystem.class, TestRuntime.unsupported());
+
+        List<Artifact> artifacts = lockfile.replay(repositorySystem, session, Collections.singletonList(central));
+        assertEquals(2, artifacts.size());
+        assertEquals(new File(temp.toFile(), "b-2.0.jar"), artifacts.get(1).getFile());
+    }
+
+    @Test
+    void replayResolvesFromLockedRepositories() throws Exception {
+        RemoteRepository mirror = new RemoteRepository.Builder("mirror", "default", "https://mirror.example/")
+                .setMirroredRepositories(Collections.singletonList(
+                        new RemoteRepository.Builder("apache", "default", "https://repository.apache.org/").build()))
+                .build();
+        Lockfile lockfile = new Lockfile(
+                "org.example:root:1.0",
+                Arrays.asList(
+                        new Lockfile.Entry(
+                                "org.example:a:jar:1.0",
+                                "compile",
+                                "central",
+                                "https://central.example/",
+                                sha1("org.example:a:jar:1.0")),
+                        new Lockfile.Entry(
+                                "org.example:b:jar:1.0", "compile", "apache", "https://repository.apache.org/", null),
+                        new Lockfile.Entry("org.example:c:jar:1.0", "compile", "other", "https://other.example/", null),
+                        new Lockfile.Entry("org.example:d:jar:1.0", "compile", null, null, null)));
+        List<List<RemoteRepository>> resolvedFrom = new ArrayList<>();
+        RepositorySystem repositorySystem = resolvingRepositorySystem(resolvedFrom);
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setLocalRepositoryManager(new StubLocalRepositoryManager(temp.toFile(), false));
+
+        List<Artifact> artifacts = lockfile.replay(repositorySystem, session, Arrays.asList(central, mirror));
+        assertEquals(4, artifacts.size());
+        assertEquals("org.example:a:jar:1.0", artifacts.get(0).toString());
+        assertTrue(artifacts.get(0).getFile().isFile());
+        // by id, by mirrored id, by URL (unknown id), and by all repositories (unknown repository)
+        assertEquals(Collections.singletonList(central), resolvedFrom.get(0));
+        assertEquals(Collections.singletonList(mirror), resolvedFrom.get(1));
+        assertEquals(1, resolvedFrom.get(2).size());
+        assertEquals("other", resolvedFrom.get(2).get(0).getId());
+        assertEquals("https://other.example/", resolvedFrom.get(2).get(0).getUrl());
+        assertEquals(Arrays.asList(central, mirror), resolvedFrom.get(3));
+    }
+
+    @Test
+    void replayFailsOnChecksumMismatch() throws Exception {
+        Lockfile lockfile = new Lockfile(
+                "org.example:root:1.0",
+                Arrays.asList(
+                        new Lockfile.Entry(
+                                "org.example:a:jar:1.0",
+                                "compile",
+                                "central",
+                                central.getUrl(),
+                                sha1("org.example:a:jar:1.0")),
+                        new Lockfile.Entry(
+                                "org.example:b:jar:1.0", "compile", "central", central.getUrl(), sha1("tampered"))));
+        RepositorySystem repositorySystem = resolvingRepositorySystem(new ArrayList<>());
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setLocalRepositoryManager(new StubLocalRepositoryManager(temp.toFile(), false));
+
+        ArtifactResolutionException e = assertThrows(
+                ArtifactResolutionException.class,
+                () -> lockfile.replay(repositorySystem, session, Collections.singletonList(central)));
+        assertTrue(e.getResults().get(0).getExceptions().isEmpty());
+        assertEquals(1, e.getResults().get(1).getExceptions().size());
+        assertTrue(e.getResults().get(1).getExceptions().get(0).getMessage().startsWith("Checksum mismatch"));
+    }
+
+    private static String sha1(String content) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8));
+        return String.format("%040x", new BigInteger(1, digest));
+    }
+
+    /**
+     * Repository system "resolving" artifacts from first repository of request into files having artifact
+     * coordinates as content, recording repositories of requests.
+     */
+    private RepositorySystem resolvingRepositorySystem(List<List<RemoteRepository>> resolvedFrom) {
+        return TestRuntime.proxy(RepositorySystem.class, (proxy, method, args) -> {
+            if ("newResolutionRepositories".equals(method.getName())) {
+                return args[1];
+            } else if ("resolveArtifacts".equals(method.getName())) {
+                ArrayList<ArtifactResult> results = new ArrayList<>();
+                for (Object o : (List<?>) args[1]) {
+                    ArtifactRequest request = (ArtifactRequest) o;
+                    resolvedFrom.add(request.getRepositories());
+                    Path file = temp.resolve(request.getArtifact().getArtifactId() + ".jar");
+                    Files.write(file, request.getArtifact().toString().getBytes(StandardCharsets.UTF_8));
+                    ArtifactResult result = new ArtifactResult(request);
+                    result.setArtifact(request.getArtifact().setFile(file.toFile()));
+                    result.setRepository(request.getRepositories().get(0));
+                    results.add(result);
+                }
+                return results;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static final class StubLocalRepositoryManager implements LocalRepositoryManager {
+        private final LocalRepository repository;
+
+        private final boolean present;
+
+        private StubLocalRepositoryManager(File basedir, boolean present) {
+            this.repository = new LocalRepository(basedir);
+            this.present = present;
+        }
+
+        @Override
+        public LocalRepository getRepository() {
+            return repository;
+        }
+
+        @Override
+        public String getPathForLocalArtifact(Artifact artifact) {
+            return artifact.getArtifactId() + "-" + artifact.getVersion() + "." + artifact.getExtension();
+        }
+
+        @Override
+        public String getPathForRemoteArtifact(Artifact artifact, RemoteRepository repository, String context) {
+            return getPathForLocalArtifact(artifact);
+        }
+
+        @Override
+        public String getPathForLocalMetadata(Metadata metadata) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getPathForRemoteMetadata(Metadata metadata, RemoteRepository repository, String context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LocalArtifactResult find(RepositorySystemSession session, LocalArtifactRequest request) {
+            LocalArtifactResult result = new LocalArtifactResult(request);
+            if (present) {
+                result.setFile(new File(repository.getBasedir(), getPathForLocalArtifact(request.getArtifact())));
+                result.setAvailable(true);
+            }
+            return result;
+        }
+
+        @Override
+        public void add(RepositorySystemSession session, LocalArtifactRegistration request) {}
+
+        @Override
+        public LocalMetadataResult find(RepositorySystemSession session, LocalMetadataRequest request) {
+            return new LocalMetadataResult(request);
+        }
+
+        @Override
+        public void add(RepositorySystemSession session, LocalMetadataRegistration request) {}
+    }
+}
@@ -0,0 +1,110 @@
+package eu.maveniverse.maven.mima.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Map;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.junit.jupiter.api.Test;
+
+class ResolutionMetricsTest {
+    private final DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+    private final RemoteRepository central =
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+
+    private RepositoryEvent event(RepositoryEvent.EventType type, DefaultArtifact artifact, Object repository) {
+        RepositoryEvent.Builder builder = new RepositoryEvent.Builder(session, type).setArtifact(artifact);
+        if (repository instanceof RemoteRepository) {
+            builder.setRepository((RemoteRepository) repository);
+        } else if (repository instanceof LocalRepository) {
+            builder.setRepository((LocalRepository) repository);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void recordsPerRepositoryAndEvent() {
+        ResolutionMetrics metrics = new ResolutionMetrics();
+        RepositoryListener listener = metrics.repositoryListener();
+        DefaultArtifact jar = new DefaultArtifact("org.example:a:1.0");
+        DefaultArtifact pom = new DefaultArtifact("org.example:a:pom:1.0");
+        LocalRepository local = new LocalRepository(new File("target/local"));
+
+        listener.artifactResolving(event(RepositoryEvent.EventType.ARTIFACT_RESOLVING, pom, null));
+        listener.artifactDownloading(event(RepositoryEvent.EventType.ARTIFACT_DOWNLOADING, pom, central));
+        listener.artifactDownloaded(event(RepositoryEvent.EventType.ARTIFACT_DOWNLOADED, pom, central));
+        listener.artifactResolved(event(RepositoryEvent.EventType.ARTIFACT_RESOLVED, pom, central));
+        listener.artifactResolving(event(RepositoryEvent.EventType.ARTIFACT_RESOLVING, jar, null));
+        listener.artifactResolved(event(RepositoryEvent.EventType.ARTIFACT_RESOLVED, jar, local));
+
+        TransferResource resource =
+                new TransferResource("central", central.getUrl(), "org/example/a/1.0/a-1.0.pom", null, null);
+        resource.setContentLength(100);
+        TransferEvent transferEvent = new TransferEvent.Builder(session, resource)
+                .setType(TransferEvent.EventType.SUCCEEDED)
+                .setTransferredBytes(100)
+                .build();
+        metrics.transferListener().transferSucceeded(transferEvent);
+
+        ResolutionMetrics.Snapshot snapshot = metrics.snapshot();
+        Map<ResolutionMetrics.Event, ResolutionMetrics.Stats> remote =
+                snapshot.getRepositories().get("central");
+        assertNotNull(remote);
+        assertEquals(1, remote.get(ResolutionMetrics.Event.DESCRIPTOR_READ).getCount());
+        assertEquals(1, remote.get(ResolutionMetrics.Event.ARTIFACT_DOWNLOAD).getCount());
+        assertEquals(1, remote.get(ResolutionMetrics.Event.CACHE_MISS).getCount());
+        assertEquals(100, remote.get(ResolutionMetrics.Event.TRANSFER).getBytes());
+        assertNull(remote.get(ResolutionMetrics.Event.ARTIFACT_RESOLVE));
+
+        Map<ResolutionMetrics.Event, ResolutionMetrics.Stats> localStats =
+                snapshot.getRepositories().get(ResolutionMetrics.LOCAL);
+        assertEquals(1, localStats.get(ResolutionMetrics.Event.ARTIFACT_RESOLVE).getCount());
+        assertEquals(1, localStats.get(ResolutionMetrics.Event.CACHE_HIT).getCount());
+        assertEquals(0, localStats.get(ResolutionMetrics.Event.CACHE_HIT).getFailures());
+
+        assertTrue(snapshot.toText().contains("DESCRIPTOR_READ"));
+        assertTrue(snapshot.toJson().startsWith("{\"repositories\":{\"(local)\":{\"ARTIFACT_RESOLVE\":{\"count\":1"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().getRepositories().isEmpty());
+    }
+
+    @Test
+    void pendingIsBounded() {
+        ResolutionMetrics metrics = new ResolutionMetrics();
+        RepositoryListener listener = metrics.repositoryListener();
+        for (int i = 0; i <= ResolutionMetrics.MAX_PENDING; i++) {
+            // never ended, like aborted resolution
+            listener.artifactResolving(event(
+                    RepositoryEvent.EventType.ARTIFACT_RESOLVING, new DefaultArtifact("org.example:a:" + i), null));
+        }
+        assertTrue(metrics.pendingCount() <= ResolutionMetrics.MAX_PENDING);
+
+        metrics.reset();
+        assertEquals(0, metrics.pendingCount());
+    }
+
+    @Test
+    void attachRetainsListeners() {
+        ResolutionMetrics metrics = new ResolutionMetrics();
+        session.setRepositoryListener(new AbstractRepositoryListener() {});
+        metrics.attach(session);
+        assertInstanceOf(ChainedRepositoryListener.class, session.getRepositoryListener());
+        assertSame(metrics.transferListener(), session.getTransferListener());
+    }
+}
@@ -0,0 +1,80 @@
+package eu.maveniverse.maven.mima.context;
+
+import eu.maveniverse.maven.mima.context.internal.MavenUserHomeImpl;
+import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Runtime for tests, creating contexts without any resolver behind them: repository system is a proxy using given
+ * handler (failing all calls by default), and sessions are created by given supplier on first access. Counts created
+ * contexts, created sessions and closed contexts.
+ */
+final class TestRuntime extends RuntimeSupport {
+    final AtomicInteger created = new AtomicInteger();
+
+    final AtomicInteger sessions = new AtomicInteger();
+
+    final AtomicInteger closed = new AtomicInteger();
+
+    private final RepositorySystem repositorySystem;
+
+    private final Supplier<? extends RepositorySystemSession> sessionSupplier;
+
+    TestRuntime() {
+        this(unsupported(), DefaultRepositorySystemSession::new);
+    }
+
+    TestRuntime(InvocationHandler repositorySystem, Supplier<? extends RepositorySystemSession> sessionSupplier) {
+        super("test", "1.0", 0, UNKNOWN);
+        this.repositorySystem = proxy(RepositorySystem.class, repositorySystem);
+        this.sessionSupplier = sessionSupplier;
+    }
+
+    /**
+     * Returns proxy of given interface using given handler.
+     */
+    static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * Returns handler failing all calls.
+     */
+    static InvocationHandler unsupported() {
+        return (p, m, a) -> {
+            throw new UnsupportedOperationException(m.getName());
+        };
+    }
+
+    @Override
+    public boolean managedRepositorySystem() {
+        return true;
+    }
+
+    @Override
+    public Context create(ContextOverrides overrides) {
+        created.incrementAndGet();
+        return new Context(
+                this,
+                overrides,
+                DEFAULT_BASEDIR,
+                new MavenUserHomeImpl(DEFAULT_MAVEN_USER_HOME),
+                null,
+                repositorySystem,
+                () -> {
+                    sessions.incrementAndGet();
+                    return sessionSupplier.get();
+                },
+                Collections::<RemoteRepository>emptyList,
+                null,
+                closed::incrementAndGet);
+    }
+}
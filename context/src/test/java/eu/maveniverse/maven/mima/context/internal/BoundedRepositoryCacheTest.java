@@ -0,0 +1,61 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedRepositoryCacheTest {
+    @Test
+    void lruEviction() {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache(2, BoundedRepositoryCache.SINGLETON_WEIGHER, 1);
+        cache.put(null, "a", "A");
+        cache.put(null, "b", "B");
+        assertEquals("A", cache.get(null, "a")); // "b" becomes eldest
+        cache.put(null, "c", "C");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertNull(cache.get(null, "b"));
+        assertEquals("A", cache.get(null, "a"));
+        assertEquals("C", cache.get(null, "c"));
+        assertEquals(3, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void weigher() {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache(10, (k, v) -> ((String) v).length(), 1);
+        cache.put(null, "a", "123456");
+        cache.put(null, "b", "1234");
+        assertEquals(10, cache.weight());
+        cache.put(null, "c", "1");
+        assertEquals(5, cache.weight());
+        assertNull(cache.get(null, "a"));
+
+        cache.put(null, "b", null); // null removes
+        assertEquals(1, cache.weight());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void segmentsBoundedByWeight() {
+        BoundedRepositoryCache cache = new BoundedRepositoryCache(100, BoundedRepositoryCache.SINGLETON_WEIGHER, 16);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(null, i, i);
+        }
+        assertEquals(cache.size(), cache.weight());
+        assertEquals(1000 - cache.size(), cache.evictionCount());
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRepositoryCache(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BoundedRepositoryCache(10, BoundedRepositoryCache.SINGLETON_WEIGHER, 0));
+    }
+}
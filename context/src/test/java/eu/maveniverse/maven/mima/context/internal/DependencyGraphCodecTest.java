@@ -0,0 +1,107 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyCycle;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.jupiter.api.Test;
+
+class DependencyGraphCodecTest {
+    private final GenericVersionScheme versionScheme = new GenericVersionScheme();
+
+    private DefaultDependencyNode node(String coords, String scope, RemoteRepository repository) throws Exception {
+        DefaultArtifact artifact = new DefaultArtifact(coords);
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(
+                artifact, scope, false, Collections.singletonList(new Exclusion("org.excluded", "*", "*", "*"))));
+        node.setVersion(versionScheme.parseVersion(artifact.getVersion()));
+        node.setVersionConstraint(versionScheme.parseVersionConstraint(artifact.getVersion()));
+        node.setRepositories(Collections.singletonList(repository));
+        return node;
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        RemoteRepository central =
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+        RemoteRepository mirror = new RemoteRepository.Builder("mirror", "default", "https://mirror.example/")
+                .setMirroredRepositories(Collections.singletonList(central))
+                .build();
+
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("org.example:root:1.0"));
+        DefaultDependencyNode a = node("org.example:a:1.0", "compile", mirror);
+        DefaultDependencyNode b = node("org.example:b:2.0", "runtime", central);
+        DefaultDependencyNode loser = node("org.example:b:1.0", "compile", central);
+        loser.setData("conflict.winner", b);
+        loser.setData("conflict.originalScope", "compile");
+        loser.setData("premanaged.optional", Boolean.TRUE);
+        a.setChildren(new ArrayList<>(Arrays.asList(b, loser)));
+        root.setChildren(new ArrayList<>(Arrays.asList(a, b)));
+
+        DependencyCycle cycle = new DependencyCycle() {
+            @Override
+            public java.util.List<Dependency> getPrecedingDependencies() {
+                return Collections.singletonList(a.getDependency());
+            }
+
+            @Override
+            public java.util.List<Dependency> getCyclicDependencies() {
+                return Arrays.asList(b.getDependency(), a.getDependency());
+            }
+        };
+
+        DependencyGraphCodec codec = new DependencyGraphCodec();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        codec.encode(root, Collections.singletonList(cycle), new DataOutputStream(bytes));
+
+        ArrayList<DependencyCycle> cycles = new ArrayList<>();
+        DependencyNode decoded =
+                codec.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), r -> r, cycles);
+
+        assertEquals(root.getArtifact(), decoded.getArtifact());
+        assertEquals(2, decoded.getChildren().size());
+        DependencyNode decodedA = decoded.getChildren().get(0);
+        DependencyNode decodedB = decoded.getChildren().get(1);
+        assertEquals(a.getDependency(), decodedA.getDependency());
+        assertEquals(a.getVersion(), decodedA.getVersion());
+        assertEquals(mirror, decodedA.getRepositories().get(0));
+        assertEquals(
+                central,
+                decodedA.getRepositories().get(0).getMirroredRepositories().get(0));
+        // shared node stays shared
+        assertSame(decodedB, decodedA.getChildren().get(0));
+        DependencyNode decodedLoser = decodedA.getChildren().get(1);
+        assertSame(decodedB, decodedLoser.getData().get("conflict.winner"));
+        assertEquals("compile", decodedLoser.getData().get("conflict.originalScope"));
+        assertEquals(Boolean.TRUE, decodedLoser.getData().get("premanaged.optional"));
+
+        assertEquals(1, cycles.size());
+        assertEquals(cycle.getPrecedingDependencies(), cycles.get(0).getPrecedingDependencies());
+        assertEquals(cycle.getCyclicDependencies(), cycles.get(0).getCyclicDependencies());
+    }
+
+    @Test
+    void snapshotNotEncodable() throws Exception {
+        RemoteRepository central =
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("org.example:root:1.0"));
+        root.setChildren(
+                new ArrayList<>(Collections.singletonList(node("org.example:a:1.0-SNAPSHOT", "compile", central))));
+        assertThrows(DependencyGraphCodec.NotEncodableException.class, () -> new DependencyGraphCodec()
+                .encode(root, Collections.emptyList(), new DataOutputStream(new ByteArrayOutputStream())));
+    }
+}
@@ -0,0 +1,43 @@
+package eu.maveniverse.maven.mima.context.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+
+class ScopedRepositoryCacheTest {
+    private static final List<RemoteRepository> REPOSITORIES = Collections.singletonList(
+            new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+
+    @Test
+    void scoping() {
+        DefaultRepositoryCache backing = new DefaultRepositoryCache();
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        Object rootScope = ScopedRepositoryCache.scopeOf(session, REPOSITORIES);
+        backing.put(session, "key", "root");
+
+        ScopedRepositoryCache same =
+                new ScopedRepositoryCache(backing, rootScope, ScopedRepositoryCache.scopeOf(session, REPOSITORIES));
+        assertEquals("root", same.get(session, "key"));
+
+        session.setOffline(true);
+        ScopedRepositoryCache offline = same.rescope(ScopedRepositoryCache.scopeOf(session, REPOSITORIES));
+        assertNull(offline.get(session, "key"));
+        offline.put(session, "key", "offline");
+        assertEquals("offline", offline.get(session, "key"));
+        assertEquals("root", backing.get(session, "key"));
+
+        session.setOffline(false);
+        ScopedRepositoryCache other = same.rescope(ScopedRepositoryCache.scopeOf(session, Collections.emptyList()));
+        assertNull(other.get(session, "key"));
+
+        session.setOffline(true);
+        ScopedRepositoryCache offlineAgain = other.rescope(ScopedRepositoryCache.scopeOf(session, REPOSITORIES));
+        assertEquals("offline", offlineAgain.get(session, "key"));
+    }
+}
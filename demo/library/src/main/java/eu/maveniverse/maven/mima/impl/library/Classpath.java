@@ -2,17 +2,22 @@ package eu.maveniverse.maven.mima.impl.library;
 
 import static java.util.Objects.requireNonNull;
 
+import eu.maveniverse.maven.mima.context.CollectResultCache;
 import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.ContextOverrides;
 import eu.maveniverse.maven.mima.context.Runtime;
 import eu.maveniverse.maven.mima.context.Runtimes;
+import java.util.Collections;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.resolution.DependencyRequest;
 import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.resolution.DependencyResult;
 import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +26,20 @@ public class Classpath {
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private final boolean collectCache;
+
+    public Classpath() {
+        this(false);
+    }
+
+    /**
+     * @param collectCache if {@code true}, collected graphs are cached on disk (in Maven User Home), and same (release)
+     *                     GAV is not collected again.
+     */
+    public Classpath(boolean collectCache) {
+        this.collectCache = collectCache;
+    }
+
     public String classpath(ContextOverrides overrides, String artifactStr) throws DependencyResolutionException {
         requireNonNull(artifactStr);
         Runtime runtime = Runtimes.INSTANCE.getRuntime();
@@ -42,9 +61,30 @@ public class Classpath {
         collectRequest.setRoot(dependency);
         collectRequest.setRepositories(context.remoteRepositories());
 
-        DependencyRequest dependencyRequest = new DependencyRequest();
-        dependencyRequest.setCollectRequest(collectRequest);
+        if (!collectCache) {
+            DependencyRequest dependencyRequest = new DependencyRequest();
+            dependencyRequest.setCollectRequest(collectRequest);
+            return resolveClasspath(context, dependencyRequest);
+        }
+
+        CollectResult collectResult;
+        try {
+            collectResult = CollectResultCache.of(context)
+                    .collectDependencies(
+                            context.repositorySystem(), context.repositorySystemSession(), collectRequest);
+        } catch (DependencyCollectionException e) {
+            DependencyRequest dependencyRequest = new DependencyRequest();
+            dependencyRequest.setCollectRequest(collectRequest);
+            DependencyResult dependencyResult = new DependencyResult(dependencyRequest);
+            dependencyResult.setCollectExceptions(Collections.singletonList(e));
+            throw new DependencyResolutionException(dependencyResult, e);
+        }
+
+        return resolveClasspath(context, new DependencyRequest(collectResult.getRoot(), null));
+    }
 
+    private String resolveClasspath(Context context, DependencyRequest dependencyRequest)
+            throws DependencyResolutionException {
         DependencyNode rootNode = context.repositorySystem()
                 .resolveDependencies(context.repositorySystemSession(), dependencyRequest)
                 .getRoot();
@@ -58,7 +98,7 @@ public class Classpath {
         if (args.length != 1) {
             throw new IllegalArgumentException("g:a:v");
         }
-        Classpath classpath = new Classpath();
+        Classpath classpath = new Classpath(Boolean.getBoolean("mima.collectCache"));
         try {
             ContextOverrides overrides =
                     ContextOverrides.create().withUserSettings(true).build();
@@ -0,0 +1,32 @@
+package eu.maveniverse.maven.mima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Artifact resolution or download.
+ */
+@Name("eu.maveniverse.maven.mima.Artifact")
+@Label("MIMA Artifact")
+@Category("MIMA")
+@Description("Artifact resolution or download")
+final class ArtifactEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Coordinates")
+    String coordinates;
+
+    @Label("Repository")
+    String repositoryId;
+
+    @Label("Size")
+    @DataAmount
+    long bytes;
+
+    @Label("Failed")
+    boolean failed;
+}
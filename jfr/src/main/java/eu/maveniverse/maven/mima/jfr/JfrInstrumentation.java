@@ -0,0 +1,265 @@
+package eu.maveniverse.maven.mima.jfr;
+
+import eu.maveniverse.maven.mima.context.Instrumentation;
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.EventType;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+
+/**
+ * {@link Instrumentation} emitting Java Flight Recorder events. While no recording has MIMA events enabled, this
+ * instrumentation does nothing beyond checking event type state.
+ * <p>
+ * Started events are tracked until their end event. Events never ended (like when resolution was aborted) are
+ * evicted once older than 10 minutes, or all at once if 4096 events are pending; an evicted event is not committed.
+ *
+ * @since 2.4.5
+ */
+public final class JfrInstrumentation implements Instrumentation {
+    private static final EventType PHASE = EventType.getEventType(PhaseEvent.class);
+
+    private static final EventType ARTIFACT = EventType.getEventType(ArtifactEvent.class);
+
+    private static final EventType METADATA = EventType.getEventType(MetadataEvent.class);
+
+    private static final EventType TRANSFER = EventType.getEventType(TransferEvent.class);
+
+    private static final String RESOLVE = "resolve";
+
+    private static final String DOWNLOAD = "download";
+
+    private static final Span NOOP_SPAN = () -> {};
+
+    static final int MAX_PENDING = 4096;
+
+    private static final long STALE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ConcurrentHashMap<String, Started<jdk.jfr.Event>> pending = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<TransferResource, Started<TransferEvent>> transfers = new ConcurrentHashMap<>();
+
+    private final RepositoryListener repositoryListener = new JfrRepositoryListener();
+
+    private final TransferListener transferListener = new JfrTransferListener();
+
+    @Override
+    public Span begin(String phase, String runtime) {
+        if (!PHASE.isEnabled()) {
+            return NOOP_SPAN;
+        }
+        PhaseEvent event = new PhaseEvent();
+        event.phase = phase;
+        event.runtime = runtime;
+        event.begin();
+        return event::commit;
+    }
+
+    @Override
+    public RepositoryListener repositoryListener() {
+        return repositoryListener;
+    }
+
+    @Override
+    public TransferListener transferListener() {
+        return transferListener;
+    }
+
+    /**
+     * Returns the count of started, not yet ended events.
+     */
+    int pendingCount() {
+        return pending.size() + transfers.size();
+    }
+
+    private static final class Started<E> {
+        private final E event;
+
+        private final long nanos;
+
+        private Started(E event, long nanos) {
+            this.event = event;
+            this.nanos = nanos;
+        }
+    }
+
+    private static <K, E> void start(ConcurrentHashMap<K, Started<E>> map, K key, E event) {
+        long now = System.nanoTime();
+        if (map.size() >= MAX_PENDING) {
+            map.values().removeIf(started -> now - started.nanos > STALE_NANOS);
+            if (map.size() >= MAX_PENDING) {
+                map.clear();
+            }
+        }
+        map.put(key, new Started<>(event, now));
+    }
+
+    private static <K, E> E end(ConcurrentHashMap<K, Started<E>> map, K key) {
+        Started<E> started = map.remove(key);
+        return started != null ? started.event : null;
+    }
+
+    private static String key(String operation, Object coordinates, ArtifactRepository repository) {
+        return Thread.currentThread().getId() + "|" + operation + "|" + coordinates + "|"
+                + (repository != null ? repository.getId() : "");
+    }
+
+    private static String coordinates(Metadata metadata) {
+        StringBuilder sb = new StringBuilder();
+        if (!metadata.getGroupId().isEmpty()) {
+            sb.append(metadata.getGroupId());
+            if (!metadata.getArtifactId().isEmpty()) {
+                sb.append(':').append(metadata.getArtifactId());
+                if (!metadata.getVersion().isEmpty()) {
+                    sb.append(':').append(metadata.getVersion());
+                }
+            }
+        }
+        return sb.append('/').append(metadata.getType()).toString();
+    }
+
+    private void beginArtifact(String operation, Artifact artifact, ArtifactRepository repository) {
+        if (ARTIFACT.isEnabled() && artifact != null) {
+            ArtifactEvent event = new ArtifactEvent();
+            event.operation = operation;
+            event.coordinates = artifact.toString();
+            event.begin();
+            start(pending, key(operation, event.coordinates, repository), event);
+        }
+    }
+
+    private void endArtifact(String operation, RepositoryEvent repositoryEvent, ArtifactRepository startRepository) {
+        if (!pending.isEmpty() && repositoryEvent.getArtifact() != null) {
+            ArtifactEvent event = (ArtifactEvent)
+                    end(pending, key(operation, repositoryEvent.getArtifact().toString(), startRepository));
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repositoryId = repositoryEvent.getRepository() != null
+                            ? repositoryEvent.getRepository().getId()
+                            : null;
+                    File file = repositoryEvent.getFile();
+                    event.bytes = file != null ? file.length() : 0L;
+                    event.failed = repositoryEvent.getException() != null;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private void beginMetadata(String operation, Metadata metadata, ArtifactRepository repository) {
+        if (METADATA.isEnabled() && metadata != null) {
+            MetadataEvent event = new MetadataEvent();
+            event.operation = operation;
+            event.coordinates = coordinates(metadata);
+            event.repositoryId = repository != null ? repository.getId() : null;
+            event.begin();
+            start(pending, key(operation, event.coordinates, repository), event);
+        }
+    }
+
+    private void endMetadata(String operation, RepositoryEvent repositoryEvent) {
+        if (!pending.isEmpty() && repositoryEvent.getMetadata() != null) {
+            MetadataEvent event = (MetadataEvent) end(
+                    pending,
+                    key(operation, coordinates(repositoryEvent.getMetadata()), repositoryEvent.getRepository()));
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.failed = repositoryEvent.getException() != null;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private final class JfrRepositoryListener extends AbstractRepositoryListener {
+        @Override
+        public void artifactResolving(RepositoryEvent event) {
+            beginArtifact(RESOLVE, event.getArtifact(), null);
+        }
+
+        @Override
+        public void artifactResolved(RepositoryEvent event) {
+            endArtifact(RESOLVE, event, null);
+        }
+
+        @Override
+        public void artifactDownloading(RepositoryEvent event) {
+            beginArtifact(DOWNLOAD, event.getArtifact(), event.getRepository());
+        }
+
+        @Override
+        public void artifactDownloaded(RepositoryEvent event) {
+            endArtifact(DOWNLOAD, event, event.getRepository());
+        }
+
+        @Override
+        public void metadataResolving(RepositoryEvent event) {
+            beginMetadata(RESOLVE, event.getMetadata(), event.getRepository());
+        }
+
+        @Override
+        public void metadataResolved(RepositoryEvent event) {
+            endMetadata(RESOLVE, event);
+        }
+
+        @Override
+        public void metadataDownloading(RepositoryEvent event) {
+            beginMetadata(DOWNLOAD, event.getMetadata(), event.getRepository());
+        }
+
+        @Override
+        public void metadataDownloaded(RepositoryEvent event) {
+            endMetadata(DOWNLOAD, event);
+        }
+    }
+
+    private final class JfrTransferListener extends AbstractTransferListener {
+        @Override
+        public void transferInitiated(org.eclipse.aether.transfer.TransferEvent event) {
+            if (TRANSFER.isEnabled()) {
+                TransferEvent transferEvent = new TransferEvent();
+                transferEvent.requestType = event.getRequestType().name();
+                transferEvent.resource = event.getResource().getRepositoryUrl()
+                        + event.getResource().getResourceName();
+                transferEvent.repositoryId = event.getResource().getRepositoryId();
+                transferEvent.begin();
+                start(transfers, event.getResource(), transferEvent);
+            }
+        }
+
+        @Override
+        public void transferSucceeded(org.eclipse.aether.transfer.TransferEvent event) {
+            end(event, false);
+        }
+
+        @Override
+        public void transferFailed(org.eclipse.aether.transfer.TransferEvent event) {
+            end(event, true);
+        }
+
+        private void end(org.eclipse.aether.transfer.TransferEvent event, boolean failed) {
+            if (transfers.isEmpty()) {
+                return;
+            }
+            TransferEvent transferEvent = JfrInstrumentation.end(transfers, event.getResource());
+            if (transferEvent != null) {
+                transferEvent.end();
+                if (transferEvent.shouldCommit()) {
+                    transferEvent.bytes = event.getTransferredBytes();
+                    transferEvent.failed = failed;
+                    transferEvent.commit();
+                }
+            }
+        }
+    }
+}
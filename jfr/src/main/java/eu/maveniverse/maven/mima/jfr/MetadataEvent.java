@@ -0,0 +1,27 @@
+package eu.maveniverse.maven.mima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Metadata resolution or download.
+ */
+@Name("eu.maveniverse.maven.mima.Metadata")
+@Label("MIMA Metadata")
+@Category("MIMA")
+@Description("Metadata resolution or download")
+final class MetadataEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Coordinates")
+    String coordinates;
+
+    @Label("Repository")
+    String repositoryId;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,21 @@
+package eu.maveniverse.maven.mima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A phase of runtime context creation or customization.
+ */
+@Name("eu.maveniverse.maven.mima.Phase")
+@Label("MIMA Phase")
+@Category("MIMA")
+@Description("A phase of context creation or customization")
+final class PhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Runtime")
+    String runtime;
+}
@@ -0,0 +1,32 @@
+package eu.maveniverse.maven.mima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Transport level transfer of a resource.
+ */
+@Name("eu.maveniverse.maven.mima.Transfer")
+@Label("MIMA Transfer")
+@Category("MIMA")
+@Description("Transport level transfer of a resource")
+final class TransferEvent extends jdk.jfr.Event {
+    @Label("Request")
+    String requestType;
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Repository")
+    String repositoryId;
+
+    @Label("Transferred")
+    @DataAmount
+    long bytes;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,100 @@
+package eu.maveniverse.maven.mima.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import eu.maveniverse.maven.mima.context.Instrumentation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.jupiter.api.Test;
+
+class JfrInstrumentationTest {
+    @Test
+    void recordsEvents() throws Exception {
+        JfrInstrumentation instrumentation = new JfrInstrumentation();
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        RemoteRepository central =
+                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+        DefaultArtifact artifact = new DefaultArtifact("org.example:a:1.0");
+
+        // disabled: nothing recorded, nothing kept
+        instrumentation.begin(Instrumentation.PHASE_PRE_BOOT, "test").close();
+
+        Path file = Files.createTempFile("mima", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.class).withoutThreshold();
+            recording.enable(ArtifactEvent.class).withoutThreshold();
+            recording.start();
+
+            try (Instrumentation.Span span = instrumentation.begin(Instrumentation.PHASE_SESSION_BUILD, "test")) {
+                instrumentation
+                        .repositoryListener()
+                        .artifactDownloading(
+                                new RepositoryEvent.Builder(session, RepositoryEvent.EventType.ARTIFACT_DOWNLOADING)
+                                        .setArtifact(artifact)
+                                        .setRepository(central)
+                                        .build());
+                instrumentation
+                        .repositoryListener()
+                        .artifactDownloaded(
+                                new RepositoryEvent.Builder(session, RepositoryEvent.EventType.ARTIFACT_DOWNLOADED)
+                                        .setArtifact(artifact)
+                                        .setRepository(central)
+                                        .build());
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> phases = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("eu.maveniverse.maven.mima.Phase"))
+                    .collect(Collectors.toList());
+            assertEquals(1, phases.size());
+            assertEquals(Instrumentation.PHASE_SESSION_BUILD, phases.get(0).getString("phase"));
+
+            List<RecordedEvent> artifacts = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("eu.maveniverse.maven.mima.Artifact"))
+                    .collect(Collectors.toList());
+            assertEquals(1, artifacts.size());
+            assertEquals("download", artifacts.get(0).getString("operation"));
+            assertEquals("org.example:a:jar:1.0", artifacts.get(0).getString("coordinates"));
+            assertEquals("central", artifacts.get(0).getString("repositoryId"));
+            assertTrue(artifacts.get(0).getDuration().toNanos() >= 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void pendingIsBounded() {
+        JfrInstrumentation instrumentation = new JfrInstrumentation();
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        try (Recording recording = new Recording()) {
+            recording.enable(ArtifactEvent.class).withoutThreshold();
+            recording.start();
+
+            for (int i = 0; i <= JfrInstrumentation.MAX_PENDING; i++) {
+                // never ended, like aborted resolution
+                instrumentation
+                        .repositoryListener()
+                        .artifactResolving(
+                                new RepositoryEvent.Builder(session, RepositoryEvent.EventType.ARTIFACT_RESOLVING)
+                                        .setArtifact(new DefaultArtifact("org.example:a:" + i))
+                                        .build());
+            }
+            assertTrue(instrumentation.pendingCount() > 0);
+            assertTrue(instrumentation.pendingCount() <= JfrInstrumentation.MAX_PENDING);
+        }
+    }
+}
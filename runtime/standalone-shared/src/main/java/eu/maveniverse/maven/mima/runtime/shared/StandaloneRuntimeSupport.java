@@ -5,11 +5,15 @@ import static java.util.stream.Collectors.toMap;
 import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.ContextOverrides;
 import eu.maveniverse.maven.mima.context.HTTPProxy;
+import eu.maveniverse.maven.mima.context.Instrumentation;
 import eu.maveniverse.maven.mima.context.MavenSystemHome;
 import eu.maveniverse.maven.mima.context.MavenUserHome;
 import eu.maveniverse.maven.mima.context.internal.MavenSystemHomeImpl;
 import eu.maveniverse.maven.mima.context.internal.MavenUserHomeImpl;
+import eu.maveniverse.maven.mima.context.internal.MemoizingSupplier;
 import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
+import eu.maveniverse.maven.mima.runtime.shared.internal.SettingsSnapshots;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
@@ -48,11 +52,12 @@ import org.apache.maven.settings.crypto.SettingsDecryptionResult;
 import org.apache.maven.settings.merge.MavenSettingsMerger;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.eclipse.aether.ConfigurationProperties;
-import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.aether.util.repository.AuthenticationBuilder;
 import org.eclipse.aether.util.repository.DefaultAuthenticationSelector;
 import org.eclipse.aether.util.repository.DefaultMirrorSelector;
@@ -62,6 +67,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
+    /**
+     * Config property to enable on-disk snapshots of effective settings (by default disabled). If enabled, the built
+     * effective settings are stored under Maven User Home, and are reused as long as settings files and properties
+     * referenced from them are unchanged, saving settings parsing and building.
+     *
+     * @since 2.4.5
+     */
+    public static final String CONFIG_PROP_SETTINGS_SNAPSHOT = "mima.settings.snapshot";
+
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     protected StandaloneRuntimeSupport(String name, int priority) {
@@ -79,6 +93,12 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
     }
 
     protected PreBoot preBoot(ContextOverrides overrides) {
+        try (Instrumentation.Span span = instrumentation().begin(Instrumentation.PHASE_PRE_BOOT, name())) {
+            return doPreBoot(overrides);
+        }
+    }
+
+    private PreBoot doPreBoot(ContextOverrides overrides) {
         Map<String, String> systemProperties = defaultSystemProperties();
         systemProperties.putAll(overrides.getSystemProperties());
         Map<String, String> userProperties = new HashMap<>(overrides.getUserProperties());
@@ -129,15 +149,36 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
             SettingsDecrypter settingsDecrypter,
             ProfileSelector profileSelector,
             Runnable managedCloser) {
+        Settings settings;
+        try {
+            settings = newEffectiveSettings(
+                    preBoot.getOverrides(), preBoot.getMavenUserHome(), preBoot.getMavenSystemHome(), settingsBuilder);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot create context from scratch", e);
+        }
+        return buildContext(
+                runtime, preBoot, repositorySystem, settings, settingsDecrypter, profileSelector, managedCloser);
+    }
+
+    /**
+     * Builds context using already built effective settings.
+     *
+     * @since 2.4.5
+     */
+    protected Context buildContext(
+            StandaloneRuntimeSupport runtime,
+            PreBoot preBoot,
+            RepositorySystem repositorySystem,
+            Settings settings,
+            SettingsDecrypter settingsDecrypter,
+            ProfileSelector profileSelector,
+            Runnable managedCloser) {
         try {
             ContextOverrides alteredOverrides = preBoot.getOverrides();
             MavenUserHomeImpl mavenUserHomeImpl = preBoot.getMavenUserHome();
             MavenSystemHomeImpl mavenSystemHomeImpl = preBoot.getMavenSystemHome();
             Path baseDir = preBoot.getBaseDir();
 
-            Settings settings =
-                    newEffectiveSettings(alteredOverrides, mavenUserHomeImpl, mavenSystemHomeImpl, settingsBuilder);
-
             // settings: local repository
             if (settings.getLocalRepository() != null && alteredOverrides.getLocalRepositoryOverride() == null) {
                 mavenUserHomeImpl = mavenUserHomeImpl.withLocalRepository(
@@ -180,8 +221,11 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
                         .build();
             }
 
-            DefaultRepositorySystemSession session = newRepositorySession(
-                    alteredOverrides, mavenUserHomeImpl, repositorySystem, settings, settingsDecrypter);
+            // session (and resolution repositories, as they need session) are created eagerly or lazily
+            final ContextOverrides sessionOverrides = alteredOverrides;
+            final MavenUserHomeImpl sessionMavenUserHome = mavenUserHomeImpl;
+            MemoizingSupplier<RepositorySystemSession> session = MemoizingSupplier.of(() -> newRepositorySession(
+                    sessionOverrides, sessionMavenUserHome, repositorySystem, settings, settingsDecrypter));
 
             // settings: active profile repositories (if enabled), strictly preserve order
             final LinkedHashMap<String, RemoteRepository> remoteRepositories = new LinkedHashMap<>();
@@ -219,6 +263,12 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
             } else {
                 alteredOverrides.getRepositories().forEach(r -> remoteRepositories.put(r.getId(), r));
             }
+            MemoizingSupplier<List<RemoteRepository>> resolutionRepositories =
+                    MemoizingSupplier.of(() -> repositorySystem.newResolutionRepositories(
+                            session.get(), new ArrayList<>(remoteRepositories.values())));
+            if (!alteredOverrides.isLazySession()) {
+                resolutionRepositories.get();
+            }
             return new Context(
                     runtime,
                     alteredOverrides,
@@ -227,7 +277,7 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
                     mavenSystemHomeImpl,
                     repositorySystem,
                     session,
-                    repositorySystem.newResolutionRepositories(session, new ArrayList<>(remoteRepositories.values())),
+                    resolutionRepositories,
                     httpProxy,
                     managedCloser);
         } catch (Exception e) {
@@ -252,26 +302,66 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
             MavenSystemHome mavenSystemHome,
             SettingsBuilder settingsBuilder)
             throws SettingsBuildingException {
+        try (Instrumentation.Span span = instrumentation().begin(Instrumentation.PHASE_SETTINGS_BUILD, name())) {
+            return doNewEffectiveSettings(overrides, mavenUserHome, mavenSystemHome, settingsBuilder);
+        }
+    }
+
+    private Settings doNewEffectiveSettings(
+            ContextOverrides overrides,
+            MavenUserHome mavenUserHome,
+            MavenSystemHome mavenSystemHome,
+            SettingsBuilder settingsBuilder)
+            throws SettingsBuildingException {
         if (!overrides.isWithUserSettings()) {
             return new Settings();
         }
         if (overrides.getEffectiveSettings() instanceof Settings) {
             return (Settings) overrides.getEffectiveSettings();
         }
-        DefaultSettingsBuildingRequest settingsBuilderRequest = new DefaultSettingsBuildingRequest();
-
-        Properties systemProperties = new Properties();
-        systemProperties.putAll(overrides.getSystemProperties());
-        settingsBuilderRequest.setSystemProperties(systemProperties);
-        Properties userProperties = new Properties();
-        userProperties.putAll(overrides.getUserProperties());
-        settingsBuilderRequest.setUserProperties(userProperties);
-        if (mavenSystemHome != null) {
-            settingsBuilderRequest.setGlobalSettingsFile(
-                    mavenSystemHome.settingsXml().toFile());
-        }
-        settingsBuilderRequest.setUserSettingsFile(mavenUserHome.settingsXml().toFile());
-        Settings result = settingsBuilder.build(settingsBuilderRequest).getEffectiveSettings();
+        Path userSettingsXml = mavenUserHome.settingsXml();
+        Path globalSettingsXml = mavenSystemHome != null ? mavenSystemHome.settingsXml() : null;
+        SettingsSnapshots snapshots = null;
+        Settings result = null;
+        if (ConfigUtils.getBoolean(overrides.getConfigProperties(), false, CONFIG_PROP_SETTINGS_SNAPSHOT)) {
+            snapshots = new SettingsSnapshots(mavenUserHome.basedir().resolve(".mima"));
+            try {
+                result = snapshots.load(
+                        userSettingsXml,
+                        globalSettingsXml,
+                        overrides.getUserProperties(),
+                        overrides.getSystemProperties());
+            } catch (IOException e) {
+                logger.debug("Could not load settings snapshot", e);
+            }
+        }
+        if (result == null) {
+            DefaultSettingsBuildingRequest settingsBuilderRequest = new DefaultSettingsBuildingRequest();
+
+            Properties systemProperties = new Properties();
+            systemProperties.putAll(overrides.getSystemProperties());
+            settingsBuilderRequest.setSystemProperties(systemProperties);
+            Properties userProperties = new Properties();
+            userProperties.putAll(overrides.getUserProperties());
+            settingsBuilderRequest.setUserProperties(userProperties);
+            if (globalSettingsXml != null) {
+                settingsBuilderRequest.setGlobalSettingsFile(globalSettingsXml.toFile());
+            }
+            settingsBuilderRequest.setUserSettingsFile(userSettingsXml.toFile());
+            result = settingsBuilder.build(settingsBuilderRequest).getEffectiveSettings();
+            if (snapshots != null) {
+                try {
+                    snapshots.store(
+                            userSettingsXml,
+                            globalSettingsXml,
+                            overrides.getUserProperties(),
+                            overrides.getSystemProperties(),
+                            result);
+                } catch (IOException e) {
+                    logger.debug("Could not store settings snapshot", e);
+                }
+            }
+        }
         if (overrides.getEffectiveSettingsMixin() instanceof Settings) {
             settingsMixin(result, (Settings) overrides.getEffectiveSettingsMixin());
         }
@@ -353,12 +443,24 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
             RepositorySystem repositorySystem,
             Settings settings,
             SettingsDecrypter settingsDecrypter) {
+        try (Instrumentation.Span span = instrumentation().begin(Instrumentation.PHASE_SESSION_BUILD, name())) {
+            return doNewRepositorySession(overrides, mavenUserHome, repositorySystem, settings, settingsDecrypter);
+        }
+    }
+
+    private DefaultRepositorySystemSession doNewRepositorySession(
+            ContextOverrides overrides,
+            MavenUserHome mavenUserHome,
+            RepositorySystem repositorySystem,
+            Settings settings,
+            SettingsDecrypter settingsDecrypter) {
         DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
 
-        session.setCache(new DefaultRepositoryCache());
+        session.setCache(newRepositoryCache(overrides));
 
         LinkedHashMap<Object, Object> configProps = new LinkedHashMap<>(overrides.getConfigProperties());
         configProps.putIfAbsent(ConfigurationProperties.USER_AGENT, getUserAgent());
+        configProps.putAll(collectorConfigProperties(overrides));
 
         // internal things, these should not be overridden
         configProps.put(ConfigurationProperties.INTERACTIVE, false);
@@ -373,15 +475,28 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
         // we should not interfere with "real Maven"
         session.setResolutionErrorPolicy(new SimpleResolutionErrorPolicy(false, false));
 
-        DefaultSettingsDecryptionRequest decrypt = new DefaultSettingsDecryptionRequest();
-        decrypt.setProxies(settings.getProxies());
-        decrypt.setServers(settings.getServers());
-        SettingsDecryptionResult decrypted = settingsDecrypter.decrypt(decrypt);
+        List<Server> servers;
+        List<Proxy> proxies;
+        if (needsDecryption(settings)) {
+            DefaultSettingsDecryptionRequest decrypt = new DefaultSettingsDecryptionRequest();
+            decrypt.setProxies(settings.getProxies());
+            decrypt.setServers(settings.getServers());
+            SettingsDecryptionResult decrypted;
+            try (Instrumentation.Span span = instrumentation().begin(Instrumentation.PHASE_SETTINGS_DECRYPT, name())) {
+                decrypted = settingsDecrypter.decrypt(decrypt);
+            }
 
-        if (logger.isDebugEnabled()) {
-            for (SettingsProblem problem : decrypted.getProblems()) {
-                logger.debug(problem.getMessage(), problem.getException());
+            if (logger.isDebugEnabled()) {
+                for (SettingsProblem problem : decrypted.getProblems()) {
+                    logger.debug(problem.getMessage(), problem.getException());
+                }
             }
+            servers = decrypted.getServers();
+            proxies = decrypted.getProxies();
+        } else {
+            // nothing to decrypt: just copy them, as decrypter would do
+            servers = settings.getServers().stream().map(Server::clone).collect(Collectors.toList());
+            proxies = settings.getProxies().stream().map(Proxy::clone).collect(Collectors.toList());
         }
 
         DefaultMirrorSelector mirrorSelector = new DefaultMirrorSelector();
@@ -398,7 +513,7 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
         session.setMirrorSelector(mirrorSelector);
 
         DefaultProxySelector proxySelector = new DefaultProxySelector();
-        for (Proxy proxy : decrypted.getProxies()) {
+        for (Proxy proxy : proxies) {
             AuthenticationBuilder authBuilder = new AuthenticationBuilder();
             authBuilder.addUsername(proxy.getUsername()).addPassword(proxy.getPassword());
             proxySelector.add(
@@ -409,7 +524,7 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
         session.setProxySelector(proxySelector);
 
         DefaultAuthenticationSelector authSelector = new DefaultAuthenticationSelector();
-        for (Server server : decrypted.getServers()) {
+        for (Server server : servers) {
             AuthenticationBuilder authBuilder = new AuthenticationBuilder();
             authBuilder.addUsername(server.getUsername()).addPassword(server.getPassword());
             authBuilder.addPrivateKey(server.getPrivateKey(), server.getPassphrase());
@@ -483,12 +598,39 @@ public abstract class StandaloneRuntimeSupport extends RuntimeSupport {
         if (overrides.getRepositoryListener() != null) {
             session.setRepositoryListener(overrides.getRepositoryListener());
         }
+        instrumentSession(session);
 
         newLocalRepositoryManager(mavenUserHome.localRepository(), repositorySystem, session);
 
         return session;
     }
 
+    /**
+     * Returns {@code true} if any of the server or proxy secrets looks like an encrypted one. If none of them does,
+     * the (potentially costly) decryption may be skipped.
+     */
+    protected boolean needsDecryption(Settings settings) {
+        for (Server server : settings.getServers()) {
+            if (isEncrypted(server.getPassword()) || isEncrypted(server.getPassphrase())) {
+                return true;
+            }
+        }
+        for (Proxy proxy : settings.getProxies()) {
+            if (isEncrypted(proxy.getPassword())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEncrypted(String value) {
+        if (value == null) {
+            return false;
+        }
+        int start = value.indexOf('{');
+        return start >= 0 && value.indexOf('}', start) > start;
+    }
+
     protected String getUserAgent() {
         return "Apache-Maven/" + mavenVersion() + " (Java " + System.getProperty("java.version") + "; "
                 + System.getProperty("os.name") + " " + System.getProperty("os.version") + "; MIMA " + version() + ")";
@@ -0,0 +1,226 @@
+package eu.maveniverse.maven.mima.runtime.shared.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.maven.settings.Settings;
+import org.eclipse.aether.util.ChecksumUtils;
+
+/**
+ * On-disk snapshots of built (merged and interpolated) effective {@link Settings}, stored using Java serialization.
+ * A snapshot is keyed by paths of user and global {@code settings.xml}, and is considered fresh if the modification
+ * time and size of both files, and the values of all properties referenced from them, are unchanged.
+ * <p>
+ * Snapshot contains settings "as in files", hence it is stored with owner-only permissions where supported. Decrypted
+ * values are never stored.
+ */
+public final class SettingsSnapshots {
+    private static final int FORMAT = 1;
+
+    private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]+)}");
+
+    private final Path snapshotDirectory;
+
+    public SettingsSnapshots(Path snapshotDirectory) {
+        this.snapshotDirectory = requireNonNull(snapshotDirectory);
+    }
+
+    /**
+     * Returns the settings from fresh snapshot, or {@code null} if there is no snapshot, or it is stale.
+     */
+    public Settings load(
+            Path userSettingsXml,
+            Path globalSettingsXml,
+            Map<String, String> userProperties,
+            Map<String, String> systemProperties)
+            throws IOException {
+        Path snapshot = snapshotFile(userSettingsXml, globalSettingsXml);
+        try (ObjectInputStream ois =
+                new SettingsObjectInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (ois.readInt() != FORMAT
+                    || !stamp(userSettingsXml).equals(ois.readUTF())
+                    || !stamp(globalSettingsXml).equals(ois.readUTF())) {
+                return null;
+            }
+            int properties = ois.readInt();
+            for (int i = 0; i < properties; i++) {
+                String name = ois.readUTF();
+                boolean present = ois.readBoolean();
+                String value = present ? ois.readUTF() : null;
+                if (!Objects.equals(value, lookup(name, userProperties, systemProperties))) {
+                    return null;
+                }
+            }
+            return (Settings) ois.readObject();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Corrupt settings snapshot: " + snapshot, e);
+        }
+    }
+
+    /**
+     * Stores the settings snapshot. The passed in settings must not have any mixin applied.
+     */
+    public void store(
+            Path userSettingsXml,
+            Path globalSettingsXml,
+            Map<String, String> userProperties,
+            Map<String, String> systemProperties,
+            Settings settings)
+            throws IOException {
+        // stamp files first: if they change while we collect expressions, snapshot will be simply stale
+        String userStamp = stamp(userSettingsXml);
+        String globalStamp = stamp(globalSettingsXml);
+        TreeMap<String, String> expressions = new TreeMap<>();
+        collectExpressions(userSettingsXml, userProperties, systemProperties, expressions);
+        collectExpressions(globalSettingsXml, userProperties, systemProperties, expressions);
+
+        Files.createDirectories(snapshotDirectory);
+        Path snapshot = snapshotFile(userSettingsXml, globalSettingsXml);
+        Path tmp =
+                Files.createTempFile(snapshotDirectory, snapshot.getFileName().toString(), ".tmp");
+        try {
+            try {
+                Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                // not a POSIX file system
+            }
+            try (OutputStream os = Files.newOutputStream(tmp);
+                    ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(os))) {
+                oos.writeInt(FORMAT);
+                oos.writeUTF(userStamp);
+                oos.writeUTF(globalStamp);
+                oos.writeInt(expressions.size());
+                for (Map.Entry<String, String> expression : expressions.entrySet()) {
+                    oos.writeUTF(expression.getKey());
+                    oos.writeBoolean(expression.getValue() != null);
+                    if (expression.getValue() != null) {
+                        oos.writeUTF(expression.getValue());
+                    }
+                }
+                oos.writeObject(settings);
+            }
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private Path snapshotFile(Path userSettingsXml, Path globalSettingsXml) {
+        String key = userSettingsXml.toAbsolutePath() + "\n"
+                + (globalSettingsXml == null ? "" : globalSettingsXml.toAbsolutePath());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return snapshotDirectory.resolve("settings-"
+                    + ChecksumUtils.toHexString(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + ".ser");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stamp of a file: the path, modification time and size, or "absent" marker.
+     */
+    private static String stamp(Path file) throws IOException {
+        if (file == null) {
+            return "";
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return file.toAbsolutePath() + ":" + attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+        } catch (NoSuchFileException e) {
+            return file.toAbsolutePath() + ":absent";
+        }
+    }
+
+    private static void collectExpressions(
+            Path file,
+            Map<String, String> userProperties,
+            Map<String, String> systemProperties,
+            Map<String, String> expressions)
+            throws IOException {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        Matcher matcher = EXPRESSION.matcher(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            expressions.put(name, lookup(name, userProperties, systemProperties));
+        }
+    }
+
+    /**
+     * Mimics the lookup order of settings builder interpolation: user properties, system properties and environment.
+     */
+    private static String lookup(
+            String name, Map<String, String> userProperties, Map<String, String> systemProperties) {
+        String value = userProperties.get(name);
+        if (value == null) {
+            value = systemProperties.get(name);
+        }
+        if (value == null && name.startsWith("env.")) {
+            value = System.getenv(name.substring("env.".length()));
+        }
+        return value;
+    }
+
+    /**
+     * Deserializes only the settings model and the JDK types it uses.
+     */
+    private static final class SettingsObjectInputStream extends ObjectInputStream {
+        private static final List<String> ALLOWED_PREFIXES = new ArrayList<>();
+
+        static {
+            ALLOWED_PREFIXES.add("org.apache.maven.settings.");
+            ALLOWED_PREFIXES.add("org.codehaus.plexus.util.xml.");
+            ALLOWED_PREFIXES.add("java.lang.");
+            ALLOWED_PREFIXES.add("java.util.");
+        }
+
+        private SettingsObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            while (name.startsWith("[")) {
+                name = name.substring(1);
+            }
+            if (name.startsWith("L") && name.endsWith(";")) {
+                name = name.substring(1, name.length() - 1);
+            } else if (name.length() == 1) {
+                return super.resolveClass(desc); // array of primitives
+            }
+            if (ALLOWED_PREFIXES.stream().noneMatch(name::startsWith)) {
+                throw new InvalidClassException(name, "Unexpected class in settings snapshot");
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
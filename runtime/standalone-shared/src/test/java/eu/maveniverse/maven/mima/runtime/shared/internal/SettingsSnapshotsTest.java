@@ -0,0 +1,112 @@
+package eu.maveniverse.maven.mima.runtime.shared.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+import org.apache.maven.settings.Profile;
+import org.apache.maven.settings.Settings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SettingsSnapshotsTest {
+    @TempDir
+    Path temp;
+
+    private Path userSettingsXml;
+
+    private Path globalSettingsXml;
+
+    private SettingsSnapshots snapshots;
+
+    private final Map<String, String> userProperties = Collections.singletonMap("repo.dir", "/repo");
+
+    private final Map<String, String> systemProperties = Collections.emptyMap();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userSettingsXml = temp.resolve("settings.xml");
+        write(userSettingsXml, "<settings><localRepository>${repo.dir}</localRepository></settings>");
+        globalSettingsXml = temp.resolve("global-settings.xml");
+        snapshots = new SettingsSnapshots(temp.resolve("snapshots"));
+    }
+
+    private static void write(Path file, String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Settings settings(String localRepository) {
+        Settings settings = new Settings();
+        settings.setLocalRepository(localRepository);
+        return settings;
+    }
+
+    @Test
+    void storeAndLoad() throws Exception {
+        assertNull(snapshots.load(userSettingsXml, globalSettingsXml, userProperties, systemProperties));
+
+        snapshots.store(userSettingsXml, globalSettingsXml, userProperties, systemProperties, settings("/repo"));
+        Settings loaded = snapshots.load(userSettingsXml, globalSettingsXml, userProperties, systemProperties);
+        assertNotNull(loaded);
+        assertEquals("/repo", loaded.getLocalRepository());
+    }
+
+    @Test
+    void staleWhenSettingsXmlChanges() throws Exception {
+        snapshots.store(userSettingsXml, globalSettingsXml, userProperties, systemProperties, settings("/repo"));
+
+        write(userSettingsXml, "<settings><localRepository>/other</localRepository></settings>");
+        Files.setLastModifiedTime(userSettingsXml, FileTime.fromMillis(0L));
+        assertNull(snapshots.load(userSettingsXml, globalSettingsXml, userProperties, systemProperties));
+    }
+
+    @Test
+    void staleWhenGlobalSettingsXmlAppears() throws Exception {
+        snapshots.store(userSettingsXml, globalSettingsXml, userProperties, systemProperties, settings("/repo"));
+
+        write(globalSettingsXml, "<settings/>");
+        assertNull(snapshots.load(userSettingsXml, globalSettingsXml, userProperties, systemProperties));
+    }
+
+    @Test
+    void staleWhenExpressionChanges() throws Exception {
+        snapshots.store(userSettingsXml, globalSettingsXml, userProperties, systemProperties, settings("/repo"));
+
+        assertNull(snapshots.load(
+                userSettingsXml, globalSettingsXml, Collections.singletonMap("repo.dir", "/other"), systemProperties));
+        // lookup falls back to system properties
+        assertNotNull(snapshots.load(
+                userSettingsXml,
+                globalSettingsXml,
+                Collections.emptyMap(),
+                Collections.singletonMap("repo.dir", "/repo")));
+    }
+
+    @Test
+    void rejectsUnexpectedClasses() throws Exception {
+        Profile profile = new Profile();
+        profile.setId("p");
+        profile.getProperties().put("unexpected", new Unexpected());
+        Settings settings = settings("/repo");
+        settings.addProfile(profile);
+        snapshots.store(userSettingsXml, globalSettingsXml, userProperties, systemProperties, settings);
+
+        assertThrows(
+                InvalidClassException.class,
+                () -> snapshots.load(userSettingsXml, globalSettingsXml, userProperties, systemProperties));
+    }
+
+    private static final class Unexpected implements Serializable {
+        private static final long serialVersionUID = 1L;
+    }
+}
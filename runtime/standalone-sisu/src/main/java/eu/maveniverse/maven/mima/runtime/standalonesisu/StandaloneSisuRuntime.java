@@ -12,10 +12,30 @@ import org.apache.maven.model.profile.ProfileSelector;
 import org.apache.maven.settings.building.SettingsBuilder;
 import org.apache.maven.settings.crypto.SettingsDecrypter;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.util.ConfigUtils;
 
 @Singleton
 @Named
 public final class StandaloneSisuRuntime extends StandaloneRuntimeSupport {
+    /**
+     * Config property to set Sisu bean scanning mode used when booting managed Sisu container, accepts names of
+     * {@link org.eclipse.sisu.space.BeanScanning} constants, case insensitive (by default {@code "index"}). The
+     * index is generated at build time ({@code META-INF/sisu/javax.inject.Named}), hence no classpath scanning happens
+     * by default. Use {@code "cache"} or {@code "on"} for classpath that lacks the index.
+     *
+     * @since 2.4.5
+     */
+    public static final String CONFIG_PROP_BEAN_SCANNING = "mima.standalone-sisu.beanScanning";
+
+    /**
+     * Config property to enable shared Sisu container (by default disabled). If enabled, the Sisu container is booted
+     * once by this runtime instance (using configuration of first create call), and is reused by subsequent create
+     * calls, while closing contexts leaves the container running. Only per-create state, like settings security, is
+     * created per context. The shared container is shut down by {@link #shutdown()}.
+     *
+     * @since 2.4.5
+     */
+    public static final String CONFIG_PROP_SHARED_CONTAINER = "mima.standalone-sisu.sharedContainer";
 
     private final RepositorySystem repositorySystem;
 
@@ -25,6 +45,10 @@ public final class StandaloneSisuRuntime extends StandaloneRuntimeSupport {
 
     private final ProfileSelector profileSelector;
 
+    private final Object sharedBooterLock = new Object();
+
+    private SisuBooter sharedBooter;
+
     public StandaloneSisuRuntime() {
         this(null, null, null, null);
     }
@@ -52,13 +76,25 @@ public final class StandaloneSisuRuntime extends StandaloneRuntimeSupport {
         PreBoot preBoot = preBoot(overrides);
         // managed or unmanaged context: depending on how we booted
         if (repositorySystem == null) {
+            if (ConfigUtils.getBoolean(
+                    preBoot.getOverrides().getConfigProperties(), false, CONFIG_PROP_SHARED_CONTAINER)) {
+                SisuBooter booter = sharedBooter(preBoot);
+                return buildContext(
+                        this,
+                        preBoot,
+                        booter.repositorySystem,
+                        booter.settingsBuilder,
+                        booter.settingsDecrypter(preBoot),
+                        booter.profileSelector,
+                        null);
+            }
             SisuBooter booter = SisuBooter.newSisuBooter(preBoot);
             return buildContext(
                     this,
                     preBoot,
                     booter.repositorySystem,
                     booter.settingsBuilder,
-                    booter.settingsDecrypter,
+                    booter.settingsDecrypter(preBoot),
                     booter.profileSelector,
                     booter::close);
         } else {
@@ -66,4 +102,30 @@ public final class StandaloneSisuRuntime extends StandaloneRuntimeSupport {
                     this, preBoot, repositorySystem, settingsBuilder, settingsDecrypter, profileSelector, null);
         }
     }
+
+    /**
+     * Shuts down the shared Sisu container, if it was booted (see {@link #CONFIG_PROP_SHARED_CONTAINER}). Contexts
+     * using it must not be used after this call. Subsequent create calls boot a new shared container, if needed.
+     *
+     * @since 2.4.5
+     */
+    public void shutdown() {
+        SisuBooter booter;
+        synchronized (sharedBooterLock) {
+            booter = sharedBooter;
+            sharedBooter = null;
+        }
+        if (booter != null) {
+            booter.close();
+        }
+    }
+
+    private SisuBooter sharedBooter(PreBoot preBoot) {
+        synchronized (sharedBooterLock) {
+            if (sharedBooter == null) {
+                sharedBooter = SisuBooter.newSisuBooter(preBoot);
+            }
+            return sharedBooter;
+        }
+    }
 }
@@ -1,6 +1,6 @@
 package eu.maveniverse.maven.mima.runtime.standalonesisu.internal;
 
-import eu.maveniverse.maven.mima.runtime.shared.PreBoot;
+import eu.maveniverse.maven.mima.context.internal.RuntimeSupport;
 import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -11,17 +11,27 @@ import org.sonatype.plexus.components.sec.dispatcher.DefaultSecDispatcher;
 import org.sonatype.plexus.components.sec.dispatcher.PasswordDecryptor;
 import org.sonatype.plexus.components.sec.dispatcher.SecDispatcher;
 
+/**
+ * Provides settings security dispatcher for components needing it, using the location of settings security given by
+ * {@code settings.security} system property, or the default one ({@code settings-security.xml} in default Maven user
+ * home). Contexts booted by this runtime use per-create location instead, see
+ * {@link SisuBooter#settingsDecrypter(eu.maveniverse.maven.mima.runtime.shared.PreBoot)}.
+ */
 @Singleton
 @Named("maven")
 public class MavenSecDispatcherProvider implements Provider<SecDispatcher> {
     private final SecDispatcher secDispatcher;
 
     @Inject
-    public MavenSecDispatcherProvider(PreBoot preBoot, PlexusCipher plexusCipher, Map<String, PasswordDecryptor> pds) {
+    public MavenSecDispatcherProvider(PlexusCipher plexusCipher, Map<String, PasswordDecryptor> pds) {
         this.secDispatcher = new DefaultSecDispatcher(
                 plexusCipher,
                 pds,
-                preBoot.getMavenUserHome().settingsSecurityXml().toString());
+                System.getProperty(
+                        DefaultSecDispatcher.SYSTEM_PROPERTY_SEC_LOCATION,
+                        RuntimeSupport.DEFAULT_MAVEN_USER_HOME
+                                .resolve("settings-security.xml")
+                                .toString()));
     }
 
     @Override
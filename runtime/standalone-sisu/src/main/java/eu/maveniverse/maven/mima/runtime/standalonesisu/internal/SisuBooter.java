@@ -1,21 +1,28 @@
 package eu.maveniverse.maven.mima.runtime.standalonesisu.internal;
 
-import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Module;
 import eu.maveniverse.maven.mima.runtime.shared.PreBoot;
+import eu.maveniverse.maven.mima.runtime.standalonesisu.StandaloneSisuRuntime;
 import java.io.Closeable;
+import java.util.Locale;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.maven.model.profile.ProfileSelector;
 import org.apache.maven.settings.building.SettingsBuilder;
+import org.apache.maven.settings.crypto.DefaultSettingsDecrypter;
 import org.apache.maven.settings.crypto.SettingsDecrypter;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.util.ConfigUtils;
 import org.eclipse.sisu.bean.LifecycleManager;
 import org.eclipse.sisu.inject.MutableBeanLocator;
 import org.eclipse.sisu.launch.Main;
 import org.eclipse.sisu.space.BeanScanning;
+import org.sonatype.plexus.components.cipher.PlexusCipher;
+import org.sonatype.plexus.components.sec.dispatcher.DefaultSecDispatcher;
+import org.sonatype.plexus.components.sec.dispatcher.PasswordDecryptor;
 
 @Singleton
 @Named
@@ -27,7 +34,10 @@ public class SisuBooter implements Closeable {
     public SettingsBuilder settingsBuilder;
 
     @Inject
-    public SettingsDecrypter settingsDecrypter;
+    public PlexusCipher plexusCipher;
+
+    @Inject
+    public Map<String, PasswordDecryptor> passwordDecryptors;
 
     @Inject
     public ProfileSelector profileSelector;
@@ -38,6 +48,17 @@ public class SisuBooter implements Closeable {
     @Inject
     public MutableBeanLocator locator;
 
+    /**
+     * Creates settings decrypter for given pre-boot state, as location of settings security is per-create state
+     * (while cipher and decryptors are not).
+     */
+    public SettingsDecrypter settingsDecrypter(PreBoot preBoot) {
+        return new DefaultSettingsDecrypter(new DefaultSecDispatcher(
+                plexusCipher,
+                passwordDecryptors,
+                preBoot.getMavenUserHome().settingsSecurityXml().toString()));
+    }
+
     @Override
     public void close() {
         try {
@@ -49,12 +70,19 @@ public class SisuBooter implements Closeable {
     }
 
     public static SisuBooter newSisuBooter(PreBoot preBoot) {
-        final Module app = Main.wire(BeanScanning.CACHE, new AbstractModule() {
-            @Override
-            protected void configure() {
-                bind(PreBoot.class).toInstance(preBoot);
-            }
-        });
+        final Module app = Main.wire(beanScanning(preBoot));
         return Guice.createInjector(app).getInstance(SisuBooter.class);
     }
+
+    private static BeanScanning beanScanning(PreBoot preBoot) {
+        String value = ConfigUtils.getString(
+                preBoot.getOverrides().getConfigProperties(),
+                BeanScanning.INDEX.name(),
+                StandaloneSisuRuntime.CONFIG_PROP_BEAN_SCANNING);
+        try {
+            return BeanScanning.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown bean scanning mode: " + value, e);
+        }
+    }
 }
@@ -6,13 +6,47 @@ import eu.maveniverse.maven.mima.context.Context;
 import eu.maveniverse.maven.mima.context.ContextOverrides;
 import eu.maveniverse.maven.mima.runtime.shared.PreBoot;
 import eu.maveniverse.maven.mima.runtime.shared.StandaloneRuntimeSupport;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.apache.maven.model.profile.ProfileSelector;
+import org.apache.maven.settings.Settings;
 import org.apache.maven.settings.building.SettingsBuilder;
+import org.apache.maven.settings.building.SettingsBuildingException;
 import org.apache.maven.settings.crypto.SettingsDecrypter;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.supplier.RepositorySystemSupplier;
+import org.eclipse.aether.util.ConfigUtils;
 
 public class StandaloneStaticRuntime extends StandaloneRuntimeSupport {
+    /**
+     * Config property to enable parallel bootstrap (by default disabled). If enabled, the creation of repository
+     * system, settings decrypter and profile selector, and building of effective settings happen concurrently.
+     *
+     * @since 2.4.5
+     */
+    public static final String CONFIG_PROP_PARALLEL_BOOTSTRAP = "mima.standalone-static.parallelBootstrap";
+
+    /**
+     * Config property to enable shared repository system (by default disabled). If enabled, one process-wide,
+     * reference counted repository system is shared across all root contexts created with this property set: it is
+     * created by first such context and is shut down when last such context is closed.
+     *
+     * @since 2.4.5
+     */
+    public static final String CONFIG_PROP_SHARED_REPOSITORY_SYSTEM = "mima.standalone-static.sharedRepositorySystem";
+
+    private static final Object SHARED_LOCK = new Object();
+
+    private static RepositorySystem sharedRepositorySystem;
+
+    private static int sharedReferences;
 
     public StandaloneStaticRuntime() {
         this("standalone-static", 40);
@@ -29,19 +63,157 @@ public class StandaloneStaticRuntime extends StandaloneRuntimeSupport {
 
     @Override
     public Context create(ContextOverrides overrides) {
-        PreBoot preBoot = preBoot(overrides);
-        RepositorySystem repositorySystem = requireNonNull(createRepositorySystem(preBoot));
-        SettingsBuilder settingsBuilder = requireNonNull(createSettingsBuilder(preBoot));
-        SettingsDecrypter settingsDecrypter = requireNonNull(createSettingsDecrypter(preBoot));
-        ProfileSelector profileSelector = requireNonNull(createProfileSelector(preBoot));
-        return buildContext(
-                this,
-                preBoot,
-                repositorySystem,
-                settingsBuilder,
-                settingsDecrypter,
-                profileSelector,
-                repositorySystem::shutdown);
+        PreBoot preBoot = timed("preBoot", () -> preBoot(overrides));
+        if (ConfigUtils.getBoolean(
+                preBoot.getOverrides().getConfigProperties(), false, CONFIG_PROP_PARALLEL_BOOTSTRAP)) {
+            return createParallel(preBoot);
+        }
+        boolean shared = sharedRepositorySystem(preBoot);
+        RepositorySystem repositorySystem =
+                requireNonNull(timed("repositorySystem", () -> repositorySystem(preBoot, shared)));
+        Runnable repositorySystemCloser = repositorySystemCloser(repositorySystem, shared);
+        try {
+            SettingsBuilder settingsBuilder =
+                    requireNonNull(timed("settingsBuilder", () -> createSettingsBuilder(preBoot)));
+            SettingsDecrypter settingsDecrypter =
+                    requireNonNull(timed("settingsDecrypter", () -> createSettingsDecrypter(preBoot)));
+            ProfileSelector profileSelector =
+                    requireNonNull(timed("profileSelector", () -> createProfileSelector(preBoot)));
+            return timed(
+                    "buildContext",
+                    () -> buildContext(
+                            this,
+                            preBoot,
+                            repositorySystem,
+                            settingsBuilder,
+                            settingsDecrypter,
+                            profileSelector,
+                            repositorySystemCloser));
+        } catch (RuntimeException e) {
+            repositorySystemCloser.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs independent bootstrap phases concurrently: repository system creation is done on caller thread, while
+     * effective settings building (along with settings builder creation), settings decrypter and profile selector
+     * creation are done on a small, per-invocation executor. All of them are joined before building the context.
+     */
+    protected Context createParallel(PreBoot preBoot) {
+        ExecutorService executor = Executors.newFixedThreadPool(3, new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "mima-bootstrap-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        boolean shared = sharedRepositorySystem(preBoot);
+        Runnable repositorySystemCloser = null;
+        try {
+            CompletableFuture<Settings> settings = CompletableFuture.supplyAsync(
+                    () -> {
+                        SettingsBuilder settingsBuilder =
+                                requireNonNull(timed("settingsBuilder", () -> createSettingsBuilder(preBoot)));
+                        return timed("settings", () -> {
+                            try {
+                                return newEffectiveSettings(
+                                        preBoot.getOverrides(),
+                                        preBoot.getMavenUserHome(),
+                                        preBoot.getMavenSystemHome(),
+                                        settingsBuilder);
+                            } catch (SettingsBuildingException e) {
+                                throw new CompletionException(e);
+                            }
+                        });
+                    },
+                    executor);
+            CompletableFuture<SettingsDecrypter> settingsDecrypter = CompletableFuture.supplyAsync(
+                    () -> requireNonNull(timed("settingsDecrypter", () -> createSettingsDecrypter(preBoot))), executor);
+            CompletableFuture<ProfileSelector> profileSelector = CompletableFuture.supplyAsync(
+                    () -> requireNonNull(timed("profileSelector", () -> createProfileSelector(preBoot))), executor);
+            RepositorySystem rs = requireNonNull(timed("repositorySystem", () -> repositorySystem(preBoot, shared)));
+            repositorySystemCloser = repositorySystemCloser(rs, shared);
+
+            Runnable closer = repositorySystemCloser;
+            Settings effectiveSettings = settings.join();
+            SettingsDecrypter decrypter = settingsDecrypter.join();
+            ProfileSelector selector = profileSelector.join();
+            return timed(
+                    "buildContext",
+                    () -> buildContext(this, preBoot, rs, effectiveSettings, decrypter, selector, closer));
+        } catch (CompletionException e) {
+            if (repositorySystemCloser != null) {
+                repositorySystemCloser.run();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Cannot create context from scratch", e.getCause());
+        } catch (RuntimeException e) {
+            if (repositorySystemCloser != null) {
+                repositorySystemCloser.run();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean sharedRepositorySystem(PreBoot preBoot) {
+        return ConfigUtils.getBoolean(
+                preBoot.getOverrides().getConfigProperties(), false, CONFIG_PROP_SHARED_REPOSITORY_SYSTEM);
+    }
+
+    private RepositorySystem repositorySystem(PreBoot preBoot, boolean shared) {
+        if (!shared) {
+            return createRepositorySystem(preBoot);
+        }
+        synchronized (SHARED_LOCK) {
+            if (sharedRepositorySystem == null) {
+                sharedRepositorySystem = requireNonNull(createRepositorySystem(preBoot));
+            }
+            sharedReferences++;
+            return sharedRepositorySystem;
+        }
+    }
+
+    private static Runnable repositorySystemCloser(RepositorySystem repositorySystem, boolean shared) {
+        if (!shared) {
+            return repositorySystem::shutdown;
+        }
+        AtomicBoolean released = new AtomicBoolean(false);
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                RepositorySystem toShutdown = null;
+                synchronized (SHARED_LOCK) {
+                    if (--sharedReferences == 0) {
+                        toShutdown = sharedRepositorySystem;
+                        sharedRepositorySystem = null;
+                    }
+                }
+                if (toShutdown != null) {
+                    toShutdown.shutdown();
+                }
+            }
+        };
+    }
+
+    private <T> T timed(String phase, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "Bootstrap phase {} took {} ms",
+                        phase,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
     }
 
     protected RepositorySystem createRepositorySystem(PreBoot preBoot) {